@@ -0,0 +1,89 @@
+package com.glp.glpDP1.algorithm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los núcleos escalar y vectorial del fitness: evaluación de un cromosoma
+ * (producto punto de costos y conteo de no asignados) y matriz de distancias Manhattan.
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NucleoFitnessBenchmark {
+
+    @Param({"200", "2000", "20000"})
+    private int numPedidos;
+
+    @Param({"20"})
+    private int numCamiones;
+
+    private NucleoFitness escalar;
+    private NucleoFitness vectorial;
+    private int[] genes;
+    private double[] costos;
+    private int[] x;
+    private int[] y;
+    private int[] distancias;
+
+    @Setup
+    public void preparar() {
+        if (!NucleoFitness.vectorialDisponible()) {
+            throw new IllegalStateException("Ejecutar con --add-modules jdk.incubator.vector");
+        }
+        escalar = new NucleoFitnessEscalar();
+        vectorial = NucleoFitness.crear(true, numCamiones);
+
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        genes = new int[numPedidos];
+        for (int i = 0; i < numPedidos; i++) {
+            genes[i] = aleatorio.nextInt(numCamiones + 1) - 1;
+        }
+        costos = new double[numCamiones * ContextoProblema.NUM_COMPONENTES];
+        for (int i = 0; i < costos.length; i++) {
+            costos[i] = aleatorio.nextDouble() * 100;
+        }
+
+        // Matriz de distancias del contexto: pedidos más almacenes y orígenes (acotada para la memoria)
+        int numNodos = Math.min(numPedidos, 2000) + 10;
+        x = new int[numNodos];
+        y = new int[numNodos];
+        for (int i = 0; i < numNodos; i++) {
+            x[i] = aleatorio.nextInt(71);
+            y[i] = aleatorio.nextInt(51);
+        }
+        distancias = new int[numNodos * numNodos];
+    }
+
+    @Benchmark
+    public double evaluarEscalar() {
+        return escalar.evaluar(genes, costos);
+    }
+
+    @Benchmark
+    public double evaluarVectorial() {
+        return vectorial.evaluar(genes, costos);
+    }
+
+    @Benchmark
+    public int[] manhattanEscalar() {
+        escalar.calcularManhattan(x, y, distancias);
+        return distancias;
+    }
+
+    @Benchmark
+    public int[] manhattanVectorial() {
+        vectorial.calcularManhattan(x, y, distancias);
+        return distancias;
+    }
+}
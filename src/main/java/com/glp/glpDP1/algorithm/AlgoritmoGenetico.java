@@ -5,14 +5,25 @@ import com.glp.glpDP1.domain.enums.EstadoCamion;
 import com.glp.glpDP1.services.impl.MonitoreoService;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Getter
 @Setter
+@Slf4j
 public class AlgoritmoGenetico {
 
     // Parámetros del algoritmo
@@ -27,15 +38,94 @@ public class AlgoritmoGenetico {
     private List<Pedido> pedidosPendientes;
     private Mapa mapa;
     private LocalDateTime momentoActual;
+    private PreprocesadorPedidos preprocesador;
+    private PreprocesadorPedidos.TablaPedidos tablaPedidos; // Pedidos ordenados y divididos (inmutable)
 
     // Resultados
     private List<Ruta> mejorSolucion;
     private double mejorFitness;
 
     private MonitoreoService monitoreoService;
-    private Map<String, List<Ubicacion>> rutasEnProgreso = new HashMap<>();
+    private ContextoProblema contexto;
+    private boolean considerarBloqueos = true; // Distancias por la grilla que rodean bloqueos
+    private boolean nucleoVectorial;           // Sumas del fitness con la Vector API (si está disponible)
+    private Map<String, List<Ubicacion>> rutasEnProgreso = new ConcurrentHashMap<>();
     private Map<String, List<Bloqueo>> bloqueosActivos = new HashMap<>();
 
+    private final Comparator<Individuo> comparadorFitness = Comparator.comparingDouble(Individuo::getFitness);
+
+    // Evaluación del fitness (secuencial por defecto)
+    private EvaluadorPoblacion evaluador = new EvaluadorSecuencial();
+    private final LongAdder tiempoEvaluacionNanos = new LongAdder(); // Tiempo de pared dedicado a evaluar
+    private final LongAdder tiempoCpuEvaluacionNanos = new LongAdder(); // Suma de los tiempos individuales
+
+    // Modelo de islas: subpoblaciones independientes que intercambian sus mejores individuos
+    private int numIslas = 1;
+    private int intervaloMigracion = 10;     // Generaciones entre migraciones
+    private int numMigrantes = 2;            // Individuos que migra cada isla
+    private double[] mejorFitnessPorIsla;
+
+    // Modo anytime: con límite de tiempo se evoluciona hasta agotarlo (numGeneraciones no aplica)
+    private Long tiempoLimiteMs;             // null = sin límite de tiempo
+    private volatile long instanteLimiteNanos;
+    private volatile boolean detenido;
+    private volatile int generacionesCompletadas;
+
+    // Arranque en caliente: parte de la población inicial se siembra con soluciones conocidas
+    private List<Ruta> planAnterior;         // Plan de un día anterior (null = sin plan)
+    private boolean semillasConstructivas;   // Agregar planes de la heurística constructiva
+    private double fraccionSemillas = 0.2;   // Fracción de la población que se siembra
+
+    // Búsqueda local (etapa memética) sobre la élite de cada generación. Al activarla,
+    // las rutas también se mejoran con 2-opt tras el vecino más cercano
+    private boolean busquedaLocal;
+    private long tiempoBusquedaLocalMs = 20; // Tiempo máximo por generación y por isla
+    private final LongAdder evaluacionesBusquedaLocal = new LongAdder();
+    private final LongAdder mejorasBusquedaLocal = new LongAdder();
+
+    // Control adaptativo: las tasas se ajustan según la diversidad de la población (entropía de
+    // los genes) y una población estancada se reinicia parcialmente conservando su élite.
+    // Desactivado por defecto; el servicio lo activa con algoritmo.adaptativo.activo
+    private boolean adaptativo;
+    private double diversidadMinima = 0.15;      // Por debajo se eleva la mutación
+    private double diversidadObjetivo = 0.30;    // Al superarla las tasas vuelven a su valor base
+    private double tasaMutacionMaxima = 0.5;
+    private int generacionesEstancamiento = 25;  // Generaciones sin mejora antes de reiniciar
+    private double fraccionReinicio = 0.6;       // Fracción de la población (los peores) que se regenera
+    private int maxReinicios = 3;                // Reinicios por isla antes de converger (sin tiempo límite)
+    private final List<EventoAdaptacion> eventosAdaptacion = Collections.synchronizedList(new ArrayList<>());
+    private static final int MAX_EVENTOS_ADAPTACION = 1000;
+
+    // Modo multiobjetivo (NSGA-II): objetivos que se minimizan y frente de la última ejecución
+    public static final int OBJETIVO_CONSUMO = 0;
+    public static final int OBJETIVO_RETRASOS = 1;
+    public static final int OBJETIVO_NO_ASIGNADOS = 2;
+    public static final int OBJETIVO_SOBRECARGA = 3;
+    private static final int NUM_OBJETIVOS = 4;
+    private List<SolucionPareto> frentePareto;
+
+    // Notificación del avance durante la ejecución (opcional)
+    private ObservadorProgreso observadorProgreso;
+    private long inicioEjecucionNanos;
+
+    // Cache de fitness por cromosoma (se crea en cada ejecución)
+    private int capacidadCacheFitness = 10000;
+    private CacheFitness cacheFitness;
+
+    // Fuente de aleatoriedad: con la misma semilla y los mismos datos la ejecución es reproducible
+    private Long semilla;                    // null = semilla aleatoria
+    private long semillaUtilizada;           // Semilla efectiva de la última ejecución
+
+    // Cancelación cooperativa: se atiende al terminar cada generación (o época, con varias islas)
+    private volatile boolean cancelado;
+
+    // Puntos de control: la población se guarda en disco cada intervaloPuntoControl generaciones
+    // y, si el archivo ya tiene un punto compatible, la ejecución se reanuda desde él
+    private Path archivoPuntoControl;        // null = sin puntos de control
+    private int intervaloPuntoControl = 50;
+    private int generacionReanudada = -1;    // Generación desde la que se reanudó (-1 = desde cero)
+    private int puntosControlGuardados;
+
     /**
      * Constructor con parámetros predeterminados
      */
@@ -73,9 +163,14 @@ public class AlgoritmoGenetico {
     public List<Ruta> optimizarRutas(List<Camion> camiones, List<Pedido> pedidos,
                                      Mapa mapa, LocalDateTime momento) {
         this.camionesDisponibles = filtrarCamionesDisponibles(camiones);
-        this.pedidosPendientes = preprocesarPedidos(pedidos); // Usar preprocesamiento
+        this.pedidosPendientes = preprocesarPedidos(pedidos);
         this.mapa = mapa;
         this.momentoActual = momento;
+        this.semillaUtilizada = semilla != null ? semilla : new SplittableRandom().nextLong();
+        this.cacheFitness = new CacheFitness(capacidadCacheFitness);
+        this.generacionReanudada = -1;
+        this.puntosControlGuardados = 0;
+        iniciarEjecucion();
 
         List<Bloqueo> bloqueos = mapa.getBloqueos().stream()
                 .filter(b -> esBloqueoDuranteEjecucion(b, momento))
@@ -90,96 +185,457 @@ public class AlgoritmoGenetico {
             return new ArrayList<>();
         }
 
+        // Precalcular índices, distancias y constantes para la evaluación del fitness
+        this.contexto = crearContexto();
+        // Solo una cancelación descarta la ejecución: si el precálculo agotó el tiempo, la
+        // población inicial aún da una solución válida
+        if (debeDetenerse() && cancelado) {
+            return new ArrayList<>();
+        }
+
         // Inicializar la mejor solución conocida
         mejorSolucion = null;
         mejorFitness = Double.MAX_VALUE;
+        tiempoEvaluacionNanos.reset();
+        evaluacionesBusquedaLocal.reset();
+        mejorasBusquedaLocal.reset();
+        tiempoCpuEvaluacionNanos.reset();
+        eventosAdaptacion.clear();
+
+        int cantidadIslas = Math.max(1, numIslas);
+        long huella = calcularHuella(cantidadIslas);
+        PuntoControl puntoControl = cargarPuntoControl(huella, cantidadIslas);
+        SplittableRandom aleatorio;
+        if (puntoControl != null) {
+            // Se continúa con la semilla original; el flujo se deriva de la generación para no
+            // repetir los números ya usados antes del punto de control
+            semillaUtilizada = puntoControl.getSemilla();
+            aleatorio = new SplittableRandom(semillaUtilizada ^ (0x9E3779B97F4A7C15L * (puntoControl.getGeneracion() + 1)));
+        } else {
+            aleatorio = new SplittableRandom(semillaUtilizada);
+        }
 
-        // Generar población inicial
-        List<Individuo> poblacion = inicializarPoblacion();
+        // Cada isla evoluciona su propia población con un flujo aleatorio independiente.
+        // Con una sola isla se usa el flujo raíz, igual que el modelo de población única
+        Isla[] islas = new Isla[cantidadIslas];
+        for (int i = 0; i < cantidadIslas; i++) {
+            islas[i] = new Isla(i, cantidadIslas == 1 ? aleatorio : aleatorio.split());
+        }
+        // Con varias islas se avanza por épocas de intervaloMigracion generaciones
+        int generacionesPorEpoca = cantidadIslas == 1 ? 1 : Math.max(1, intervaloMigracion);
+        int maxGeneraciones = tiempoLimiteMs != null ? Integer.MAX_VALUE : numGeneraciones;
+        generacionesCompletadas = 0;
+
+        ExecutorService hilosIslas = cantidadIslas > 1 ? Executors.newFixedThreadPool(cantidadIslas) : null;
+        try {
+            // Generar y evaluar las poblaciones iniciales (o restaurarlas del punto de control);
+            // su mejor individuo ya es una solución válida por si el tiempo se agota o se
+            // cancela antes de la primera generación
+            int generacion = 0;
+            if (puntoControl != null) {
+                PuntoControl.EstadoIsla[] estados = puntoControl.getIslas();
+                ejecutarEnIslas(islas, hilosIslas, isla -> isla.restaurar(estados[isla.getId()]));
+                generacion = puntoControl.getGeneracion();
+                generacionReanudada = generacion;
+                generacionesCompletadas = generacion;
+                log.debug("Ejecución reanudada desde el punto de control de la generación {}", generacion);
+            } else {
+                ejecutarEnIslas(islas, hilosIslas, Isla::inicializar);
+            }
+            if (actualizarMejorSolucion(islas)) {
+                log.debug("Población inicial: mejor fitness = {}", mejorFitness);
+            }
+            notificarProgreso();
+
+            // Ciclo principal del algoritmo genético
+            int ultimoPuntoControl = generacion;
+            while (generacion < maxGeneraciones && !todasConvergidas(islas) && !debeDetenerse()) {
+                int desde = generacion;
+                int hasta = (int) Math.min(maxGeneraciones, (long) generacion + generacionesPorEpoca);
+                ejecutarEnIslas(islas, hilosIslas, isla -> isla.evolucionar(desde, hasta));
+                generacion = hasta;
+
+                int completadas = 0;
+                for (Isla isla : islas) {
+                    completadas = Math.max(completadas, isla.getGeneraciones());
+                }
+                generacionesCompletadas = completadas;
 
-        // Evaluar la población inicial
-        evaluarPoblacion(poblacion);
+                // Verificar si alguna isla encontró una mejor solución
+                if (actualizarMejorSolucion(islas)) {
+                    log.debug("Gen {}: Nuevo mejor fitness = {}", completadas - 1, mejorFitness);
+                }
+                notificarProgreso();
 
-        // Ciclo principal del algoritmo genético
-        for (int generacion = 0; generacion < numGeneraciones; generacion++) {
-            // Seleccionar individuos para reproducción
-            List<Individuo> seleccionados = seleccion(poblacion);
+                // Intercambiar individuos elite entre islas
+                if (cantidadIslas > 1 && generacion < maxGeneraciones) {
+                    migrar(islas);
+                }
 
-            // Crear nueva población mediante cruces y mutaciones
-            List<Individuo> nuevaPoblacion = new ArrayList<>();
+                if (archivoPuntoControl != null && generacion - ultimoPuntoControl >= intervaloPuntoControl
+                        && !debeDetenerse()) {
+                    guardarPuntoControl(islas, huella, generacion);
+                    ultimoPuntoControl = generacion;
+                }
+            }
 
-            // Añadir individuos elite directamente
-            for (int i = 0; i < elitismo && i < poblacion.size(); i++) {
-                nuevaPoblacion.add(poblacion.get(i).clonar());
+            // Al cancelar se guarda el estado para poder reanudar; al terminar ya no hace falta
+            if (archivoPuntoControl != null) {
+                if (cancelado) {
+                    // La cancelación puede cortar una época a medias: vale lo que completaron las islas
+                    guardarPuntoControl(islas, huella, generacionesCompletadas);
+                } else {
+                    eliminarPuntoControl();
+                }
+            }
+        } finally {
+            if (hilosIslas != null) {
+                hilosIslas.shutdownNow();
             }
+        }
+
+        mejorFitnessPorIsla = new double[cantidadIslas];
+        for (int i = 0; i < cantidadIslas; i++) {
+            mejorFitnessPorIsla[i] = islas[i].getMejor().getFitness();
+        }
+
+        if (cancelado) {
+            log.debug("Ejecución cancelada tras {} generaciones", generacionesCompletadas);
+            return mejorSolucion != null ? mejorSolucion : new ArrayList<>();
+        }
+        if (debeDetenerse()) {
+            log.debug("Ejecución detenida tras {} generaciones; se retorna la mejor solución encontrada",
+                    generacionesCompletadas);
+        }
 
-            // Generar el resto de la población mediante cruce y mutación
-            while (nuevaPoblacion.size() < tamañoPoblacion) {
-                // Seleccionar padres
-                Individuo padre = seleccionados.get(new Random().nextInt(seleccionados.size()));
-                Individuo madre = seleccionados.get(new Random().nextInt(seleccionados.size()));
+        completarRutas(mejorSolucion);
 
-                // Realizar cruce con cierta probabilidad
-                List<Individuo> hijos;
-                if (Math.random() < tasaCruce) {
-                    hijos = cruce(padre, madre);
+        if (mejorSolucion != null && monitoreoService != null) {
+            for (Ruta ruta : mejorSolucion) {
+                ruta.setMonitoreoService(monitoreoService);
+                ruta.actualizarEstadoMonitoreo(ruta.getOrigen(), momentoActual);
+            }
+        }
+
+        // Retornar la mejor solución encontrada
+        return mejorSolucion != null ? mejorSolucion : new ArrayList<>();
+    }
+
+    /**
+     * Agrega a las rutas decodificadas las recargas en almacén que necesiten
+     */
+    private void completarRutas(List<Ruta> rutas) {
+        for (Ruta ruta : rutas) {
+            Camion camion = contexto.getCamion(ruta.getCodigoCamion());
+            if (camion != null) {
+                if (contexto.isConsideraBloqueos()) {
+                    // Conservar la secuencia calculada con distancias reales
+                    ruta.insertarRecargas(mapa, camion);
                 } else {
-                    hijos = Arrays.asList(padre.clonar(), madre.clonar());
+                    ruta.optimizarConRecargas(mapa, camion, busquedaLocal);
                 }
+            }
+        }
+    }
 
-                // Aplicar mutación con cierta probabilidad
-                for (Individuo hijo : hijos) {
-                    if (Math.random() < tasaMutacion) {
-                        mutacion(hijo);
-                    }
+    /**
+     * Modo multiobjetivo (NSGA-II). En lugar del fitness ponderado minimiza a la vez el consumo
+     * de combustible, los retrasos, los pedidos sin asignar y la sobrecarga de GLP. La sobrecarga
+     * no es una restricción: se cubre con recargas en almacén, y cubrir más pedidos con la misma
+     * flota exige más sobrecarga. Cada generación une padres e hijos y conserva los mejores
+     * frentes, desempatando por distancia de hacinamiento.
+     * <p>
+     * Usa los mismos operadores, semillas y evaluador (paralelo) que el modo de un objetivo, con
+     * una sola población. La mejor solución ({@link #getMejorSolucion()}) es la del frente con
+     * menor fitness ponderado, para que el resultado sea comparable con una ejecución normal.
+     *
+     * @return Frente de Pareto final (sin objetivos repetidos), ordenado por consumo
+     */
+    public List<SolucionPareto> optimizarPareto(List<Camion> camiones, List<Pedido> pedidos,
+                                                Mapa mapa, LocalDateTime momento) {
+        this.camionesDisponibles = filtrarCamionesDisponibles(camiones);
+        this.pedidosPendientes = preprocesarPedidos(pedidos);
+        this.mapa = mapa;
+        this.momentoActual = momento;
+        this.semillaUtilizada = semilla != null ? semilla : new SplittableRandom().nextLong();
+        SplittableRandom aleatorio = new SplittableRandom(semillaUtilizada);
+        // Los objetivos se leen de los costos por camión, que el cache de fitness no restaura
+        this.cacheFitness = new CacheFitness(0);
+        mejorSolucion = null;
+        mejorFitness = Double.MAX_VALUE;
+        frentePareto = new ArrayList<>();
+        generacionesCompletadas = 0;
+        tiempoEvaluacionNanos.reset();
+        tiempoCpuEvaluacionNanos.reset();
+        iniciarEjecucion();
+
+        if (camionesDisponibles.isEmpty() || pedidosPendientes.isEmpty()) {
+            return frentePareto;
+        }
+        this.contexto = crearContexto();
+        if (debeDetenerse() && cancelado) {
+            return frentePareto;
+        }
 
-                    // Añadir a la nueva población si hay espacio
-                    if (nuevaPoblacion.size() < tamañoPoblacion) {
-                        nuevaPoblacion.add(hijo);
+        // Padres en [0, n) e hijos en [n, 2n); tras la selección se reordenan las referencias
+        int n = tamañoPoblacion;
+        int total = 2 * n;
+        Individuo[] union = Arrays.copyOf(inicializarPoblacion(aleatorio), total);
+        for (int i = n; i < total; i++) {
+            union[i] = new Individuo(pedidosPendientes.size());
+        }
+        double[][] objetivos = new double[total][NUM_OBJETIVOS];
+        int[] rango = new int[total];
+        double[] crowding = new double[total];
+        OrdenamientoPareto ordenamiento = new OrdenamientoPareto(total);
+
+        int maxGeneraciones = tiempoLimiteMs != null ? Integer.MAX_VALUE : numGeneraciones;
+
+        evaluarRango(union, 0, n);
+        calcularObjetivos(union, 0, n, objetivos);
+        ordenamiento.ordenar(objetivos, n, rango, crowding);
+        actualizarMejorPareto(union, n);
+        notificarProgreso();
+
+        // Buffers de la reordenación
+        Individuo[] individuosOrdenados = new Individuo[total];
+        double[][] objetivosOrdenados = new double[total][];
+        int[] rangoOrdenado = new int[total];
+        double[] crowdingOrdenado = new double[total];
+        boolean[] elegido = new boolean[total];
+
+        for (int generacion = 0; generacion < maxGeneraciones && !debeDetenerse(); generacion++) {
+            for (int k = n; k < total; k += 2) {
+                Individuo padre = union[torneoPareto(n, rango, crowding, aleatorio)];
+                Individuo madre = union[torneoPareto(n, rango, crowding, aleatorio)];
+                Individuo hijo1 = union[k];
+                Individuo hijo2 = k + 1 < total ? union[k + 1] : null;
+                if (aleatorio.nextDouble() < tasaCruce) {
+                    cruce(padre, madre, hijo1, hijo2, aleatorio);
+                } else {
+                    hijo1.copiarDe(padre);
+                    if (hijo2 != null) {
+                        hijo2.copiarDe(madre);
                     }
                 }
+                if (aleatorio.nextDouble() < tasaMutacion) {
+                    mutacion(hijo1, aleatorio);
+                }
+                if (hijo2 != null && aleatorio.nextDouble() < tasaMutacion) {
+                    mutacion(hijo2, aleatorio);
+                }
             }
+            evaluarRango(union, n, total);
+            calcularObjetivos(union, n, total, objetivos);
+            ordenamiento.ordenar(objetivos, total, rango, crowding);
+
+            // Selección ambiental: frentes completos mientras quepan; el último, por hacinamiento
+            Arrays.fill(elegido, false);
+            int seleccionados = 0;
+            for (int f = 0; f < ordenamiento.getNumFrentes() && seleccionados < n; f++) {
+                int[] frente = ordenamiento.getFrente(f);
+                if (seleccionados + frente.length > n) {
+                    ordenarPorCrowding(frente, crowding);
+                }
+                for (int k = 0; k < frente.length && seleccionados < n; k++) {
+                    elegido[frente[k]] = true;
+                    seleccionados++;
+                }
+            }
+            int destino = 0;
+            for (int pasada = 0; pasada < 2; pasada++) {
+                for (int i = 0; i < total; i++) {
+                    if (elegido[i] == (pasada == 0)) {
+                        individuosOrdenados[destino] = union[i];
+                        objetivosOrdenados[destino] = objetivos[i];
+                        rangoOrdenado[destino] = rango[i];
+                        crowdingOrdenado[destino] = crowding[i];
+                        destino++;
+                    }
+                }
+            }
+            System.arraycopy(individuosOrdenados, 0, union, 0, total);
+            System.arraycopy(objetivosOrdenados, 0, objetivos, 0, total);
+            System.arraycopy(rangoOrdenado, 0, rango, 0, total);
+            System.arraycopy(crowdingOrdenado, 0, crowding, 0, total);
+
+            generacionesCompletadas = generacion + 1;
+            if (actualizarMejorPareto(union, n)) {
+                log.debug("Gen {}: Nuevo mejor fitness ponderado = {}", generacion, mejorFitness);
+            }
+            notificarProgreso();
+        }
 
-            // Evaluar la nueva población
-            evaluarPoblacion(nuevaPoblacion);
-
-            // Actualizar la población
-            poblacion = nuevaPoblacion;
+        // Frente final: soluciones no dominadas entre los padres, sin objetivos repetidos
+        ordenamiento.ordenar(objetivos, n, rango, crowding);
+        int[] frente = ordenamiento.getFrente(0);
+        Integer[] orden = new Integer[frente.length];
+        for (int k = 0; k < frente.length; k++) {
+            orden[k] = frente[k];
+        }
+        Arrays.sort(orden, Comparator.<Integer>comparingDouble(i -> objetivos[i][OBJETIVO_CONSUMO])
+                .thenComparingDouble(i -> objetivos[i][OBJETIVO_RETRASOS])
+                .thenComparingDouble(i -> objetivos[i][OBJETIVO_NO_ASIGNADOS]));
+        Individuo elegidoPonderado = null;
+        double[] anterior = null;
+        for (int i : orden) {
+            if (anterior != null && Arrays.equals(anterior, objetivos[i])) {
+                continue;
+            }
+            anterior = objetivos[i];
+            Individuo individuo = union[i];
+            double[] costos = individuo.getCostosCamion();
+            double distancia = 0.0;
+            for (int base = 0; base < costos.length; base += ContextoProblema.NUM_COMPONENTES) {
+                distancia += costos[base + ContextoProblema.COSTO_DISTANCIA];
+            }
+            List<Ruta> rutas = individuo.decodificarSolucion(false);
+            completarRutas(rutas);
+            frentePareto.add(new SolucionPareto(frentePareto.size(), rutas, objetivos[i][OBJETIVO_CONSUMO],
+                    objetivos[i][OBJETIVO_RETRASOS], (int) objetivos[i][OBJETIVO_NO_ASIGNADOS], distancia,
+                    objetivos[i][OBJETIVO_SOBRECARGA], individuo.getFitness()));
+            if (elegidoPonderado == null || individuo.getFitness() < elegidoPonderado.getFitness()) {
+                elegidoPonderado = individuo;
+            }
+        }
 
-            // Verificar si se ha encontrado una mejor solución
-            Individuo mejorIndividuo = poblacion.get(0);
-            if (mejorIndividuo.getFitness() < mejorFitness) {
-                mejorSolucion = mejorIndividuo.decodificarSolucion();
-                mejorFitness = mejorIndividuo.getFitness();
+        // La solución recomendada se decodifica como definitiva (asigna los camiones a los pedidos)
+        if (elegidoPonderado != null) {
+            mejorFitness = elegidoPonderado.getFitness();
+            mejorSolucion = elegidoPonderado.decodificarSolucion(true);
+            completarRutas(mejorSolucion);
+        }
+        log.debug("Frente de Pareto con {} soluciones tras {} generaciones", frentePareto.size(),
+                generacionesCompletadas);
+        return frentePareto;
+    }
 
-                System.out.println("Gen " + generacion + ": Nuevo mejor fitness = " + mejorFitness);
+    /**
+     * Lee los objetivos de los costos por camión ya evaluados
+     */
+    private void calcularObjetivos(Individuo[] individuos, int desde, int hasta, double[][] objetivos) {
+        NucleoFitness nucleo = contexto.getNucleo();
+        for (int i = desde; i < hasta; i++) {
+            double[] costos = individuos[i].getCostosCamion();
+            double consumo = 0.0;
+            double retrasos = 0.0;
+            double sobrecarga = 0.0;
+            for (int base = 0; base < costos.length; base += ContextoProblema.NUM_COMPONENTES) {
+                consumo += costos[base + ContextoProblema.COSTO_CONSUMO];
+                retrasos += costos[base + ContextoProblema.COSTO_RETRASOS];
+                sobrecarga += costos[base + ContextoProblema.COSTO_SOBRECARGA];
             }
+            objetivos[i][OBJETIVO_CONSUMO] = consumo;
+            objetivos[i][OBJETIVO_RETRASOS] = retrasos;
+            objetivos[i][OBJETIVO_NO_ASIGNADOS] = nucleo.contarNoAsignados(individuos[i].getGenes());
+            objetivos[i][OBJETIVO_SOBRECARGA] = sobrecarga;
+        }
+    }
 
-            // Condición de parada temprana: si el fitness no mejora en varias generaciones
-            if (generacion > 20 && poblacion.get(0).getFitness() == poblacion.get(10).getFitness()) {
-                System.out.println("Convergencia alcanzada en generación " + generacion);
-                break;
-            }
+    /**
+     * Torneo binario de NSGA-II entre los padres: gana el de mejor frente y, en el mismo
+     * frente, el de mayor distancia de hacinamiento
+     */
+    private int torneoPareto(int n, int[] rango, double[] crowding, SplittableRandom aleatorio) {
+        int a = aleatorio.nextInt(n);
+        int b = aleatorio.nextInt(n);
+        if (rango[a] != rango[b]) {
+            return rango[a] < rango[b] ? a : b;
         }
+        return crowding[a] >= crowding[b] ? a : b;
+    }
 
-        for (Ruta ruta : mejorSolucion) {
-            Camion camion = camionesDisponibles.stream()
-                    .filter(c -> c.getCodigo().equals(ruta.getCodigoCamion()))
-                    .findFirst().orElse(null);
-            if (camion != null) {
-                ruta.optimizarConRecargas(mapa, camion);
+    // Orden descendente por distancia de hacinamiento (los frentes son pequeños)
+    private static void ordenarPorCrowding(int[] frente, double[] crowding) {
+        for (int k = 1; k < frente.length; k++) {
+            int actual = frente[k];
+            int j = k - 1;
+            while (j >= 0 && crowding[frente[j]] < crowding[actual]) {
+                frente[j + 1] = frente[j];
+                j--;
             }
+            frente[j + 1] = actual;
         }
+    }
 
-        if (mejorSolucion != null && monitoreoService != null) {
-            for (Ruta ruta : mejorSolucion) {
-                ruta.setMonitoreoService(monitoreoService);
-                ruta.actualizarEstadoMonitoreo(ruta.getOrigen(), momentoActual);
+    /**
+     * Registra como mejor solución de referencia el padre con menor fitness ponderado
+     * (se decodifica al terminar)
+     *
+     * @return true si mejoró
+     */
+    private boolean actualizarMejorPareto(Individuo[] padres, int n) {
+        boolean mejoro = false;
+        for (int i = 0; i < n; i++) {
+            if (padres[i].getFitness() < mejorFitness) {
+                mejorFitness = padres[i].getFitness();
+                mejoro = true;
             }
         }
+        return mejoro;
+    }
 
-        // Retornar la mejor solución encontrada
-        return mejorSolucion != null ? mejorSolucion : new ArrayList<>();
+    /**
+     * Plan rápido sin evolución, para emergencias: asignación y secuencias de la heurística
+     * de inserción con arrepentimiento ({@link PlanificadorConstructivo}). El fitness
+     * informado es el de esa asignación, comparable con el de una ejecución del algoritmo.
+     *
+     * @param camiones Lista de camiones disponibles
+     * @param pedidos  Lista de pedidos pendientes
+     * @param mapa     Mapa de la ciudad
+     * @param momento  Momento actual para la planificación
+     * @return Lista de rutas planificadas
+     */
+    public List<Ruta> planificarConstructivo(List<Camion> camiones, List<Pedido> pedidos,
+                                             Mapa mapa, LocalDateTime momento) {
+        this.camionesDisponibles = filtrarCamionesDisponibles(camiones);
+        this.pedidosPendientes = preprocesarPedidos(pedidos);
+        this.mapa = mapa;
+        this.momentoActual = momento;
+        this.cacheFitness = new CacheFitness(0);
+        mejorSolucion = null;
+        mejorFitness = Double.MAX_VALUE;
+        generacionesCompletadas = 0;
+        iniciarEjecucion();
+
+        if (camionesDisponibles.isEmpty() || pedidosPendientes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        this.contexto = crearContexto();
+
+        PlanificadorConstructivo planificador = new PlanificadorConstructivo(contexto, momento);
+        Individuo individuo = new Individuo(pedidosPendientes.size());
+        int[] genes = planificador.planificar(null);
+        System.arraycopy(genes, 0, individuo.getGenes(), 0, genes.length);
+        individuo.marcarTodosModificados();
+        calcularFitness(individuo);
+
+        mejorFitness = individuo.getFitness();
+        mejorSolucion = individuo.decodificarSolucion(true);
+        for (Ruta ruta : mejorSolucion) {
+            int indiceCamion = contexto.getIndicePorCodigo().get(ruta.getCodigoCamion());
+            // Conservar el orden de visita de la heurística, que respeta las horas límite
+            ruta.fijarSecuencia(planificador.getParadas(indiceCamion));
+            ruta.insertarRecargas(mapa, camionesDisponibles.get(indiceCamion));
+        }
+        return mejorSolucion;
+    }
+
+    /**
+     * Marca el inicio de la ejecución y, con tiempo límite, el instante en que vence, y descarta
+     * los pedidos de detención o cancelación de una ejecución anterior. Se llama antes de crear
+     * el contexto: el presupuesto incluye el precálculo
+     */
+    private void iniciarEjecucion() {
+        detenido = false;
+        cancelado = false;
+        inicioEjecucionNanos = System.nanoTime();
+        instanteLimiteNanos = tiempoLimiteMs != null ? inicioEjecucionNanos + tiempoLimiteMs * 1_000_000L : 0L;
+    }
+
+    private ContextoProblema crearContexto() {
+        return new ContextoProblema(camionesDisponibles, pedidosPendientes, mapa, momentoActual,
+                considerarBloqueos ? momentoActual.plusHours(24) : null, nucleoVectorial, evaluador);
     }
 
     // Método para verificar si un bloqueo estará activo durante la ejecución
@@ -192,44 +648,16 @@ public class AlgoritmoGenetico {
                         bloqueo.getHoraInicio().isEqual(finPeriodo)));
     }
 
+    /**
+     * Ordena y divide los pedidos sin modificar la lista recibida. El preprocesador (y su
+     * escalera de capacidades) se reutiliza entre ejecuciones mientras la flota no cambie.
+     */
     private List<Pedido> preprocesarPedidos(List<Pedido> pedidosOriginales) {
-        pedidosOriginales.sort(Comparator.<Pedido>comparingInt(p -> (int) p.getTiempoLimiteEntrega().toHours()).thenComparingDouble(Pedido::getCantidadGLP));
-        List<Pedido> pedidosProcesados = new ArrayList<>();
-        double maxCapacidadCamion = camionesDisponibles.stream()
-                .mapToDouble(Camion::getCapacidadTanqueGLP).max().orElse(25.0);
-        for (Pedido pedido : pedidosOriginales) {
-            if (pedido.getCantidadGLP() <= maxCapacidadCamion) {
-                pedidosProcesados.add(pedido);
-                continue;
-            }
-            //Dividir pedido considerando las capacidades de los camiones
-            double cantidadRestante = pedido.getCantidadGLP();
-            int contador = 1;
-            while (cantidadRestante > 0) {
-                double mejorCapacidad = encontrarMejorCapacidad(cantidadRestante);
-                double cantidadParte = Math.min(cantidadRestante, mejorCapacidad);
-                cantidadRestante -= cantidadParte;
-
-                Pedido pedidoParte = new Pedido(pedido.getIdCliente() + "_parte" + contador, pedido.getUbicacion(), cantidadParte, pedido.getHoraRecepcion(), (int) pedido.getTiempoLimiteEntrega().toHours());
-
-                pedidosProcesados.add(pedidoParte);
-                contador++;
-            }
+        if (preprocesador == null || !preprocesador.mismaEscalera(camionesDisponibles)) {
+            preprocesador = new PreprocesadorPedidos(camionesDisponibles);
         }
-        return pedidosProcesados;
-    }
-
-    private double encontrarMejorCapacidad(double cantidadNecesaria) {
-        List<Double> capacidadesDisponibles = camionesDisponibles.stream()
-                .map(Camion::getCapacidadTanqueGLP).distinct().sorted().collect(Collectors.toList());
-
-        //Encontrar la capacidad más cercana pero mayor a la cantidad necesaria
-        for (Double capacidad : capacidadesDisponibles) {
-            if (capacidad >= cantidadNecesaria) {
-                return capacidad;
-            }
-        }
-        return capacidadesDisponibles.isEmpty() ? 25.0 : capacidadesDisponibles.get(capacidadesDisponibles.size() - 1);
+        tablaPedidos = preprocesador.procesar(pedidosOriginales);
+        return tablaPedidos.getPedidos();
     }
 
     /**
@@ -247,265 +675,903 @@ public class AlgoritmoGenetico {
     /**
      * Inicializa una población de soluciones aleatorias
      *
-     * @return Lista de individuos (soluciones potenciales)
+     * @param aleatorio Flujo aleatorio de la isla
+     * @return Arreglo de individuos (soluciones potenciales)
      */
-    private List<Individuo> inicializarPoblacion() {
-        List<Individuo> poblacion = new ArrayList<>();
-
-        for (int i = 0; i < tamañoPoblacion; i++) {
-            Individuo individuo = new Individuo();
+    private Individuo[] inicializarPoblacion(SplittableRandom aleatorio) {
+        Individuo[] poblacion = crearPoblacionVacia();
 
+        for (Individuo individuo : poblacion) {
             // Inicializar genes (asignación de pedidos a camiones)
-            for (Pedido pedido : pedidosPendientes) {
+            int[] genes = individuo.getGenes();
+            for (int i = 0; i < genes.length; i++) {
                 // Asignar a un camión aleatorio o a ninguno (valor -1)
-                int indiceCamion = new Random().nextInt(camionesDisponibles.size() + 1) - 1;
-                individuo.getGenes().add(indiceCamion);
+                genes[i] = aleatorio.nextInt(camionesDisponibles.size() + 1) - 1;
             }
-
-            poblacion.add(individuo);
         }
 
+        sembrarPoblacion(poblacion, aleatorio);
         return poblacion;
     }
 
     /**
-     * Evalúa el fitness de toda la población y la ordena de mejor a peor
+     * Reemplaza los primeros individuos de la población por semillas: el plan anterior
+     * trasladado a los pedidos actuales y planes de la heurística constructiva. Salvo la primera
+     * de cada tipo, las semillas se varían (mutaciones o costos perturbados) para conservar diversidad.
      *
-     * @param poblacion Lista de individuos a evaluar
+     * @param poblacion Población recién inicializada
+     * @param aleatorio Flujo aleatorio de la isla
      */
-    private void evaluarPoblacion(List<Individuo> poblacion) {
-        for (Individuo individuo : poblacion) {
-            calcularFitness(individuo);
+    private void sembrarPoblacion(Individuo[] poblacion, SplittableRandom aleatorio) {
+        if (planAnterior == null && !semillasConstructivas) {
+            return;
+        }
+        int numSemillas = Math.min(poblacion.length, (int) Math.ceil(poblacion.length * fraccionSemillas));
+        GeneradorSemillas generador = new GeneradorSemillas(camionesDisponibles, pedidosPendientes);
+        PlanificadorConstructivo constructivo = semillasConstructivas ? new PlanificadorConstructivo(contexto, momentoActual) : null;
+
+        // Los pedidos sin referencia en el plan anterior se completan de forma voraz
+        int[] desdePlan = null;
+        if (planAnterior != null && !planAnterior.isEmpty()) {
+            desdePlan = generador.voraz(generador.desdePlanAnterior(planAnterior));
+        }
+
+        for (int s = 0; s < numSemillas; s++) {
+            boolean usarPlan = desdePlan != null && (!semillasConstructivas || s % 2 == 0);
+            boolean primeraDelTipo = usarPlan ? s == 0 : s == (desdePlan != null ? 1 : 0);
+            Individuo individuo = poblacion[s];
+
+            if (usarPlan) {
+                System.arraycopy(desdePlan, 0, individuo.getGenes(), 0, desdePlan.length);
+                if (!primeraDelTipo) {
+                    int mutaciones = 1 + aleatorio.nextInt(3);
+                    for (int m = 0; m < mutaciones; m++) {
+                        mutacion(individuo, aleatorio);
+                    }
+                }
+            } else if (semillasConstructivas) {
+                int[] genes = constructivo.planificar(primeraDelTipo ? null : aleatorio);
+                System.arraycopy(genes, 0, individuo.getGenes(), 0, genes.length);
+            }
+            individuo.marcarTodosModificados();
         }
+    }
+
+    /**
+     * Evalúa el fitness de los individuos en [desde, hasta) sin reordenarlos
+     */
+    private void evaluarRango(Individuo[] individuos, int desde, int hasta) {
+        long inicio = System.nanoTime();
+        evaluador.evaluar(hasta - desde, i -> {
+            long inicioIndividuo = System.nanoTime();
+            calcularFitness(individuos[desde + i]);
+            tiempoCpuEvaluacionNanos.add(System.nanoTime() - inicioIndividuo);
+        });
+        tiempoEvaluacionNanos.add(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Reserva una población completa con cromosomas del tamaño del problema actual
+     *
+     * @return Arreglo de individuos sin evaluar
+     */
+    private Individuo[] crearPoblacionVacia() {
+        Individuo[] poblacion = new Individuo[tamañoPoblacion];
+        for (int i = 0; i < tamañoPoblacion; i++) {
+            poblacion[i] = new Individuo(pedidosPendientes.size());
+        }
+        return poblacion;
+    }
+
+    /**
+     * Evalúa el fitness de toda la población y la ordena de mejor a peor.
+     * El fitness de cada individuo solo depende de sus genes, así que el orden final
+     * (ordenamiento estable) es el mismo con evaluación secuencial o paralela.
+     *
+     * @param poblacion Individuos a evaluar
+     */
+    private void evaluarPoblacion(Individuo[] poblacion) {
+        evaluarRango(poblacion, 0, poblacion.length);
 
         // Ordenar por fitness (menor es mejor)
-        poblacion.sort(Comparator.comparingDouble(Individuo::getFitness));
+        Arrays.sort(poblacion, comparadorFitness);
     }
 
-    private Camion getCamionPorCodigo(String codigo) {
-        return camionesDisponibles.stream().filter(c -> c.getCodigo().equals(codigo)).findFirst().orElse(null);
+    /**
+     * Aceleración obtenida en la evaluación del fitness: suma de los tiempos de cada
+     * evaluación dividida entre el tiempo de pared. Vale ~1 en modo secuencial.
+     *
+     * @return Factor de aceleración, o 1 si aún no se evaluó ninguna población
+     */
+    public double getAceleracionEvaluacion() {
+        long tiempoPared = tiempoEvaluacionNanos.sum();
+        if (tiempoPared <= 0) {
+            return 1.0;
+        }
+        return (double) tiempoCpuEvaluacionNanos.sum() / tiempoPared;
     }
 
     /**
      * Calcula el valor de fitness (aptitud) de un individuo
      * Menor fitness es mejor (problema de minimización)
+     * <p>
+     * Los componentes de costo se guardan por camión en el individuo, así que solo se
+     * reconstruyen las rutas de los camiones cuya asignación cambió desde la última evaluación.
      *
      * @param individuo Individuo a evaluar
      */
     private void calcularFitness(Individuo individuo) {
-        // Decodificar la solución para obtener las rutas
-        List<Ruta> rutas = individuo.decodificarSolucion();
+        long hash = 0;
+        boolean recalculado = false;
+        if (individuo.hayCamionesModificados()) {
+            // Un cromosoma ya visto no necesita reconstruir sus rutas; sus camiones
+            // quedan marcados como modificados para que los descendientes los recalculen
+            hash = CacheFitness.hash(individuo.getGenes());
+            double fitnessGuardado = cacheFitness.buscar(hash, individuo.getGenes());
+            if (!Double.isNaN(fitnessGuardado)) {
+                individuo.setFitness(fitnessGuardado);
+                return;
+            }
+            recalcularCamionesModificados(individuo);
+            recalculado = true;
+        }
 
-        double consumoTotal = 0.0;      // Consumo total de combustible
-        double distanciaTotal = 0.0;    // Distancia total recorrida
-        double retrasosTotal = 0.0;     // Suma de retrasos (en minutos)
-        double pedidosNoAsignados = 0;  // Número de pedidos sin asignar
-        double sobrecargaTotal = 0.0;   // Suma de sobrecargas de GLP en camiones
-        double riesgoAverias = 0.0;     // Riesgo de averías basado en la distancia
+        // Componentes de cada camión ponderados y penalización por pedidos no asignados
+        double fitness = contexto.getNucleo().evaluar(individuo.getGenes(), individuo.getCostosCamion());
 
-        // Evaluar cada ruta
-        for (Ruta ruta : rutas) {
-            // Obtener el camión asignado a esta ruta
-            Camion camion = getCamionPorCodigo(ruta.getCodigoCamion());
-            if (camion == null) continue;
-            for (Camion c : camionesDisponibles) {
-                if (c.getCodigo().equals(ruta.getCodigoCamion())) {
-                    camion = c;
+        individuo.setFitness(fitness);
+        if (recalculado) {
+            cacheFitness.guardar(hash, individuo.getGenes(), fitness);
+        }
+    }
+
+    /**
+     * Recalcula en el contexto primitivo los componentes de costo de los camiones
+     * marcados como modificados
+     *
+     * @param individuo Individuo con camiones pendientes de recalcular
+     */
+    private void recalcularCamionesModificados(Individuo individuo) {
+        contexto.calcularCostosCamiones(individuo.getGenes(), individuo.getCamionesModificados(),
+                busquedaLocal, individuo.getCostosCamion());
+        individuo.marcarEvaluado();
+    }
+
+    /**
+     * Ejecuta una acción sobre cada isla, en paralelo si hay un pool de hilos
+     *
+     * @param islas  Islas del modelo
+     * @param hilos  Pool con un hilo por isla, o null para ejecutar en el hilo actual
+     * @param accion Acción a ejecutar
+     */
+    private void ejecutarEnIslas(Isla[] islas, ExecutorService hilos, Consumer<Isla> accion) {
+        if (hilos == null) {
+            for (Isla isla : islas) {
+                accion.accept(isla);
+            }
+            return;
+        }
+
+        List<Future<?>> tareas = new ArrayList<>(islas.length);
+        for (Isla isla : islas) {
+            tareas.add(hilos.submit(() -> accion.accept(isla)));
+        }
+
+        // Si se interrumpe al hilo que coordina, se pide a las islas que se detengan y se
+        // espera a que terminen su generación para no leer poblaciones a medio escribir
+        boolean interrumpido = false;
+        for (Future<?> tarea : tareas) {
+            while (true) {
+                try {
+                    tarea.get();
                     break;
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                    cancelar();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Error al evolucionar una isla", e.getCause());
                 }
             }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Informa al observador las generaciones, el mejor fitness y el avance estimado
+     */
+    private void notificarProgreso() {
+        if (observadorProgreso == null) {
+            return;
+        }
+        long transcurridoMs = (System.nanoTime() - inicioEjecucionNanos) / 1_000_000L;
+        double progreso;
+        if (tiempoLimiteMs != null) {
+            progreso = tiempoLimiteMs > 0 ? 100.0 * transcurridoMs / tiempoLimiteMs : 100.0;
+        } else {
+            progreso = numGeneraciones > 0 ? 100.0 * generacionesCompletadas / numGeneraciones : 100.0;
+        }
+        observadorProgreso.actualizar(generacionesCompletadas, mejorFitness, Math.min(progreso, 100.0), transcurridoMs);
+    }
+
+    /**
+     * Solicita que la ejecución termine al final de la generación en curso;
+     * optimizarRutas retorna la mejor solución encontrada hasta ese momento
+     */
+    public void detener() {
+        detenido = true;
+    }
+
+    /**
+     * Cancela la ejecución al final de la generación en curso. A diferencia de {@link #detener()},
+     * la mejor solución se retorna sin post-procesar (recargas, monitoreo) y, con puntos de
+     * control, se guarda el estado para poder reanudarla
+     */
+    public void cancelar() {
+        cancelado = true;
+        detenido = true;
+    }
+
+    /**
+     * @return true si se pidió detener o cancelar, se interrumpió el hilo o se agotó el tiempo límite
+     */
+    private boolean debeDetenerse() {
+        if (detenido) {
+            return true;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            // Future.cancel(true) interrumpe el hilo de la ejecución: equivale a cancelar
+            cancelar();
+            return true;
+        }
+        return tiempoLimiteMs != null && System.nanoTime() - instanteLimiteNanos >= 0;
+    }
+
+    /**
+     * Huella del problema para validar un punto de control: pedidos (en el orden de la tabla),
+     * camiones, momento de planificación, tamaño de población e islas
+     */
+    private long calcularHuella(int cantidadIslas) {
+        long huella = 1125899906842597L;
+        huella = 31 * huella + tamañoPoblacion;
+        huella = 31 * huella + cantidadIslas;
+        huella = 31 * huella + momentoActual.hashCode();
+        for (Camion camion : camionesDisponibles) {
+            huella = 31 * huella + camion.getCodigo().hashCode();
+        }
+        for (Pedido pedido : pedidosPendientes) {
+            huella = 31 * huella + pedido.getUbicacion().getX();
+            huella = 31 * huella + pedido.getUbicacion().getY();
+            huella = 31 * huella + Double.hashCode(pedido.getCantidadGLP());
+            huella = 31 * huella + pedido.getHoraLimiteEntrega().hashCode();
+        }
+        return huella;
+    }
+
+    private PuntoControl cargarPuntoControl(long huella, int cantidadIslas) {
+        if (archivoPuntoControl == null) {
+            return null;
+        }
+        try {
+            PuntoControl puntoControl = PuntoControl.cargar(archivoPuntoControl);
+            if (puntoControl == null) {
+                return null;
+            }
+            if (puntoControl.getHuella() != huella || puntoControl.getIslas().length != cantidadIslas) {
+                log.warn("El punto de control {} es de otro problema; se descarta y se inicia desde cero", archivoPuntoControl);
+                return null;
+            }
+            return puntoControl;
+        } catch (IOException e) {
+            log.warn("No se pudo leer el punto de control {}: {}", archivoPuntoControl, e.getMessage());
+            return null;
+        }
+    }
+
+    private void guardarPuntoControl(Isla[] islas, long huella, int generacion) {
+        PuntoControl.EstadoIsla[] estados = new PuntoControl.EstadoIsla[islas.length];
+        for (int i = 0; i < islas.length; i++) {
+            estados[i] = islas[i].capturar();
+        }
+        try {
+            new PuntoControl(huella, semillaUtilizada, generacion, estados).guardar(archivoPuntoControl);
+            puntosControlGuardados++;
+        } catch (IOException e) {
+            // Un punto de control fallido no detiene la ejecución
+            log.warn("No se pudo guardar el punto de control {}: {}", archivoPuntoControl, e.getMessage());
+        }
+    }
+
+    private void eliminarPuntoControl() {
+        try {
+            Files.deleteIfExists(archivoPuntoControl);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el punto de control {}: {}", archivoPuntoControl, e.getMessage());
+        }
+    }
+
+    private boolean todasConvergidas(Isla[] islas) {
+        for (Isla isla : islas) {
+            if (!isla.isConvergida()) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-            if (camion == null) {
-                continue; // Esto no debería ocurrir
+    /**
+     * Actualiza (y decodifica) la mejor solución global con el mejor individuo de todas las islas
+     *
+     * @param islas Islas del modelo
+     * @return true si la mejor solución cambió
+     */
+    private boolean actualizarMejorSolucion(Isla[] islas) {
+        Individuo mejorIndividuo = islas[0].getMejor();
+        for (int i = 1; i < islas.length; i++) {
+            if (islas[i].getMejor().getFitness() < mejorIndividuo.getFitness()) {
+                mejorIndividuo = islas[i].getMejor();
             }
+        }
 
-            // Calcular consumo de combustible
-            double consumo = ruta.calcularConsumoCombustible(camion);
-            consumoTotal += consumo;
-            ruta.setConsumoCombustible(consumo);
+        if (mejorIndividuo.getFitness() < mejorFitness) {
+            mejorSolucion = mejorIndividuo.decodificarSolucion(true);
+            mejorFitness = mejorIndividuo.getFitness();
+            return true;
+        }
+        return false;
+    }
 
-            // Sumar distancia total
-            distanciaTotal += ruta.getDistanciaTotal();
+    /**
+     * Migración en anillo: los mejores individuos de cada isla reemplazan a los
+     * peores de la isla siguiente
+     *
+     * @param islas Islas del modelo (con sus poblaciones ordenadas)
+     */
+    private void migrar(Isla[] islas) {
+        int migrantes = Math.min(numMigrantes, tamañoPoblacion / 2);
+        if (migrantes <= 0) {
+            return;
+        }
 
-            // Verificar capacidad GLP
-            double glpTotal = 0;
-            for (Pedido p : ruta.getPedidosAsignados()) {
-                glpTotal += p.getCantidadGLP();
+        // Copiar primero los emigrantes para que una isla no envíe a los que acaba de recibir
+        Individuo[][] emigrantes = new Individuo[islas.length][migrantes];
+        for (int i = 0; i < islas.length; i++) {
+            for (int m = 0; m < migrantes; m++) {
+                emigrantes[i][m] = new Individuo(pedidosPendientes.size());
+                emigrantes[i][m].copiarDe(islas[i].getPoblacion()[m]);
             }
+        }
+
+        for (int i = 0; i < islas.length; i++) {
+            islas[(i + 1) % islas.length].recibir(emigrantes[i]);
+        }
+    }
+
+    /**
+     * Subpoblación del modelo de islas. Cada isla tiene su propio flujo aleatorio y sus
+     * propios buffers, por lo que varias islas pueden evolucionar en hilos distintos.
+     */
+    @Getter
+    private class Isla {
+        private final int id;
+        private final SplittableRandom aleatorio;
+        private Individuo[] poblacion;
+        private Individuo[] nuevaPoblacion;
+        private int[] seleccionados;
+        private final Individuo mejor;
+        private final Individuo candidato;        // Individuo auxiliar de la búsqueda local
+        private boolean convergida;
+        private int generaciones;                // Generaciones evolucionadas
+
+        // Estado del control adaptativo
+        private double tasaMutacionActual;
+        private double tasaCruceActual;
+        private double diversidad;
+        private int generacionesSinMejora;
+        private int reinicios;
+        private int[] conteoGenes;               // Frecuencia de cada camión por gen (para la entropía)
+
+        public Isla(int id, SplittableRandom aleatorio) {
+            this.id = id;
+            this.aleatorio = aleatorio;
+            this.mejor = new Individuo(pedidosPendientes.size());
+            this.candidato = new Individuo(pedidosPendientes.size());
+        }
+
+        /**
+         * Genera y evalúa la población inicial. Se trabaja con dos poblaciones (doble
+         * buffer) que se reutilizan en todas las generaciones para no crear individuos nuevos
+         */
+        public void inicializar() {
+            poblacion = inicializarPoblacion(aleatorio);
+            nuevaPoblacion = crearPoblacionVacia();
+            seleccionados = new int[tamañoPoblacion];
+            evaluarPoblacion(poblacion);
+            mejor.copiarDe(poblacion[0]);
+
+            tasaMutacionActual = tasaMutacion;
+            tasaCruceActual = tasaCruce;
+            conteoGenes = new int[pedidosPendientes.size() * (camionesDisponibles.size() + 1)];
+            diversidad = calcularDiversidad();
+        }
+
+        /**
+         * Restaura la población y el control adaptativo guardados en un punto de control
+         * (reemplaza a {@link #inicializar()}); el fitness se vuelve a evaluar
+         */
+        public void restaurar(PuntoControl.EstadoIsla estado) {
+            poblacion = crearPoblacionVacia();
+            nuevaPoblacion = crearPoblacionVacia();
+            seleccionados = new int[tamañoPoblacion];
+            int[][] genes = estado.getPoblacion();
+            for (int i = 0; i < poblacion.length; i++) {
+                System.arraycopy(genes[i % genes.length], 0, poblacion[i].getGenes(), 0, pedidosPendientes.size());
+                poblacion[i].marcarTodosModificados();
+            }
+            evaluarPoblacion(poblacion);
+
+            System.arraycopy(estado.getMejor(), 0, mejor.getGenes(), 0, pedidosPendientes.size());
+            mejor.marcarTodosModificados();
+            calcularFitness(mejor);
+            if (poblacion[0].getFitness() < mejor.getFitness()) {
+                mejor.copiarDe(poblacion[0]);
+            }
+
+            generaciones = estado.getGeneraciones();
+            tasaMutacionActual = estado.getTasaMutacion();
+            tasaCruceActual = estado.getTasaCruce();
+            generacionesSinMejora = estado.getGeneracionesSinMejora();
+            reinicios = estado.getReinicios();
+            convergida = estado.isConvergida();
+            conteoGenes = new int[pedidosPendientes.size() * (camionesDisponibles.size() + 1)];
+            diversidad = calcularDiversidad();
+        }
+
+        /**
+         * @return Copia del estado de la isla para un punto de control
+         */
+        public PuntoControl.EstadoIsla capturar() {
+            int[][] genes = new int[poblacion.length][];
+            for (int i = 0; i < poblacion.length; i++) {
+                genes[i] = poblacion[i].getGenes().clone();
+            }
+            return new PuntoControl.EstadoIsla(genes, mejor.getGenes().clone(), generaciones, tasaMutacionActual,
+                    tasaCruceActual, generacionesSinMejora, reinicios, convergida);
+        }
+
+        /**
+         * Evoluciona la isla durante un rango de generaciones
+         *
+         * @param desde Primera generación (inclusive)
+         * @param hasta Última generación (exclusive)
+         */
+        public void evolucionar(int desde, int hasta) {
+            for (int generacion = desde; generacion < hasta && !convergida && !debeDetenerse(); generacion++) {
+                // Seleccionar individuos para reproducción (índices sobre la población actual)
+                seleccion(poblacion, seleccionados, aleatorio);
+
+                // Añadir individuos elite directamente
+                int ocupados = 0;
+                for (int i = 0; i < elitismo && i < poblacion.length; i++) {
+                    nuevaPoblacion[ocupados++].copiarDe(poblacion[i]);
+                }
+
+                // Generar el resto de la población mediante cruce y mutación
+                while (ocupados < tamañoPoblacion) {
+                    // Seleccionar padres
+                    Individuo padre = poblacion[seleccionados[aleatorio.nextInt(seleccionados.length)]];
+                    Individuo madre = poblacion[seleccionados[aleatorio.nextInt(seleccionados.length)]];
+
+                    // Los hijos se escriben directamente sobre los individuos del buffer
+                    Individuo hijo1 = nuevaPoblacion[ocupados];
+                    Individuo hijo2 = ocupados + 1 < tamañoPoblacion ? nuevaPoblacion[ocupados + 1] : null;
+
+                    // Realizar cruce con cierta probabilidad
+                    if (aleatorio.nextDouble() < tasaCruceActual) {
+                        cruce(padre, madre, hijo1, hijo2, aleatorio);
+                    } else {
+                        hijo1.copiarDe(padre);
+                        if (hijo2 != null) {
+                            hijo2.copiarDe(madre);
+                        }
+                    }
+
+                    // Aplicar mutación con cierta probabilidad
+                    if (aleatorio.nextDouble() < tasaMutacionActual) {
+                        mutacion(hijo1, aleatorio);
+                    }
+                    if (hijo2 != null && aleatorio.nextDouble() < tasaMutacionActual) {
+                        mutacion(hijo2, aleatorio);
+                    }
+
+                    ocupados += hijo2 != null ? 2 : 1;
+                }
+
+                // Evaluar la nueva población
+                evaluarPoblacion(nuevaPoblacion);
+
+                // Intercambiar los buffers: la población anterior se reutiliza en la siguiente generación
+                Individuo[] anterior = poblacion;
+                poblacion = nuevaPoblacion;
+                nuevaPoblacion = anterior;
 
-            if (glpTotal > camion.getCapacidadTanqueGLP()) {
-                sobrecargaTotal += (glpTotal - camion.getCapacidadTanqueGLP());
+                // Etapa memética: mejorar la élite con búsqueda local
+                if (busquedaLocal) {
+                    mejorarElite();
+                }
+
+                generaciones++;
+                if (poblacion[0].getFitness() < mejor.getFitness()) {
+                    mejor.copiarDe(poblacion[0]);
+                    generacionesSinMejora = 0;
+                } else {
+                    generacionesSinMejora++;
+                }
+
+                adaptar(generacion);
             }
+        }
 
-            // Calcular retrasos potenciales
-            for (Pedido pedido : ruta.getPedidosAsignados()) {
-                // Estimar tiempo de entrega basado en distancia y velocidad
-                Ubicacion origen = camion.getUbicacionActual();
-                int distanciaAlPedido = origen.distanciaA(pedido.getUbicacion());
-                double horasViaje = distanciaAlPedido / 50.0; // 50 km/h velocidad promedio
+        /**
+         * Ajusta las tasas según la diversidad y atiende el estancamiento: reinicio parcial
+         * mientras queden reinicios (sin límite en modo anytime) y, si no, convergencia
+         *
+         * @param generacion Generación recién completada
+         */
+        private void adaptar(int generacion) {
+            if (adaptativo) {
+                diversidad = calcularDiversidad();
+                if (diversidad < diversidadMinima && tasaMutacionActual < tasaMutacionMaxima) {
+                    // Población homogénea: los cruces producen copias, se explora con mutación
+                    tasaMutacionActual = Math.min(tasaMutacionMaxima,
+                            Math.max(tasaMutacionActual * 1.5, tasaMutacionActual + 0.02));
+                    tasaCruceActual = Math.max(tasaCruce * 0.5, tasaCruceActual * 0.9);
+                    registrarEvento(EventoAdaptacion.TipoEvento.MUTACION_ELEVADA, generacion);
+                } else if (diversidad >= diversidadObjetivo &&
+                        (tasaMutacionActual != tasaMutacion || tasaCruceActual != tasaCruce)) {
+                    tasaMutacionActual = tasaMutacion;
+                    tasaCruceActual = tasaCruce;
+                    registrarEvento(EventoAdaptacion.TipoEvento.TASAS_RESTABLECIDAS, generacion);
+                }
+            }
 
-                LocalDateTime entregaEstimada = momentoActual.plusMinutes((long) (horasViaje * 60));
+            if (generacionesSinMejora < generacionesEstancamiento) {
+                return;
+            }
+            if (adaptativo && (tiempoLimiteMs != null || reinicios < maxReinicios)) {
+                reinicioParcial(generacion);
+            } else if (tiempoLimiteMs == null) {
+                // En modo anytime se sigue buscando hasta agotar el tiempo
+                log.debug("Isla {}: convergencia alcanzada en generación {}", id, generacion);
+                convergida = true;
+                registrarEvento(EventoAdaptacion.TipoEvento.CONVERGENCIA, generacion);
+            }
+        }
 
-                // Si entrega estimada es posterior a la hora límite, hay retraso
-                if (entregaEstimada.isAfter(pedido.getHoraLimiteEntrega())) {
-                    Duration retraso = Duration.between(pedido.getHoraLimiteEntrega(), entregaEstimada);
-                    retrasosTotal += retraso.toMinutes();
+        /**
+         * Regenera la parte peor de la población conservando la élite: la mitad de los
+         * nuevos individuos son variaciones fuertes de la élite y la otra mitad aleatorios
+         *
+         * @param generacion Generación recién completada
+         */
+        private void reinicioParcial(int generacion) {
+            int numElite = Math.max(1, Math.min(elitismo, poblacion.length));
+            int desde = Math.max(numElite, poblacion.length - (int) Math.ceil(poblacion.length * fraccionReinicio));
+            int numCamiones = camionesDisponibles.size();
+            int mutacionesPorVariacion = Math.max(2, pedidosPendientes.size() / 10);
+
+            for (int i = desde; i < poblacion.length; i++) {
+                Individuo individuo = poblacion[i];
+                if ((i - desde) % 2 == 0) {
+                    individuo.copiarDe(poblacion[aleatorio.nextInt(numElite)]);
+                    for (int m = 0; m < mutacionesPorVariacion; m++) {
+                        mutacion(individuo, aleatorio);
+                    }
+                } else {
+                    int[] genes = individuo.getGenes();
+                    for (int g = 0; g < genes.length; g++) {
+                        genes[g] = aleatorio.nextInt(numCamiones + 1) - 1;
+                    }
+                    individuo.marcarTodosModificados();
                 }
             }
+            evaluarPoblacion(poblacion);
+
+            reinicios++;
+            generacionesSinMejora = 0;
+            tasaMutacionActual = tasaMutacion;
+            tasaCruceActual = tasaCruce;
+            diversidad = calcularDiversidad();
+            registrarEvento(EventoAdaptacion.TipoEvento.REINICIO_PARCIAL, generacion);
+        }
 
-            // Calcular riesgo de averías basado en distancia y tipo de camión
-            // Esto es una heurística simple: rutas más largas tienen mayor riesgo de averías
-            double factorRiesgo = 0.0;
+        /**
+         * Diversidad de la población: entropía de Shannon de cada gen (qué camión recibe el
+         * pedido en los distintos individuos), normalizada a [0, 1] y promediada entre genes
+         */
+        private double calcularDiversidad() {
+            int numGenes = pedidosPendientes.size();
+            int numValores = camionesDisponibles.size() + 1;
+            double entropiaMaxima = Math.log(Math.min(poblacion.length, numValores));
+            if (numGenes == 0 || entropiaMaxima <= 0) {
+                return 0.0;
+            }
 
-            // Factores de riesgo según tipo de camión 
-            switch (camion.getTipo()) {
-                case TA:
-                    factorRiesgo = 0.5;
-                    break; // Menor riesgo
-                case TB:
-                    factorRiesgo = 0.6;
-                    break;
-                case TC:
-                    factorRiesgo = 0.7;
-                    break;
-                case TD:
-                    factorRiesgo = 0.8;
-                    break; // Mayor riesgo
+            Arrays.fill(conteoGenes, 0);
+            for (Individuo individuo : poblacion) {
+                int[] genes = individuo.getGenes();
+                for (int g = 0, base = 0; g < numGenes; g++, base += numValores) {
+                    conteoGenes[base + genes[g] + 1]++;
+                }
             }
 
-            // El riesgo aumenta con la distancia y es influenciado por el tipo de camión
-            riesgoAverias += ruta.getDistanciaTotal() * factorRiesgo / 100; // Normalizado
+            double suma = 0.0;
+            for (int base = 0; base < conteoGenes.length; base += numValores) {
+                double entropia = 0.0;
+                for (int v = 0; v < numValores; v++) {
+                    int conteo = conteoGenes[base + v];
+                    if (conteo > 0) {
+                        double p = (double) conteo / poblacion.length;
+                        entropia -= p * Math.log(p);
+                    }
+                }
+                suma += entropia / entropiaMaxima;
+            }
+            return suma / numGenes;
         }
 
-        // Contar pedidos no asignados
-        for (int i = 0; i < individuo.getGenes().size(); i++) {
-            if (individuo.getGenes().get(i) == -1) {
-                pedidosNoAsignados++;
+        private void registrarEvento(EventoAdaptacion.TipoEvento tipo, int generacion) {
+            EventoAdaptacion evento = new EventoAdaptacion(tipo, id, generacion, diversidad,
+                    tasaMutacionActual, tasaCruceActual, mejor.getFitness());
+            if (tipo != EventoAdaptacion.TipoEvento.MUTACION_ELEVADA) {
+                log.debug("{}", evento);
+            }
+            synchronized (eventosAdaptacion) {
+                if (eventosAdaptacion.size() < MAX_EVENTOS_ADAPTACION) {
+                    eventosAdaptacion.add(evento);
+                }
             }
         }
 
-        // Calcular fitness final (ponderado)
-        double fitness = 0.10 * consumoTotal +
-                0.05 * distanciaTotal +
-                0.15 * retrasosTotal +
-                0.60 * (pedidosNoAsignados * 1000) +  // Penalización fuerte por pedidos no asignados
-                0.05 * (sobrecargaTotal * 1000) +     // Penalización fuerte por sobrecarga
-                0.05 * riesgoAverias;                 // Penalización por riesgo de averías
+        /**
+         * Aplica búsqueda local a los individuos elite hasta agotar el tiempo por generación.
+         * Los movimientos son relocalizar un pedido a otro camión e intercambiar los camiones
+         * de dos pedidos; cada candidato solo recalcula las rutas de los dos camiones afectados.
+         */
+        private void mejorarElite() {
+            long limite = System.nanoTime() + tiempoBusquedaLocalMs * 1_000_000L;
+            int numElite = Math.max(1, Math.min(elitismo, poblacion.length));
+            int numGenes = pedidosPendientes.size();
+            int numCamiones = camionesDisponibles.size();
+            int maxIntentosSinMejora = 2 * numGenes;
+
+            for (int e = 0; e < numElite && System.nanoTime() < limite; e++) {
+                Individuo individuo = poblacion[e];
+                int intentosSinMejora = 0;
+                while (intentosSinMejora < maxIntentosSinMejora && System.nanoTime() < limite) {
+                    candidato.copiarDe(individuo);
+                    int[] genes = candidato.getGenes();
+                    int i = aleatorio.nextInt(numGenes);
+
+                    if (numCamiones > 1 && aleatorio.nextBoolean()) {
+                        // Intercambio: dos pedidos de camiones distintos cambian de camión
+                        int j = aleatorio.nextInt(numGenes);
+                        if (genes[i] == genes[j] || genes[i] == -1 || genes[j] == -1) {
+                            intentosSinMejora++;
+                            continue;
+                        }
+                        int camionI = genes[i];
+                        candidato.asignarGen(i, genes[j]);
+                        candidato.asignarGen(j, camionI);
+                    } else {
+                        // Relocalización: el pedido pasa a otro camión (incluye pedidos sin asignar)
+                        int destino = aleatorio.nextInt(numCamiones);
+                        if (destino == genes[i]) {
+                            intentosSinMejora++;
+                            continue;
+                        }
+                        candidato.asignarGen(i, destino);
+                    }
+
+                    calcularFitness(candidato);
+                    evaluacionesBusquedaLocal.increment();
+                    if (candidato.getFitness() < individuo.getFitness()) {
+                        individuo.copiarDe(candidato);
+                        mejorasBusquedaLocal.increment();
+                        intentosSinMejora = 0;
+                    } else {
+                        intentosSinMejora++;
+                    }
+                }
+            }
+            Arrays.sort(poblacion, comparadorFitness);
+        }
 
-        individuo.setFitness(fitness);
+        /**
+         * Reemplaza a los peores individuos por los inmigrantes y reordena la población
+         *
+         * @param inmigrantes Individuos ya evaluados de otra isla
+         */
+        public void recibir(Individuo[] inmigrantes) {
+            for (int m = 0; m < inmigrantes.length; m++) {
+                poblacion[poblacion.length - 1 - m].copiarDe(inmigrantes[m]);
+            }
+            Arrays.sort(poblacion, comparadorFitness);
+        }
     }
 
     /**
      * Selecciona individuos para reproducción mediante torneo
      *
-     * @param poblacion Población actual
-     * @return Lista de individuos seleccionados
+     * @param poblacion     Población actual (ordenada de mejor a peor)
+     * @param seleccionados Arreglo donde se escriben los índices de los ganadores
+     * @param aleatorio     Flujo aleatorio de la isla
      */
-    private List<Individuo> seleccion(List<Individuo> poblacion) {
-        List<Individuo> seleccionados = new ArrayList<>();
+    private void seleccion(Individuo[] poblacion, int[] seleccionados, SplittableRandom aleatorio) {
         int tamañoTorneo = 3;
 
         // Seleccionar individuos mediante torneos
-        for (int i = 0; i < tamañoPoblacion; i++) {
-            List<Individuo> torneo = new ArrayList<>();
-
-            // Seleccionar participantes aleatorios para el torneo
-            for (int j = 0; j < tamañoTorneo; j++) {
-                int indice = new Random().nextInt(poblacion.size());
-                torneo.add(poblacion.get(indice));
+        for (int i = 0; i < seleccionados.length; i++) {
+            // Elegir el mejor entre participantes aleatorios (ante empate gana el primero)
+            int ganador = aleatorio.nextInt(poblacion.length);
+            for (int j = 1; j < tamañoTorneo; j++) {
+                int indice = aleatorio.nextInt(poblacion.length);
+                if (poblacion[indice].getFitness() < poblacion[ganador].getFitness()) {
+                    ganador = indice;
+                }
             }
-
-            // Elegir el mejor del torneo
-            torneo.sort(Comparator.comparingDouble(Individuo::getFitness));
-            seleccionados.add(torneo.get(0));
+            seleccionados[i] = ganador;
         }
-
-        return seleccionados;
     }
 
     /**
-     * Realiza el cruce entre dos individuos para generar descendencia
+     * Realiza el cruce en un punto entre dos individuos, escribiendo la descendencia
+     * sobre individuos ya reservados
      *
      * @param padre Primer individuo
      * @param madre Segundo individuo
-     * @return Lista con dos nuevos individuos (hijos)
+     * @param hijo1 Individuo donde se escribe el primer hijo
+     * @param hijo2 Individuo donde se escribe el segundo hijo, o null si no hay espacio
+     * @param aleatorio Flujo aleatorio de la isla
      */
-    private List<Individuo> cruce(Individuo padre, Individuo madre) {
-        Individuo hijo1 = new Individuo();
-        Individuo hijo2 = new Individuo();
+    private void cruce(Individuo padre, Individuo madre, Individuo hijo1, Individuo hijo2, SplittableRandom aleatorio) {
+        int[] genesPadre = padre.getGenes();
+        int[] genesMadre = madre.getGenes();
+        int numGenes = genesPadre.length;
 
         // Punto de cruce aleatorio
-        int puntoCruce = new Random().nextInt(padre.getGenes().size());
+        int puntoCruce = aleatorio.nextInt(numGenes);
 
-        // Generar genes de los hijos
-        for (int i = 0; i < padre.getGenes().size(); i++) {
-            if (i < puntoCruce) {
-                hijo1.getGenes().add(padre.getGenes().get(i));
-                hijo2.getGenes().add(madre.getGenes().get(i));
-            } else {
-                hijo1.getGenes().add(madre.getGenes().get(i));
-                hijo2.getGenes().add(padre.getGenes().get(i));
-            }
+        // Cada hijo parte de los costos del progenitor que aporta el prefijo
+        hijo1.copiarDe(padre);
+        if (hijo2 != null) {
+            hijo2.copiarDe(madre);
         }
 
-        return Arrays.asList(hijo1, hijo2);
+        // Intercambiar el sufijo; solo cambian las rutas de los camiones con genes distintos
+        for (int i = puntoCruce; i < numGenes; i++) {
+            if (genesPadre[i] == genesMadre[i]) {
+                continue;
+            }
+            hijo1.asignarGen(i, genesMadre[i]);
+            if (hijo2 != null) {
+                hijo2.asignarGen(i, genesPadre[i]);
+            }
+        }
     }
 
     /**
      * Aplica mutación a un individuo
      *
      * @param individuo Individuo a mutar
+     * @param aleatorio Flujo aleatorio de la isla
      */
-    private void mutacion(Individuo individuo) {
+    private void mutacion(Individuo individuo, SplittableRandom aleatorio) {
         // Seleccionar un gen aleatorio para mutar
-        int indiceMutacion = new Random().nextInt(individuo.getGenes().size());
+        int indiceMutacion = aleatorio.nextInt(individuo.getGenes().length);
 
         // Cambiar la asignación del pedido
-        int nuevaAsignacion = new Random().nextInt(camionesDisponibles.size() + 1) - 1;
-        individuo.getGenes().set(indiceMutacion, nuevaAsignacion);
+        individuo.asignarGen(indiceMutacion, aleatorio.nextInt(camionesDisponibles.size() + 1) - 1);
     }
 
     /**
      * Clase interna que representa un individuo (una solución potencial)
-     * El cromosoma está codificado como una lista de enteros, donde cada posición
+     * El cromosoma está codificado como un arreglo de enteros, donde cada posición
      * corresponde a un pedido y el valor indica el índice del camión asignado
-     * (-1 significa que el pedido no está asignado a ningún camión)
+     * (-1 significa que el pedido no está asignado a ningún camión).
+     * Además guarda los componentes de costo de cada camión y cuáles deben recalcularse.
      */
     @Getter
     @Setter
     private class Individuo {
-        private List<Integer> genes;
+        private final int[] genes;
         private double fitness;
+        private final double[] costosCamion;          // ContextoProblema.NUM_COMPONENTES valores por camión
+        private final boolean[] camionesModificados;  // Camiones cuya ruta cambió
+        private boolean hayCamionesModificados;
 
-        public Individuo() {
-            this.genes = new ArrayList<>();
+        public Individuo(int numGenes) {
+            this.genes = new int[numGenes];
             this.fitness = Double.MAX_VALUE;
+            this.costosCamion = new double[camionesDisponibles.size() * ContextoProblema.NUM_COMPONENTES];
+            this.camionesModificados = new boolean[camionesDisponibles.size()];
+            marcarTodosModificados();
         }
 
+        /**
+         * Copia los genes, el fitness y los costos de otro individuo sin reservar memoria
+         *
+         * @param otro Individuo de origen (mismo número de genes)
+         */
+        public void copiarDe(Individuo otro) {
+            System.arraycopy(otro.genes, 0, this.genes, 0, genes.length);
+            System.arraycopy(otro.costosCamion, 0, this.costosCamion, 0, costosCamion.length);
+            System.arraycopy(otro.camionesModificados, 0, this.camionesModificados, 0, camionesModificados.length);
+            this.hayCamionesModificados = otro.hayCamionesModificados;
+            this.fitness = otro.fitness;
+        }
 
         /**
-         * Crea una copia del individuo
+         * Cambia la asignación de un pedido y marca los camiones afectados para recalcular
          *
-         * @return Clon del individuo
+         * @param indicePedido Posición del gen
+         * @param indiceCamion Nuevo camión asignado (-1 = sin asignar)
+         */
+        public void asignarGen(int indicePedido, int indiceCamion) {
+            int anterior = genes[indicePedido];
+            if (anterior == indiceCamion) {
+                return;
+            }
+            genes[indicePedido] = indiceCamion;
+            marcarModificado(anterior);
+            marcarModificado(indiceCamion);
+            fitness = Double.MAX_VALUE;
+        }
+
+        private void marcarModificado(int indiceCamion) {
+            if (indiceCamion >= 0 && indiceCamion < camionesModificados.length) {
+                camionesModificados[indiceCamion] = true;
+                hayCamionesModificados = true;
+            }
+        }
+
+        /**
+         * Invalida todos los costos (usar tras escribir los genes directamente)
          */
-        public Individuo clonar() {
-            Individuo clon = new Individuo();
-            clon.genes = new ArrayList<>(this.genes);
-            clon.fitness = this.fitness;
-            return clon;
+        public void marcarTodosModificados() {
+            Arrays.fill(camionesModificados, true);
+            hayCamionesModificados = true;
+            fitness = Double.MAX_VALUE;
+        }
+
+        public boolean esCamionModificado(int indiceCamion) {
+            return camionesModificados[indiceCamion];
+        }
+
+        public boolean hayCamionesModificados() {
+            return hayCamionesModificados;
+        }
+
+        public void marcarEvaluado() {
+            Arrays.fill(camionesModificados, false);
+            hayCamionesModificados = false;
         }
 
         /**
-         * Decodifica el cromosoma para generar las rutas correspondientes
+         * Decodifica el cromosoma para generar las rutas correspondientes.
+         * Las decodificaciones de evaluación pueden ejecutarse en paralelo, por eso solo la
+         * decodificación definitiva asigna el camión a los pedidos y registra el monitoreo.
          *
+         * @param definitiva true si las rutas forman parte de la solución a retornar
          * @return Lista de rutas generadas
          */
-        public List<Ruta> decodificarSolucion() {
+        public List<Ruta> decodificarSolucion(boolean definitiva) {
             Map<String, Ruta> rutasPorCamion = new HashMap<>();
 
             // Para cada pedido, asignarlo a la ruta del camión correspondiente
-            for (int i = 0; i < genes.size(); i++) {
-                int indiceCamion = genes.get(i);
+            for (int i = 0; i < genes.length; i++) {
+                int indiceCamion = genes[i];
 
                 // Si el pedido no está asignado, continuar
                 if (indiceCamion == -1) {
@@ -532,15 +1598,24 @@ public class AlgoritmoGenetico {
                 }
 
                 // Añadir el pedido a la ruta
-                ruta.agregarPedido(pedido);
+                ruta.agregarPedido(pedido, definitiva);
             }
 
             // Optimizar el orden de cada ruta
             for (Ruta ruta : rutasPorCamion.values()) {
+                if (contexto.isConsideraBloqueos()) {
+                    // Misma secuencia que evaluó el fitness (distancias que rodean bloqueos)
+                    int indiceCamion = contexto.getIndicePorCodigo().get(ruta.getCodigoCamion());
+                    ruta.fijarSecuencia(contexto.secuenciaParadas(indiceCamion, genes, busquedaLocal));
+                    continue;
+                }
                 ruta.optimizarSecuencia();
+                if (busquedaLocal) {
+                    ruta.mejorarSecuencia2Opt();
+                }
             }
 
-            if (monitoreoService != null) {
+            if (definitiva && monitoreoService != null) {
                 for (Ruta ruta : rutasPorCamion.values()) {
                     rutasEnProgreso.put(ruta.getId(), new ArrayList<>(ruta.getSecuenciaNodos()));
                 }
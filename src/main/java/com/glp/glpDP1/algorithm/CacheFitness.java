@@ -0,0 +1,146 @@
+package com.glp.glpDP1.algorithm;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache acotado (LRU) del fitness de cromosomas ya evaluados en una ejecución.
+ * La clave es un hash de 64 bits del cromosoma; se guarda una copia de los genes
+ * para descartar colisiones. Es seguro para la evaluación paralela: las entradas se
+ * reparten en segmentos con su propio candado, y al llenarse un segmento su entrada
+ * menos usada se reutiliza (con su arreglo de genes) para la nueva, sin crear otra copia.
+ */
+public class CacheFitness {
+
+    private static final int SEGMENTOS = 16;
+
+    private final int capacidad;
+    private final Segmento[] segmentos;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * @param capacidad Número máximo de cromosomas guardados; si es 0 o menor el cache queda deshabilitado
+     */
+    public CacheFitness(int capacidad) {
+        this.capacidad = Math.max(capacidad, 0);
+        // Los primeros segmentos reciben el resto de la división: entre todos suman la capacidad exacta
+        this.segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(this.capacidad / SEGMENTOS + (i < this.capacidad % SEGMENTOS ? 1 : 0));
+        }
+    }
+
+    /**
+     * Calcula el hash de 64 bits de un cromosoma
+     */
+    public static long hash(int[] genes) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int gen : genes) {
+            h = (h ^ (gen + 1)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    /**
+     * Busca el fitness de un cromosoma
+     *
+     * @param hash  Hash del cromosoma (ver {@link #hash(int[])})
+     * @param genes Genes del cromosoma
+     * @return El fitness guardado, o NaN si no está en el cache
+     */
+    public double buscar(long hash, int[] genes) {
+        if (capacidad == 0) {
+            return Double.NaN;
+        }
+        // Los genes se comparan bajo el candado: una entrada desalojada se reutiliza
+        Segmento segmento = segmento(hash);
+        synchronized (segmento) {
+            Entrada entrada = segmento.get(hash);
+            if (entrada != null && Arrays.equals(entrada.genes, genes)) {
+                aciertos.increment();
+                return entrada.fitness;
+            }
+        }
+        fallos.increment();
+        return Double.NaN;
+    }
+
+    /**
+     * Guarda el fitness de un cromosoma, reutilizando la entrada menos usada de su segmento
+     * si está lleno
+     */
+    public void guardar(long hash, int[] genes, double fitness) {
+        if (capacidad == 0) {
+            return;
+        }
+        Segmento segmento = segmento(hash);
+        if (segmento.capacidadSegmento == 0) {
+            return;
+        }
+        synchronized (segmento) {
+            Entrada entrada = segmento.get(hash);
+            if (entrada == null) {
+                if (segmento.size() >= segmento.capacidadSegmento) {
+                    Iterator<Entrada> menosUsada = segmento.values().iterator();
+                    entrada = menosUsada.next();
+                    menosUsada.remove();
+                } else {
+                    entrada = new Entrada();
+                }
+                segmento.put(hash, entrada);
+            }
+            entrada.copiar(genes, fitness);
+        }
+    }
+
+    private Segmento segmento(long hash) {
+        return segmentos[(int) (hash >>> 60)];
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * @return Proporción de búsquedas resueltas por el cache (0 si no hubo búsquedas)
+     */
+    public double getTasaAciertos() {
+        long total = getAciertos() + getFallos();
+        return total == 0 ? 0.0 : (double) getAciertos() / total;
+    }
+
+    private static class Segmento extends LinkedHashMap<Long, Entrada> {
+        private final int capacidadSegmento;
+
+        private Segmento(int capacidadSegmento) {
+            super(16, 0.75f, true);
+            this.capacidadSegmento = capacidadSegmento;
+        }
+    }
+
+    private static class Entrada {
+        private int[] genes = new int[0];
+        private double fitness;
+
+        private void copiar(int[] genes, double fitness) {
+            if (this.genes.length != genes.length) {
+                this.genes = new int[genes.length];
+            }
+            System.arraycopy(genes, 0, this.genes, 0, genes.length);
+            this.fitness = fitness;
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Almacen;
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ubicacion;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datos de una ejecución del algoritmo precalculados en arreglos primitivos: camiones y
+ * pedidos por índice, una matriz densa de distancias entre todas las paradas posibles
+ * (pedidos, almacenes y orígenes de los camiones) y las constantes de cada camión.
+ * Las distancias pueden ser Manhattan o caminos reales por la grilla que evitan los
+ * bloqueos activos en la ventana de planificación.
+ * <p>
+ * Reproduce sin crear objetos el cálculo de costos de una ruta que hacen
+ * {@link com.glp.glpDP1.domain.Ruta#optimizarSecuencia()} y el fitness: mismas paradas,
+ * mismo orden por vecino más cercano y mismas fórmulas de consumo, retraso y riesgo.
+ */
+@Getter
+public class ContextoProblema {
+
+    // Componentes de costo guardados por camión (evaluación incremental)
+    public static final int COSTO_CONSUMO = 0;
+    public static final int COSTO_DISTANCIA = 1;
+    public static final int COSTO_RETRASOS = 2;
+    public static final int COSTO_SOBRECARGA = 3;
+    public static final int COSTO_RIESGO = 4;
+    public static final int NUM_COMPONENTES = 5;
+
+    private final List<Camion> camiones;
+    private final List<Pedido> pedidos;
+    private final int numCamiones;
+    private final int numPedidos;
+    private final Map<String, Integer> indicePorCodigo = new HashMap<>();
+
+    // Paradas posibles y distancias entre ellas (matriz densa numNodos x numNodos)
+    private final List<Ubicacion> nodos = new ArrayList<>();
+    private final int numNodos;
+    private final int[] distancias;
+    private final int nodoDestino;
+    private final boolean consideraBloqueos;   // true si alguna distancia rodea bloqueos
+
+    // Datos por pedido
+    private final int[] nodoPedido;
+    private final double[] glpPedido;
+
+    // Constantes por camión
+    private final int[] nodoOrigenCamion;
+    private final double[] capacidadCamion;
+    private final double[] pesoInicialCamion;
+    private final double[] taraCamion;
+    private final double[] factorRiesgoCamion;
+
+    // Retraso estimado (minutos) si el pedido lo atiende el camión: [camion * numPedidos + pedido]
+    private final long[] retrasoMinutos;
+
+    private final NucleoFitness nucleo;       // Sumas del fitness (escalar o con la Vector API)
+
+    private final ThreadLocal<Espacio> espacios;
+
+    /**
+     * @param camiones Camiones disponibles (el índice es el valor de los genes)
+     * @param pedidos  Pedidos ya preprocesados (el índice es la posición del gen)
+     * @param mapa     Mapa con los almacenes
+     * @param momento  Momento de la planificación
+     * @param finVentana Fin de la ventana cuyos bloqueos se evitan, o null para usar distancia Manhattan
+     * @param nucleoVectorial true para usar el núcleo de la Vector API (si la JVM lo tiene disponible)
+     * @param evaluador Evaluador de la ejecución; sus hilos calculan las distancias con bloqueos
+     */
+    public ContextoProblema(List<Camion> camiones, List<Pedido> pedidos, Mapa mapa, LocalDateTime momento,
+                            LocalDateTime finVentana, boolean nucleoVectorial, EvaluadorPoblacion evaluador) {
+        this.nucleo = NucleoFitness.crear(nucleoVectorial, camiones.size());
+        this.camiones = camiones;
+        this.pedidos = pedidos;
+        this.numCamiones = camiones.size();
+        this.numPedidos = pedidos.size();
+
+        Map<Ubicacion, Integer> indicePorUbicacion = new HashMap<>();
+
+        this.nodoPedido = new int[numPedidos];
+        this.glpPedido = new double[numPedidos];
+        for (int p = 0; p < numPedidos; p++) {
+            Pedido pedido = pedidos.get(p);
+            nodoPedido[p] = registrarNodo(pedido.getUbicacion(), indicePorUbicacion);
+            glpPedido[p] = pedido.getCantidadGLP();
+        }
+
+        for (Almacen almacen : mapa.getAlmacenes()) {
+            registrarNodo(almacen.getUbicacion(), indicePorUbicacion);
+        }
+        this.nodoDestino = registrarNodo(mapa.obtenerAlmacenCentral().getUbicacion(), indicePorUbicacion);
+
+        this.nodoOrigenCamion = new int[numCamiones];
+        this.capacidadCamion = new double[numCamiones];
+        this.pesoInicialCamion = new double[numCamiones];
+        this.taraCamion = new double[numCamiones];
+        this.factorRiesgoCamion = new double[numCamiones];
+        for (int c = 0; c < numCamiones; c++) {
+            Camion camion = camiones.get(c);
+            indicePorCodigo.put(camion.getCodigo(), c);
+            nodoOrigenCamion[c] = registrarNodo(camion.getUbicacionActual(), indicePorUbicacion);
+            capacidadCamion[c] = camion.getCapacidadTanqueGLP();
+            pesoInicialCamion[c] = camion.calcularPesoTotal();
+            taraCamion[c] = camion.getPesoTara();
+            factorRiesgoCamion[c] = factorRiesgo(camion);
+        }
+
+        this.numNodos = nodos.size();
+        this.distancias = new int[numNodos * numNodos];
+        this.consideraBloqueos = finVentana != null && calcularDistanciasConBloqueos(mapa, momento, finVentana, evaluador);
+        if (!consideraBloqueos) {
+            int[] x = new int[numNodos];
+            int[] y = new int[numNodos];
+            for (int i = 0; i < numNodos; i++) {
+                x[i] = nodos.get(i).getX();
+                y[i] = nodos.get(i).getY();
+            }
+            nucleo.calcularManhattan(x, y, distancias);
+        }
+
+        // Retraso potencial: viaje directo desde el origen del camión a 50 km/h
+        this.retrasoMinutos = new long[numCamiones * numPedidos];
+        for (int c = 0; c < numCamiones; c++) {
+            for (int p = 0; p < numPedidos; p++) {
+                Pedido pedido = pedidos.get(p);
+                int distanciaAlPedido = distancia(nodoOrigenCamion[c], nodoPedido[p]);
+                double horasViaje = distanciaAlPedido / 50.0; // 50 km/h velocidad promedio
+
+                LocalDateTime entregaEstimada = momento.plusMinutes((long) (horasViaje * 60));
+                if (entregaEstimada.isAfter(pedido.getHoraLimiteEntrega())) {
+                    retrasoMinutos[c * numPedidos + p] =
+                            Duration.between(pedido.getHoraLimiteEntrega(), entregaEstimada).toMinutes();
+                }
+            }
+        }
+
+        this.espacios = ThreadLocal.withInitial(() -> new Espacio(numNodos, numPedidos, numCamiones));
+    }
+
+    /**
+     * Llena la matriz con la distancia por la grilla evitando los bloqueos de la ventana.
+     * Cada fila es un BFS independiente, así que se reparten entre los hilos del evaluador de
+     * la ejecución (no en el pool común, compartido con otras ejecuciones); el mapa guarda
+     * los BFS por versión de bloqueos para que otras ejecuciones los reutilicen.
+     * Los pares sin camino (o fuera del mapa) conservan la distancia Manhattan.
+     *
+     * @return false si no hay bloqueos en la ventana (la matriz queda sin llenar)
+     */
+    private boolean calcularDistanciasConBloqueos(Mapa mapa, LocalDateTime inicio, LocalDateTime fin,
+                                                  EvaluadorPoblacion evaluador) {
+        int[][] campos = new int[numNodos][];
+        evaluador.evaluar(numNodos, i -> campos[i] = mapa.distanciasDesde(nodos.get(i), inicio, fin));
+
+        boolean hayCampos = false;
+        for (int[] campo : campos) {
+            hayCampos |= campo != null;
+        }
+        if (!hayCampos) {
+            return false;
+        }
+
+        int[] celdas = new int[numNodos];
+        for (int j = 0; j < numNodos; j++) {
+            celdas[j] = mapa.esUbicacionValida(nodos.get(j)) ? mapa.indiceCelda(nodos.get(j)) : -1;
+        }
+        for (int i = 0; i < numNodos; i++) {
+            Ubicacion desde = nodos.get(i);
+            for (int j = 0; j < numNodos; j++) {
+                int distancia = campos[i] != null && celdas[j] >= 0 ? campos[i][celdas[j]] : -1;
+                distancias[i * numNodos + j] = distancia >= 0 ? distancia : desde.distanciaA(nodos.get(j));
+            }
+        }
+        return true;
+    }
+
+    private int registrarNodo(Ubicacion ubicacion, Map<Ubicacion, Integer> indicePorUbicacion) {
+        Integer indice = indicePorUbicacion.get(ubicacion);
+        if (indice == null) {
+            indice = nodos.size();
+            nodos.add(ubicacion);
+            indicePorUbicacion.put(ubicacion, indice);
+        }
+        return indice;
+    }
+
+    // Factores de riesgo según tipo de camión: rutas más largas tienen mayor riesgo de averías
+    private static double factorRiesgo(Camion camion) {
+        switch (camion.getTipo()) {
+            case TA:
+                return 0.5; // Menor riesgo
+            case TB:
+                return 0.6;
+            case TC:
+                return 0.7;
+            case TD:
+                return 0.8; // Mayor riesgo
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * Distancia entre dos nodos del contexto
+     */
+    public int distancia(int desde, int hasta) {
+        return distancias[desde * numNodos + hasta];
+    }
+
+    /**
+     * @return Camión con el código indicado, o null si no está en el contexto
+     */
+    public Camion getCamion(String codigo) {
+        Integer indice = indicePorCodigo.get(codigo);
+        return indice != null ? camiones.get(indice) : null;
+    }
+
+    /**
+     * Recalcula los componentes de costo de los camiones modificados de un cromosoma
+     *
+     * @param genes        Camión asignado a cada pedido (-1 = sin asignar)
+     * @param modificados  Camiones a recalcular
+     * @param aplicar2Opt  true para mejorar cada secuencia con 2-opt
+     * @param costos       Arreglo con NUM_COMPONENTES valores por camión
+     */
+    public void calcularCostosCamiones(int[] genes, boolean[] modificados, boolean aplicar2Opt, double[] costos) {
+        Espacio espacio = espacios.get();
+        int[] inicio = espacio.inicioCamion;
+        int[] pedidosPorCamion = espacio.pedidosPorCamion;
+
+        // Agrupar los pedidos de los camiones modificados conservando el orden de los genes
+        Arrays.fill(inicio, 0);
+        for (int gen : genes) {
+            if (gen >= 0 && gen < numCamiones && modificados[gen]) {
+                inicio[gen + 1]++;
+            }
+        }
+        for (int c = 0; c < numCamiones; c++) {
+            inicio[c + 1] += inicio[c];
+        }
+        int[] siguiente = espacio.siguientePosicion;
+        System.arraycopy(inicio, 0, siguiente, 0, numCamiones);
+        for (int p = 0; p < genes.length; p++) {
+            int gen = genes[p];
+            if (gen >= 0 && gen < numCamiones && modificados[gen]) {
+                pedidosPorCamion[siguiente[gen]++] = p;
+            }
+        }
+
+        for (int c = 0; c < numCamiones; c++) {
+            if (!modificados[c]) {
+                continue;
+            }
+            int base = c * NUM_COMPONENTES;
+            if (inicio[c] == inicio[c + 1]) {
+                // El camión se quedó sin pedidos: no aporta costo
+                Arrays.fill(costos, base, base + NUM_COMPONENTES, 0.0);
+            } else {
+                calcularCostosRuta(c, pedidosPorCamion, inicio[c], inicio[c + 1], aplicar2Opt, costos, base, espacio);
+            }
+        }
+    }
+
+    /**
+     * Calcula los componentes de costo de la ruta de un camión
+     *
+     * @param camion      Índice del camión
+     * @param pedidosRuta Índices de pedidos (la ruta usa las posiciones desde..hasta-1)
+     * @param aplicar2Opt true para mejorar la secuencia con 2-opt
+     * @param costos      Arreglo donde se escriben los componentes
+     * @param base        Posición del primer componente del camión en el arreglo
+     */
+    private void calcularCostosRuta(int camion, int[] pedidosRuta, int desde, int hasta, boolean aplicar2Opt,
+                                    double[] costos, int base, Espacio espacio) {
+        int marca = espacio.nuevaMarca();
+        int[] paradas = espacio.paradas;
+        int numParadas = 0;
+        double glpTotal = 0;
+        double retrasos = 0.0;
+
+        // Paradas distintas en el orden en que aparecen los pedidos
+        for (int k = desde; k < hasta; k++) {
+            int pedido = pedidosRuta[k];
+            glpTotal += glpPedido[pedido];
+            retrasos += retrasoMinutos[camion * numPedidos + pedido];
+
+            int nodo = nodoPedido[pedido];
+            if (espacio.marcaNodo[nodo] != marca) {
+                espacio.marcaNodo[nodo] = marca;
+                paradas[numParadas++] = nodo;
+            }
+        }
+
+        double sobrecarga = 0.0;
+        if (glpTotal > capacidadCamion[camion]) {
+            sobrecarga = glpTotal - capacidadCamion[camion];
+        }
+
+        // Con una sola parada la ruta no se secuencia y no suma distancia (igual que Ruta)
+        int distancia = 0;
+        double consumo = 0;
+        if (numParadas > 1) {
+            int origen = nodoOrigenCamion[camion];
+            int[] secuencia = espacio.secuencia;
+            ordenarPorVecinoMasCercano(origen, paradas, numParadas, secuencia, espacio);
+            if (aplicar2Opt) {
+                mejorar2Opt(origen, secuencia, numParadas);
+            }
+
+            // Nodos de la ruta: origen, paradas y regreso al destino
+            double peso = pesoInicialCamion[camion];
+            int anterior = origen;
+            for (int i = 0; i < numParadas; i++) {
+                // Reducir peso después de cada entrega (aproximación, en el orden de asignación)
+                if (i < hasta - desde) {
+                    peso -= glpPedido[pedidosRuta[desde + i]] * 0.5; // 0.5 ton/m3
+                    if (peso < taraCamion[camion]) {
+                        peso = taraCamion[camion];
+                    }
+                }
+                int tramo = distancia(anterior, secuencia[i]);
+                distancia += tramo;
+                consumo += (tramo * peso) / 180.0;
+                anterior = secuencia[i];
+            }
+            int tramoFinal = distancia(anterior, nodoDestino);
+            distancia += tramoFinal;
+            consumo += (tramoFinal * taraCamion[camion]) / 180.0;
+        }
+
+        costos[base + COSTO_CONSUMO] = consumo;
+        costos[base + COSTO_DISTANCIA] = distancia;
+        costos[base + COSTO_RETRASOS] = retrasos;
+        costos[base + COSTO_SOBRECARGA] = sobrecarga;
+        costos[base + COSTO_RIESGO] = (double) distancia * factorRiesgoCamion[camion] / 100; // Normalizado
+    }
+
+    /**
+     * Secuencia de paradas que usa el fitness para la ruta de un camión, para aplicarla
+     * a la {@link com.glp.glpDP1.domain.Ruta} de la solución decodificada
+     *
+     * @param camion      Índice del camión
+     * @param genes       Cromosoma
+     * @param aplicar2Opt true para mejorar la secuencia con 2-opt
+     * @return Paradas en orden de visita (sin el origen)
+     */
+    public List<Ubicacion> secuenciaParadas(int camion, int[] genes, boolean aplicar2Opt) {
+        Espacio espacio = espacios.get();
+        int marca = espacio.nuevaMarca();
+        int[] paradas = espacio.paradas;
+        int numParadas = 0;
+        for (int p = 0; p < genes.length; p++) {
+            int nodo = nodoPedido[p];
+            if (genes[p] == camion && espacio.marcaNodo[nodo] != marca) {
+                espacio.marcaNodo[nodo] = marca;
+                paradas[numParadas++] = nodo;
+            }
+        }
+
+        int[] secuencia = espacio.secuencia;
+        ordenarPorVecinoMasCercano(nodoOrigenCamion[camion], paradas, numParadas, secuencia, espacio);
+        if (aplicar2Opt) {
+            mejorar2Opt(nodoOrigenCamion[camion], secuencia, numParadas);
+        }
+
+        List<Ubicacion> resultado = new ArrayList<>(numParadas);
+        for (int i = 0; i < numParadas; i++) {
+            resultado.add(nodos.get(secuencia[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Vecino más cercano desde el origen; ante empate gana la parada que apareció primero
+     */
+    private void ordenarPorVecinoMasCercano(int origen, int[] paradas, int numParadas, int[] secuencia, Espacio espacio) {
+        boolean[] tomada = espacio.tomada;
+        Arrays.fill(tomada, 0, numParadas, false);
+
+        int actual = origen;
+        for (int k = 0; k < numParadas; k++) {
+            int elegida = -1;
+            int distanciaMinima = Integer.MAX_VALUE;
+            for (int i = 0; i < numParadas; i++) {
+                if (tomada[i]) {
+                    continue;
+                }
+                int d = distancia(actual, paradas[i]);
+                if (d < distanciaMinima) {
+                    distanciaMinima = d;
+                    elegida = i;
+                }
+            }
+            tomada[elegida] = true;
+            secuencia[k] = paradas[elegida];
+            actual = paradas[elegida];
+        }
+    }
+
+    /**
+     * 2-opt sobre la secuencia (mismo recorrido que {@link com.glp.glpDP1.domain.Ruta#mejorarSecuencia2Opt()})
+     */
+    private void mejorar2Opt(int origen, int[] secuencia, int numParadas) {
+        boolean mejora = true;
+        while (mejora) {
+            mejora = false;
+            for (int i = 0; i < numParadas - 1; i++) {
+                int anterior = i == 0 ? origen : secuencia[i - 1];
+                for (int j = i + 1; j < numParadas; j++) {
+                    int siguiente = j == numParadas - 1 ? nodoDestino : secuencia[j + 1];
+
+                    int actual = distancia(anterior, secuencia[i]) + distancia(secuencia[j], siguiente);
+                    int nuevo = distancia(anterior, secuencia[j]) + distancia(secuencia[i], siguiente);
+                    if (nuevo < actual) {
+                        for (int a = i, b = j; a < b; a++, b--) {
+                            int temporal = secuencia[a];
+                            secuencia[a] = secuencia[b];
+                            secuencia[b] = temporal;
+                        }
+                        mejora = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Arreglos de trabajo de un hilo, reservados una sola vez
+     */
+    private static class Espacio {
+        private final int[] marcaNodo;
+        private int marca;
+        private final int[] paradas;
+        private final int[] secuencia;
+        private final boolean[] tomada;
+        private final int[] inicioCamion;
+        private final int[] siguientePosicion;
+        private final int[] pedidosPorCamion;
+
+        private Espacio(int numNodos, int numPedidos, int numCamiones) {
+            this.marcaNodo = new int[numNodos];
+            this.paradas = new int[numPedidos];
+            this.secuencia = new int[numPedidos];
+            this.tomada = new boolean[numPedidos];
+            this.inicioCamion = new int[numCamiones + 1];
+            this.siguientePosicion = new int[numCamiones];
+            this.pedidosPorCamion = new int[numPedidos];
+        }
+
+        private int nuevaMarca() {
+            if (++marca == Integer.MAX_VALUE) {
+                Arrays.fill(marcaNodo, 0);
+                marca = 1;
+            }
+            return marca;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.glp.glpDP1.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Evalúa los individuos de forma concurrente sobre un ForkJoinPool dedicado y acotado,
+ * para no competir con el pool común ni con los hilos de las peticiones
+ */
+public class EvaluadorParalelo implements EvaluadorPoblacion {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param hilos Número de hilos del pool; si es menor o igual a 0 se usan todos los núcleos
+     */
+    public EvaluadorParalelo(int hilos) {
+        int paralelismo = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(paralelismo);
+    }
+
+    @Override
+    public void evaluar(int cantidad, IntConsumer evaluacion) {
+        pool.submit(() -> IntStream.range(0, cantidad).parallel().forEach(evaluacion)).join();
+    }
+
+    @Override
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,31 @@
+package com.glp.glpDP1.algorithm;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Estrategia para evaluar el fitness de los individuos de una población.
+ * Cada evaluación individual es independiente de las demás, por lo que la
+ * implementación puede ejecutarlas en serie o de forma concurrente.
+ */
+public interface EvaluadorPoblacion extends AutoCloseable {
+
+    /**
+     * Ejecuta la evaluación para los índices 0..cantidad-1 y retorna cuando todas terminaron
+     *
+     * @param cantidad   Número de individuos a evaluar
+     * @param evaluacion Evaluación de un individuo a partir de su índice
+     */
+    void evaluar(int cantidad, IntConsumer evaluacion);
+
+    /**
+     * @return Número de hilos que participan en la evaluación
+     */
+    int getParalelismo();
+
+    /**
+     * Libera los recursos del evaluador (hilos, pools)
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.glp.glpDP1.algorithm;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Evalúa los individuos uno a uno en el hilo que ejecuta el algoritmo
+ */
+public class EvaluadorSecuencial implements EvaluadorPoblacion {
+
+    @Override
+    public void evaluar(int cantidad, IntConsumer evaluacion) {
+        for (int i = 0; i < cantidad; i++) {
+            evaluacion.accept(i);
+        }
+    }
+
+    @Override
+    public int getParalelismo() {
+        return 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.glp.glpDP1.algorithm;
+
+import lombok.Getter;
+
+/**
+ * Ajuste realizado por el control adaptativo del algoritmo genético en una isla
+ * (cambio de tasas o reinicio parcial), con el estado de la población en ese momento
+ */
+@Getter
+public class EventoAdaptacion {
+    public enum TipoEvento {
+        MUTACION_ELEVADA,     // La diversidad cayó: se sube la mutación y se baja el cruce
+        TASAS_RESTABLECIDAS,  // La diversidad se recuperó: las tasas vuelven a sus valores base
+        REINICIO_PARCIAL,     // Población estancada: se regeneran los individuos fuera de la élite
+        CONVERGENCIA          // Estancada tras agotar los reinicios: la isla deja de evolucionar
+    }
+
+    private final TipoEvento tipo;
+    private final int isla;
+    private final int generacion;
+    private final double diversidad;
+    private final double tasaMutacion;
+    private final double tasaCruce;
+    private final double mejorFitness;
+
+    public EventoAdaptacion(TipoEvento tipo, int isla, int generacion, double diversidad,
+                            double tasaMutacion, double tasaCruce, double mejorFitness) {
+        this.tipo = tipo;
+        this.isla = isla;
+        this.generacion = generacion;
+        this.diversidad = diversidad;
+        this.tasaMutacion = tasaMutacion;
+        this.tasaCruce = tasaCruce;
+        this.mejorFitness = mejorFitness;
+    }
+
+    @Override
+    public String toString() {
+        return "Isla " + isla + ", gen " + generacion + ": " + tipo +
+                String.format(" (diversidad %.3f, mutación %.3f, cruce %.3f, mejor fitness %.2f)",
+                        diversidad, tasaMutacion, tasaCruce, mejorFitness);
+    }
+}
@@ -0,0 +1,157 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ruta;
+import com.glp.glpDP1.domain.Ubicacion;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construye cromosomas iniciales no aleatorios para el algoritmo genético:
+ * a partir del plan de un día anterior o mediante una asignación voraz por cercanía.
+ * Los cromosomas usan la misma codificación que el algoritmo (índice de camión o -1).
+ */
+public class GeneradorSemillas {
+
+    private final List<Camion> camiones;
+    private final List<Pedido> pedidos;
+
+    public GeneradorSemillas(List<Camion> camiones, List<Pedido> pedidos) {
+        this.camiones = camiones;
+        this.pedidos = pedidos;
+    }
+
+    /**
+     * Traslada la asignación de un plan anterior a los pedidos actuales. Cada pedido va al
+     * camión que atendió al mismo cliente; si no, al que atendió la misma ubicación o, en
+     * su defecto, la ubicación más cercana del plan. Los camiones que ya no están
+     * disponibles se ignoran.
+     *
+     * @param planAnterior Rutas del plan anterior
+     * @return Genes con el camión sugerido para cada pedido, o -1 si no hay referencia
+     */
+    public int[] desdePlanAnterior(List<Ruta> planAnterior) {
+        int[] genes = new int[pedidos.size()];
+        Arrays.fill(genes, -1);
+
+        Map<String, Integer> indicePorCodigo = new HashMap<>();
+        for (int i = 0; i < camiones.size(); i++) {
+            indicePorCodigo.put(camiones.get(i).getCodigo(), i);
+        }
+
+        Map<String, Integer> camionPorCliente = new HashMap<>();
+        Map<Ubicacion, Integer> camionPorUbicacion = new HashMap<>();
+        for (Ruta ruta : planAnterior) {
+            Integer indiceCamion = indicePorCodigo.get(ruta.getCodigoCamion());
+            if (indiceCamion == null) {
+                continue;
+            }
+            for (Pedido pedido : ruta.getPedidosAsignados()) {
+                camionPorCliente.putIfAbsent(clienteBase(pedido.getIdCliente()), indiceCamion);
+                camionPorUbicacion.putIfAbsent(pedido.getUbicacion(), indiceCamion);
+            }
+        }
+        if (camionPorUbicacion.isEmpty()) {
+            return genes;
+        }
+
+        for (int i = 0; i < pedidos.size(); i++) {
+            Pedido pedido = pedidos.get(i);
+            Integer indiceCamion = camionPorCliente.get(clienteBase(pedido.getIdCliente()));
+            if (indiceCamion == null) {
+                indiceCamion = camionPorUbicacion.get(pedido.getUbicacion());
+            }
+            if (indiceCamion == null) {
+                // Ubicación más cercana atendida en el plan anterior
+                int menorDistancia = Integer.MAX_VALUE;
+                for (Map.Entry<Ubicacion, Integer> entrada : camionPorUbicacion.entrySet()) {
+                    int distancia = entrada.getKey().distanciaA(pedido.getUbicacion());
+                    if (distancia < menorDistancia) {
+                        menorDistancia = distancia;
+                        indiceCamion = entrada.getValue();
+                    }
+                }
+            }
+            genes[i] = indiceCamion;
+        }
+        return genes;
+    }
+
+    /**
+     * Asignación voraz: recorre los pedidos y asigna cada uno al camión más cercano a su
+     * última parada que aún tenga capacidad; si ninguno la tiene, al de mayor capacidad restante.
+     *
+     * @param base Genes ya asignados que se respetan (valores distintos de -1), o null
+     * @return Genes de la asignación
+     */
+    public int[] voraz(int[] base) {
+        int[] genes = new int[pedidos.size()];
+        Arrays.fill(genes, -1);
+        if (camiones.isEmpty()) {
+            return genes;
+        }
+
+        double[] capacidadRestante = new double[camiones.size()];
+        Ubicacion[] ultimaParada = new Ubicacion[camiones.size()];
+        for (int c = 0; c < camiones.size(); c++) {
+            capacidadRestante[c] = camiones.get(c).getCapacidadTanqueGLP();
+            ultimaParada[c] = camiones.get(c).getUbicacionActual();
+        }
+
+        // Los genes de la base ocupan capacidad antes de repartir el resto
+        if (base != null) {
+            for (int i = 0; i < genes.length; i++) {
+                if (base[i] >= 0 && base[i] < camiones.size()) {
+                    genes[i] = base[i];
+                    capacidadRestante[base[i]] -= pedidos.get(i).getCantidadGLP();
+                    ultimaParada[base[i]] = pedidos.get(i).getUbicacion();
+                }
+            }
+        }
+
+        for (int i = 0; i < genes.length; i++) {
+            if (genes[i] != -1) {
+                continue;
+            }
+            Pedido pedido = pedidos.get(i);
+            int elegido = -1;
+            int menorDistancia = Integer.MAX_VALUE;
+            int mayorCapacidad = 0;
+            for (int c = 0; c < camiones.size(); c++) {
+                if (capacidadRestante[c] >= pedido.getCantidadGLP()) {
+                    int distancia = ultimaParada[c].distanciaA(pedido.getUbicacion());
+                    if (distancia < menorDistancia) {
+                        menorDistancia = distancia;
+                        elegido = c;
+                    }
+                }
+                if (capacidadRestante[c] > capacidadRestante[mayorCapacidad]) {
+                    mayorCapacidad = c;
+                }
+            }
+            if (elegido == -1) {
+                elegido = mayorCapacidad;
+            }
+
+            genes[i] = elegido;
+            capacidadRestante[elegido] -= pedido.getCantidadGLP();
+            ultimaParada[elegido] = pedido.getUbicacion();
+        }
+        return genes;
+    }
+
+    /**
+     * Quita el sufijo "_parteN" que se agrega al dividir pedidos grandes
+     */
+    private static String clienteBase(String idCliente) {
+        if (idCliente == null) {
+            return "";
+        }
+        int parte = idCliente.indexOf("_parte");
+        return parte >= 0 ? idCliente.substring(0, parte) : idCliente;
+    }
+}
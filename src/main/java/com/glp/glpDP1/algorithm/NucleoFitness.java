@@ -0,0 +1,73 @@
+package com.glp.glpDP1.algorithm;
+
+/**
+ * Núcleo numérico del fitness: las sumas sobre arreglos primitivos que no dependen de la
+ * secuencia de las rutas (componentes de costo por camión, pedidos sin asignar) y la matriz
+ * de distancias Manhattan del {@link ContextoProblema}.
+ * <p>
+ * Hay una implementación escalar y otra con la Vector API del JDK (módulo incubador
+ * {@code jdk.incubator.vector}). La vectorial solo se usa si se pide y la JVM se inició con
+ * {@code --add-modules jdk.incubator.vector}; si no, se usa la escalar. Las dos dan el mismo
+ * fitness salvo redondeo en los últimos decimales, porque suman en distinto orden.
+ * <p>
+ * La implementación vectorial se compila aparte (source set {@code vectorial}), así que
+ * se instancia por reflexión.
+ */
+public interface NucleoFitness {
+
+    // Ponderación del fitness por componente (índices ContextoProblema.COSTO_*) y por pedido sin asignar
+    double PESO_CONSUMO = 0.10;
+    double PESO_DISTANCIA = 0.05;
+    double PESO_RETRASOS = 0.15;
+    double PESO_SOBRECARGA = 0.05 * 1000;   // Penalización fuerte por sobrecarga
+    double PESO_RIESGO = 0.05;
+    double PESO_NO_ASIGNADO = 0.60 * 1000;  // Penalización fuerte por pedidos no asignados
+
+    // Km equivalentes por minuto de retraso y por m3 de exceso, en la proporción del fitness
+    // (heurísticas que comparan inserciones por distancia)
+    double PENALIZACION_RETRASO = PESO_RETRASOS / PESO_DISTANCIA;
+    double PENALIZACION_SOBRECARGA = PESO_SOBRECARGA / PESO_DISTANCIA;
+
+    /**
+     * @param genes        Camión asignado a cada pedido (-1 = sin asignar)
+     * @param costosCamion Componentes de costo de cada camión (ContextoProblema.NUM_COMPONENTES por camión)
+     * @return Fitness ponderado del cromosoma
+     */
+    double evaluar(int[] genes, double[] costosCamion);
+
+    /**
+     * @return Número de genes con valor -1
+     */
+    int contarNoAsignados(int[] genes);
+
+    /**
+     * Llena la matriz densa (n x n, por filas) con la distancia Manhattan entre los puntos
+     */
+    void calcularManhattan(int[] x, int[] y, int[] distancias);
+
+    boolean isVectorial();
+
+    /**
+     * @param vectorial   true para usar la Vector API si el módulo está disponible
+     * @param numCamiones Camiones del contexto (largo de los costos = numCamiones * NUM_COMPONENTES)
+     */
+    static NucleoFitness crear(boolean vectorial, int numCamiones) {
+        if (vectorial && vectorialDisponible()) {
+            try {
+                return (NucleoFitness) Class.forName("com.glp.glpDP1.algorithm.NucleoFitnessVectorial")
+                        .getDeclaredConstructor(int.class)
+                        .newInstance(numCamiones);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Sin el núcleo vectorial en el classpath se usa el escalar
+            }
+        }
+        return new NucleoFitnessEscalar();
+    }
+
+    /**
+     * @return true si la JVM tiene cargado el módulo de la Vector API
+     */
+    static boolean vectorialDisponible() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,61 @@
+package com.glp.glpDP1.algorithm;
+
+/**
+ * Núcleo del fitness con ciclos escalares (implementación por defecto)
+ */
+class NucleoFitnessEscalar implements NucleoFitness {
+
+    @Override
+    public double evaluar(int[] genes, double[] costosCamion) {
+        double consumoTotal = 0.0;      // Consumo total de combustible
+        double distanciaTotal = 0.0;    // Distancia total recorrida
+        double retrasosTotal = 0.0;     // Suma de retrasos (en minutos)
+        double sobrecargaTotal = 0.0;   // Suma de sobrecargas de GLP en camiones
+        double riesgoAverias = 0.0;     // Riesgo de averías basado en la distancia
+
+        // Acumular los componentes de cada camión
+        for (int base = 0; base < costosCamion.length; base += ContextoProblema.NUM_COMPONENTES) {
+            consumoTotal += costosCamion[base + ContextoProblema.COSTO_CONSUMO];
+            distanciaTotal += costosCamion[base + ContextoProblema.COSTO_DISTANCIA];
+            retrasosTotal += costosCamion[base + ContextoProblema.COSTO_RETRASOS];
+            sobrecargaTotal += costosCamion[base + ContextoProblema.COSTO_SOBRECARGA];
+            riesgoAverias += costosCamion[base + ContextoProblema.COSTO_RIESGO];
+        }
+        double pedidosNoAsignados = contarNoAsignados(genes);
+
+        // Calcular fitness final (ponderado)
+        return PESO_CONSUMO * consumoTotal +
+                PESO_DISTANCIA * distanciaTotal +
+                PESO_RETRASOS * retrasosTotal +
+                PESO_NO_ASIGNADO * pedidosNoAsignados +
+                PESO_SOBRECARGA * sobrecargaTotal +
+                PESO_RIESGO * riesgoAverias;
+    }
+
+    @Override
+    public int contarNoAsignados(int[] genes) {
+        int conteo = 0;
+        for (int gen : genes) {
+            if (gen == -1) {
+                conteo++;
+            }
+        }
+        return conteo;
+    }
+
+    @Override
+    public void calcularManhattan(int[] x, int[] y, int[] distancias) {
+        int n = x.length;
+        for (int i = 0; i < n; i++) {
+            int fila = i * n;
+            for (int j = 0; j < n; j++) {
+                distancias[fila + j] = Math.abs(x[i] - x[j]) + Math.abs(y[i] - y[j]);
+            }
+        }
+    }
+
+    @Override
+    public boolean isVectorial() {
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.glp.glpDP1.algorithm;
+
+/**
+ * Recibe el avance del algoritmo genético mientras se ejecuta.
+ * Se invoca desde el hilo que ejecuta el algoritmo, por lo que debe ser rápido.
+ */
+@FunctionalInterface
+public interface ObservadorProgreso {
+
+    /**
+     * @param generacion           Generaciones completadas hasta el momento
+     * @param mejorFitness         Fitness de la mejor solución encontrada
+     * @param progreso             Avance estimado, de 0 a 100 (por generaciones o por tiempo límite)
+     * @param tiempoTranscurridoMs Tiempo desde el inicio de la optimización
+     */
+    void actualizar(int generacion, double mejorFitness, double progreso, long tiempoTranscurridoMs);
+}
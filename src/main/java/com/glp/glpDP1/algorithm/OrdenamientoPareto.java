@@ -0,0 +1,183 @@
+package com.glp.glpDP1.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Ordenamiento no dominado rápido y distancia de hacinamiento de NSGA-II sobre arreglos
+ * primitivos (todos los objetivos se minimizan).
+ * <p>
+ * Reutiliza sus buffers entre llamadas; no es seguro para uso concurrente. Las relaciones de
+ * dominancia se guardan en arreglos planos que crecen según las que realmente aparecen, no en
+ * una matriz de capacidad × capacidad.
+ */
+class OrdenamientoPareto {
+
+    private final int[] dominadoPor;      // Cuántas soluciones dominan a cada una
+    private final int[] inicioDomina;     // Dominadas por p: dominadas[inicioDomina[p]..inicioDomina[p + 1])
+    private final int[] cursor;
+    private int[] dominante = new int[0]; // Pares (dominante, dominada) en el orden en que se encuentran
+    private int[] dominada = new int[0];
+    private int[] dominadas = new int[0]; // Los mismos pares agrupados por dominante
+    private final int[] frentes;          // Índices agrupados por frente
+    private final int[] inicioFrente;     // Inicio de cada frente en 'frentes' (numFrentes + 1 valores)
+    private int numFrentes;
+
+    OrdenamientoPareto(int capacidad) {
+        this.dominadoPor = new int[capacidad];
+        this.inicioDomina = new int[capacidad + 1];
+        this.cursor = new int[capacidad];
+        this.frentes = new int[capacidad];
+        this.inicioFrente = new int[capacidad + 1];
+    }
+
+    /**
+     * Asigna a cada solución su frente (0 = no dominadas) y su distancia de hacinamiento
+     * dentro del frente (infinita en los extremos de cada objetivo)
+     *
+     * @param objetivos Valores de los objetivos de cada solución
+     * @param cantidad  Soluciones a ordenar (posiciones 0..cantidad-1)
+     * @param rango     Salida: frente de cada solución
+     * @param crowding  Salida: distancia de hacinamiento de cada solución
+     */
+    void ordenar(double[][] objetivos, int cantidad, int[] rango, double[] crowding) {
+        Arrays.fill(dominadoPor, 0, cantidad, 0);
+        int numPares = 0;
+        for (int p = 0; p < cantidad; p++) {
+            for (int q = p + 1; q < cantidad; q++) {
+                int dominancia = comparar(objetivos[p], objetivos[q]);
+                if (dominancia != 0) {
+                    if (numPares == dominante.length) {
+                        int nuevaLongitud = Math.max(2 * numPares, cantidad);
+                        dominante = Arrays.copyOf(dominante, nuevaLongitud);
+                        dominada = Arrays.copyOf(dominada, nuevaLongitud);
+                    }
+                    int ganador = dominancia > 0 ? p : q;
+                    int perdedor = dominancia > 0 ? q : p;
+                    dominante[numPares] = ganador;
+                    dominada[numPares] = perdedor;
+                    numPares++;
+                    dominadoPor[perdedor]++;
+                }
+            }
+        }
+        agruparPorDominante(cantidad, numPares);
+
+        // Frentes sucesivos: al retirar un frente, sus dominados pierden un dominador
+        int ocupados = 0;
+        for (int p = 0; p < cantidad; p++) {
+            if (dominadoPor[p] == 0) {
+                frentes[ocupados++] = p;
+                rango[p] = 0;
+            }
+        }
+        numFrentes = 0;
+        inicioFrente[0] = 0;
+        int desde = 0;
+        while (desde < ocupados) {
+            int hasta = ocupados;
+            for (int k = desde; k < hasta; k++) {
+                int p = frentes[k];
+                for (int d = inicioDomina[p]; d < inicioDomina[p + 1]; d++) {
+                    int q = dominadas[d];
+                    if (--dominadoPor[q] == 0) {
+                        rango[q] = numFrentes + 1;
+                        frentes[ocupados++] = q;
+                    }
+                }
+            }
+            asignarCrowding(objetivos, desde, hasta, crowding);
+            numFrentes++;
+            inicioFrente[numFrentes] = hasta;
+            desde = hasta;
+        }
+    }
+
+    // Ordenamiento por conteo de los pares según su dominante
+    private void agruparPorDominante(int cantidad, int numPares) {
+        Arrays.fill(inicioDomina, 0, cantidad + 1, 0);
+        for (int k = 0; k < numPares; k++) {
+            inicioDomina[dominante[k] + 1]++;
+        }
+        for (int p = 0; p < cantidad; p++) {
+            inicioDomina[p + 1] += inicioDomina[p];
+        }
+        if (dominadas.length < numPares) {
+            dominadas = new int[dominante.length];
+        }
+        System.arraycopy(inicioDomina, 0, cursor, 0, cantidad);
+        for (int k = 0; k < numPares; k++) {
+            dominadas[cursor[dominante[k]]++] = dominada[k];
+        }
+    }
+
+    /**
+     * @return Número de frentes del último ordenamiento
+     */
+    int getNumFrentes() {
+        return numFrentes;
+    }
+
+    /**
+     * @return Índices de las soluciones del frente indicado
+     */
+    int[] getFrente(int frente) {
+        return Arrays.copyOfRange(frentes, inicioFrente[frente], inicioFrente[frente + 1]);
+    }
+
+    /**
+     * @return 1 si a domina a b, -1 si b domina a a, 0 si ninguna domina
+     */
+    static int comparar(double[] a, double[] b) {
+        boolean aMejor = false;
+        boolean bMejor = false;
+        for (int m = 0; m < a.length; m++) {
+            if (a[m] < b[m]) {
+                aMejor = true;
+            } else if (b[m] < a[m]) {
+                bMejor = true;
+            }
+        }
+        if (aMejor == bMejor) {
+            return 0;
+        }
+        return aMejor ? 1 : -1;
+    }
+
+    private void asignarCrowding(double[][] objetivos, int desde, int hasta, double[] crowding) {
+        for (int k = desde; k < hasta; k++) {
+            crowding[frentes[k]] = 0.0;
+        }
+        if (hasta - desde <= 2) {
+            for (int k = desde; k < hasta; k++) {
+                crowding[frentes[k]] = Double.POSITIVE_INFINITY;
+            }
+            return;
+        }
+
+        int numObjetivos = objetivos[frentes[desde]].length;
+        for (int m = 0; m < numObjetivos; m++) {
+            // Ordenar el frente por el objetivo (inserción: los frentes son pequeños)
+            for (int k = desde + 1; k < hasta; k++) {
+                int actual = frentes[k];
+                double valor = objetivos[actual][m];
+                int j = k - 1;
+                while (j >= desde && objetivos[frentes[j]][m] > valor) {
+                    frentes[j + 1] = frentes[j];
+                    j--;
+                }
+                frentes[j + 1] = actual;
+            }
+
+            double minimo = objetivos[frentes[desde]][m];
+            double maximo = objetivos[frentes[hasta - 1]][m];
+            crowding[frentes[desde]] = Double.POSITIVE_INFINITY;
+            crowding[frentes[hasta - 1]] = Double.POSITIVE_INFINITY;
+            if (maximo == minimo) {
+                continue;
+            }
+            for (int k = desde + 1; k < hasta - 1; k++) {
+                crowding[frentes[k]] += (objetivos[frentes[k + 1]][m] - objetivos[frentes[k - 1]][m]) / (maximo - minimo);
+            }
+        }
+    }
+}
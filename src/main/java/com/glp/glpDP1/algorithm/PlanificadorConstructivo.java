@@ -0,0 +1,257 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ubicacion;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Heurística constructiva de inserción con arrepentimiento (regret-2). En cada paso inserta,
+ * en la posición más barata de su mejor camión, el pedido que más perdería si no se le da
+ * ese camión (diferencia entre su mejor y su segunda mejor inserción). Se construye en fases:
+ * <ol>
+ *     <li>Sin exceder la capacidad de GLP del camión y con toda la ruta a tiempo.</li>
+ *     <li>Sin exceder la capacidad, penalizando el retraso adicional.</li>
+ *     <li>Los pedidos restantes exceden la carga de un viaje: se asignan penalizando el exceso,
+ *     que la ruta cubre con recargas en almacén ({@link com.glp.glpDP1.domain.Ruta#insertarRecargas}).</li>
+ * </ol>
+ * <p>
+ * Usa las distancias del {@link ContextoProblema}; el resultado tiene la codificación del
+ * algoritmo genético (índice de camión o -1) y la secuencia de visita de cada camión.
+ */
+public class PlanificadorConstructivo {
+
+    private static final double VELOCIDAD_KM_POR_MINUTO = 50.0 / 60.0; // 50 km/h
+    private static final double RUIDO = 0.3;                          // Variación de costos en las semillas
+
+    private static final int FASE_A_TIEMPO = 0;
+    private static final int FASE_CON_RETRASO = 1;
+    private static final int FASE_CON_RECARGA = 2;
+
+    private final ContextoProblema contexto;
+    private final int numPedidos;
+    private final int numCamiones;
+    private final long[] limiteMinutos;     // Minutos desde el momento de planificación hasta la hora límite
+
+    // Estado de la construcción
+    private final int[][] secuencias;       // Pedidos de cada camión en orden de visita
+    private final int[] longitud;
+    private final double[] carga;
+    private final double[][] llegada;       // Minuto de llegada a cada posición de la secuencia
+    private final double[][] holgura;       // Mínimo (límite - llegada) desde cada posición hasta el final
+    private final double[] costoInsercion;  // Mejor inserción de cada pedido en cada camión [p * numCamiones + c]
+    private final int[] posicionInsercion;
+    private final int[] genes;
+
+    public PlanificadorConstructivo(ContextoProblema contexto, LocalDateTime momento) {
+        this.contexto = contexto;
+        this.numPedidos = contexto.getNumPedidos();
+        this.numCamiones = contexto.getNumCamiones();
+
+        this.limiteMinutos = new long[numPedidos];
+        for (int p = 0; p < numPedidos; p++) {
+            Pedido pedido = contexto.getPedidos().get(p);
+            limiteMinutos[p] = Duration.between(momento, pedido.getHoraLimiteEntrega()).toMinutes();
+        }
+
+        this.secuencias = new int[numCamiones][numPedidos];
+        this.longitud = new int[numCamiones];
+        this.carga = new double[numCamiones];
+        this.llegada = new double[numCamiones][numPedidos];
+        this.holgura = new double[numCamiones][numPedidos + 1];
+        this.costoInsercion = new double[numPedidos * numCamiones];
+        this.posicionInsercion = new int[numPedidos * numCamiones];
+        this.genes = new int[numPedidos];
+    }
+
+    /**
+     * Construye un plan completo
+     *
+     * @param aleatorio Si no es null, los costos de inserción se perturban para obtener
+     *                  planes distintos (semillas); con null el resultado es determinista
+     * @return Genes del plan: camión de cada pedido o -1 si no se pudo asignar
+     */
+    public int[] planificar(SplittableRandom aleatorio) {
+        Arrays.fill(genes, -1);
+        Arrays.fill(longitud, 0);
+        Arrays.fill(carga, 0.0);
+        for (int c = 0; c < numCamiones; c++) {
+            holgura[c][0] = Double.POSITIVE_INFINITY;
+        }
+
+        construir(FASE_A_TIEMPO, aleatorio);
+        construir(FASE_CON_RETRASO, aleatorio);
+        construir(FASE_CON_RECARGA, aleatorio);
+        return genes.clone();
+    }
+
+    /**
+     * @return Pedidos asignados al camión en el orden de visita del último plan
+     */
+    public int[] getSecuencia(int camion) {
+        return Arrays.copyOf(secuencias[camion], longitud[camion]);
+    }
+
+    /**
+     * @return Ubicaciones de los pedidos del camión en el orden de visita del último plan
+     */
+    public List<Ubicacion> getParadas(int camion) {
+        List<Ubicacion> paradas = new ArrayList<>(longitud[camion]);
+        for (int k = 0; k < longitud[camion]; k++) {
+            paradas.add(contexto.getPedidos().get(secuencias[camion][k]).getUbicacion());
+        }
+        return paradas;
+    }
+
+    private void construir(int fase, SplittableRandom aleatorio) {
+        for (int p = 0; p < numPedidos; p++) {
+            if (genes[p] == -1) {
+                for (int c = 0; c < numCamiones; c++) {
+                    evaluarInsercion(p, c, fase, aleatorio);
+                }
+            }
+        }
+
+        while (true) {
+            // Elegir el pedido con mayor arrepentimiento; con un solo camión posible es el
+            // más restringido. Empates: el de hora límite más próxima
+            int elegido = -1;
+            double mayorArrepentimiento = -1.0;
+            for (int p = 0; p < numPedidos; p++) {
+                if (genes[p] != -1) {
+                    continue;
+                }
+                double mejor = Double.POSITIVE_INFINITY;
+                double segundo = Double.POSITIVE_INFINITY;
+                int base = p * numCamiones;
+                for (int c = 0; c < numCamiones; c++) {
+                    double costo = costoInsercion[base + c];
+                    if (costo < mejor) {
+                        segundo = mejor;
+                        mejor = costo;
+                    } else if (costo < segundo) {
+                        segundo = costo;
+                    }
+                }
+                if (mejor == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                double arrepentimiento = segundo == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : segundo - mejor;
+                if (arrepentimiento > mayorArrepentimiento ||
+                        (arrepentimiento == mayorArrepentimiento && limiteMinutos[p] < limiteMinutos[elegido])) {
+                    mayorArrepentimiento = arrepentimiento;
+                    elegido = p;
+                }
+            }
+            if (elegido == -1) {
+                return;
+            }
+
+            int base = elegido * numCamiones;
+            int camion = 0;
+            for (int c = 1; c < numCamiones; c++) {
+                if (costoInsercion[base + c] < costoInsercion[base + camion]) {
+                    camion = c;
+                }
+            }
+            insertar(elegido, camion, posicionInsercion[base + camion]);
+
+            // Solo cambian las inserciones en el camión modificado
+            for (int p = 0; p < numPedidos; p++) {
+                if (genes[p] == -1) {
+                    evaluarInsercion(p, camion, fase, aleatorio);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula la inserción más barata del pedido en la ruta del camión: distancia adicional
+     * (incluido el regreso al destino) más, según la fase, el retraso y el exceso de carga adicionales
+     */
+    private void evaluarInsercion(int p, int c, int fase, SplittableRandom aleatorio) {
+        int indice = p * numCamiones + c;
+        costoInsercion[indice] = Double.POSITIVE_INFINITY;
+        double capacidad = contexto.getCapacidadCamion()[c];
+        double excesoAdicional = Math.max(0.0, carga[c] + contexto.getGlpPedido()[p] - capacidad)
+                - Math.max(0.0, carga[c] - capacidad);
+        if (excesoAdicional > 0 && fase != FASE_CON_RECARGA) {
+            return;
+        }
+
+        int[] secuencia = secuencias[c];
+        int largo = longitud[c];
+        int nodo = contexto.getNodoPedido()[p];
+        int destino = contexto.getNodoDestino();
+
+        double mejorCosto = Double.POSITIVE_INFINITY;
+        int mejorPosicion = -1;
+        for (int k = 0; k <= largo; k++) {
+            int anterior = k == 0 ? contexto.getNodoOrigenCamion()[c] : contexto.getNodoPedido()[secuencia[k - 1]];
+            int siguiente = k == largo ? destino : contexto.getNodoPedido()[secuencia[k]];
+            double llegadaAnterior = k == 0 ? 0.0 : llegada[c][k - 1];
+
+            double llegadaPedido = llegadaAnterior + contexto.distancia(anterior, nodo) / VELOCIDAD_KM_POR_MINUTO;
+            int distanciaAdicional = contexto.distancia(anterior, nodo) + contexto.distancia(nodo, siguiente)
+                    - contexto.distancia(anterior, siguiente);
+            // El regreso al destino no retrasa entregas
+            double desplazamiento = k == largo ? 0.0 : distanciaAdicional / VELOCIDAD_KM_POR_MINUTO;
+
+            double costo = distanciaAdicional + NucleoFitness.PENALIZACION_SOBRECARGA * excesoAdicional;
+            if (fase == FASE_A_TIEMPO) {
+                if (llegadaPedido > limiteMinutos[p] || desplazamiento > holgura[c][k]) {
+                    continue;
+                }
+            } else {
+                double retraso = Math.max(0.0, llegadaPedido - limiteMinutos[p]);
+                for (int j = k; j < largo && desplazamiento > 0; j++) {
+                    double limite = limiteMinutos[secuencia[j]];
+                    retraso += Math.max(0.0, llegada[c][j] + desplazamiento - limite)
+                            - Math.max(0.0, llegada[c][j] - limite);
+                }
+                costo += NucleoFitness.PENALIZACION_RETRASO * retraso;
+            }
+            if (costo < mejorCosto) {
+                mejorCosto = costo;
+                mejorPosicion = k;
+            }
+        }
+
+        if (mejorPosicion >= 0) {
+            if (aleatorio != null) {
+                mejorCosto *= 1.0 + RUIDO * aleatorio.nextDouble();
+            }
+            costoInsercion[indice] = mejorCosto;
+            posicionInsercion[indice] = mejorPosicion;
+        }
+    }
+
+    private void insertar(int p, int c, int posicion) {
+        int[] secuencia = secuencias[c];
+        System.arraycopy(secuencia, posicion, secuencia, posicion + 1, longitud[c] - posicion);
+        secuencia[posicion] = p;
+        longitud[c]++;
+        carga[c] += contexto.getGlpPedido()[p];
+        genes[p] = c;
+
+        // Recalcular llegadas y holguras de la ruta
+        int largo = longitud[c];
+        int anterior = contexto.getNodoOrigenCamion()[c];
+        double minuto = 0.0;
+        for (int k = 0; k < largo; k++) {
+            int nodo = contexto.getNodoPedido()[secuencia[k]];
+            minuto += contexto.distancia(anterior, nodo) / VELOCIDAD_KM_POR_MINUTO;
+            llegada[c][k] = minuto;
+            anterior = nodo;
+        }
+        holgura[c][largo] = Double.POSITIVE_INFINITY;
+        for (int k = largo - 1; k >= 0; k--) {
+            holgura[c][k] = Math.min(holgura[c][k + 1], limiteMinutos[secuencia[k]] - llegada[c][k]);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Pedido;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Preparación de los pedidos para el algoritmo: los ordena por tiempo límite y cantidad y
+ * divide los que no caben en el camión más grande. La escalera de capacidades (capacidades
+ * distintas de los camiones, ascendentes) se calcula una sola vez al crear el preprocesador,
+ * por lo que puede reutilizarse mientras no cambie la flota.
+ * <p>
+ * La lista recibida no se modifica; el resultado es una {@link TablaPedidos} inmutable.
+ */
+public class PreprocesadorPedidos {
+
+    private static final double CAPACIDAD_POR_DEFECTO = 25.0;
+    private static final double TOLERANCIA = 1e-9;
+
+    private static final Comparator<Pedido> ORDEN = Comparator
+            .<Pedido>comparingInt(p -> (int) p.getTiempoLimiteEntrega().toHours())
+            .thenComparingDouble(Pedido::getCantidadGLP);
+
+    private final double[] capacidades;     // Escalera de capacidades, ascendente y sin repetidos
+    private final double capacidadMaxima;
+    private final int firmaFlota;           // Tipos de camión de la flota (ver firma)
+
+    public PreprocesadorPedidos(List<Camion> camiones) {
+        this.capacidades = escalera(camiones);
+        this.capacidadMaxima = capacidades[capacidades.length - 1];
+        this.firmaFlota = firma(camiones);
+    }
+
+    /**
+     * @return true si la flota tiene los mismos tipos de camión, y por lo tanto las mismas
+     * capacidades, que la usada para crear el preprocesador
+     */
+    public boolean mismaEscalera(List<Camion> camiones) {
+        return firma(camiones) == firmaFlota;
+    }
+
+    // La capacidad de un camión la fija su tipo: la escalera solo depende de los tipos presentes,
+    // un bit por tipo
+    private static int firma(List<Camion> camiones) {
+        int firma = 0;
+        for (Camion camion : camiones) {
+            firma |= 1 << camion.getTipo().ordinal();
+        }
+        return firma;
+    }
+
+    private static double[] escalera(List<Camion> camiones) {
+        double[] escalera = camiones.stream()
+                .mapToDouble(Camion::getCapacidadTanqueGLP)
+                .distinct()
+                .sorted()
+                .toArray();
+        return escalera.length > 0 ? escalera : new double[]{CAPACIDAD_POR_DEFECTO};
+    }
+
+    /**
+     * Ordena y divide los pedidos
+     *
+     * @param pedidos Pedidos originales (no se modifican)
+     * @return Tabla de pedidos listos para el algoritmo
+     */
+    public TablaPedidos procesar(List<Pedido> pedidos) {
+        Integer[] orden = new Integer[pedidos.size()];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> ORDEN.compare(pedidos.get(a), pedidos.get(b)));
+
+        List<Pedido> procesados = new ArrayList<>(pedidos.size());
+        int[] origen = new int[Math.max(8, pedidos.size())];
+        int divididos = 0;
+        for (int indice : orden) {
+            Pedido pedido = pedidos.get(indice);
+            if (pedido.getCantidadGLP() <= capacidadMaxima) {
+                origen = agregar(origen, procesados.size(), indice);
+                procesados.add(pedido);
+                continue;
+            }
+
+            divididos++;
+            double cantidadRestante = pedido.getCantidadGLP();
+            double[] partes = capacidadesPartes(cantidadRestante);
+            int contador = 1;
+            // Las partes mayores primero; la última recibe el resto
+            for (int k = partes.length - 1; k >= 0 && cantidadRestante > TOLERANCIA; k--) {
+                double cantidadParte = Math.min(cantidadRestante, partes[k]);
+                cantidadRestante -= cantidadParte;
+
+                Pedido pedidoParte = new Pedido(pedido.getIdCliente() + "_parte" + contador++, pedido.getUbicacion(),
+                        cantidadParte, pedido.getHoraRecepcion(), (int) pedido.getTiempoLimiteEntrega().toHours());
+                origen = agregar(origen, procesados.size(), indice);
+                procesados.add(pedidoParte);
+            }
+        }
+        return new TablaPedidos(procesados, Arrays.copyOf(origen, procesados.size()), divididos);
+    }
+
+    /**
+     * Capacidades de las partes de un pedido que excede al camión más grande. Usa el mínimo
+     * número de partes posible y, partiendo de todas con la capacidad máxima, baja cada una al
+     * menor escalón que siga cubriendo la cantidad, para que las partes quepan también en
+     * camiones más pequeños. Resultado en orden ascendente.
+     */
+    private double[] capacidadesPartes(double cantidad) {
+        int numPartes = (int) Math.ceil(cantidad / capacidadMaxima - TOLERANCIA);
+        double[] partes = new double[numPartes];
+        Arrays.fill(partes, capacidadMaxima);
+        double total = capacidadMaxima * numPartes;
+
+        for (int k = numPartes - 1; k >= 0; k--) {
+            for (double escalon : capacidades) {
+                if (escalon >= partes[k]) {
+                    break;
+                }
+                if (total - partes[k] + escalon >= cantidad - TOLERANCIA) {
+                    total += escalon - partes[k];
+                    partes[k] = escalon;
+                    break;
+                }
+            }
+        }
+        Arrays.sort(partes);
+        return partes;
+    }
+
+    private static int[] agregar(int[] origen, int posicion, int valor) {
+        if (posicion == origen.length) {
+            origen = Arrays.copyOf(origen, origen.length * 2);
+        }
+        origen[posicion] = valor;
+        return origen;
+    }
+
+    /**
+     * Pedidos preprocesados direccionados por índice (el índice es el gen del cromosoma).
+     * No puede modificarse una vez creada.
+     */
+    @Getter
+    public static class TablaPedidos {
+        private final List<Pedido> pedidos;
+        private final int numDivididos;       // Pedidos originales que se dividieron en partes
+        private final int[] origen;           // Índice en la lista original de cada pedido de la tabla
+
+        private TablaPedidos(List<Pedido> pedidos, int[] origen, int numDivididos) {
+            this.pedidos = Collections.unmodifiableList(pedidos);
+            this.origen = origen;
+            this.numDivididos = numDivididos;
+        }
+
+        public Pedido get(int indice) {
+            return pedidos.get(indice);
+        }
+
+        public int size() {
+            return pedidos.size();
+        }
+
+        /**
+         * @return Índice en la lista original del pedido (o del pedido del que es parte)
+         */
+        public int getOrigen(int indice) {
+            return origen[indice];
+        }
+
+        public int[] getOrigen() {
+            return origen.clone();
+        }
+    }
+}
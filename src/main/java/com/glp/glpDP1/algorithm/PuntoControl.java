@@ -0,0 +1,165 @@
+package com.glp.glpDP1.algorithm;
+
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Estado de una ejecución del algoritmo genético guardado en disco para poder reanudarla
+ * (por ejemplo, tras reiniciar el servidor en una ejecución larga). Guarda los genes de cada
+ * isla y su control adaptativo; el fitness se recalcula al restaurar.
+ * <p>
+ * La huella identifica el problema (pedidos, camiones, tamaño de población e islas): un
+ * punto de control solo se usa si coincide con la ejecución que intenta reanudarlo.
+ */
+@Getter
+public class PuntoControl {
+
+    private static final int MAGICO = 0x474C5043; // "GLPC"
+    private static final int VERSION = 1;
+
+    private final long huella;
+    private final long semilla;
+    private final int generacion;             // Generaciones completadas al guardar
+    private final EstadoIsla[] islas;
+
+    public PuntoControl(long huella, long semilla, int generacion, EstadoIsla[] islas) {
+        this.huella = huella;
+        this.semilla = semilla;
+        this.generacion = generacion;
+        this.islas = islas;
+    }
+
+    /**
+     * Escribe el punto de control en un archivo temporal y lo mueve sobre el destino,
+     * de modo que una caída durante la escritura no deja un archivo a medias
+     */
+    public void guardar(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeLong(huella);
+            salida.writeLong(semilla);
+            salida.writeInt(generacion);
+            salida.writeInt(islas.length);
+            for (EstadoIsla isla : islas) {
+                isla.escribir(salida);
+            }
+        }
+        try {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return Punto de control guardado en el archivo, o null si no existe
+     * @throws IOException Si el archivo no se puede leer o no es un punto de control válido
+     */
+    public static PuntoControl cargar(Path archivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                throw new IOException("El archivo no es un punto de control compatible: " + archivo);
+            }
+            long huella = entrada.readLong();
+            long semilla = entrada.readLong();
+            int generacion = entrada.readInt();
+            EstadoIsla[] islas = new EstadoIsla[entrada.readInt()];
+            for (int i = 0; i < islas.length; i++) {
+                islas[i] = EstadoIsla.leer(entrada);
+            }
+            return new PuntoControl(huella, semilla, generacion, islas);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Población y control adaptativo de una isla
+     */
+    @Getter
+    public static class EstadoIsla {
+        private final int[][] poblacion;      // Genes de cada individuo
+        private final int[] mejor;            // Genes del mejor individuo histórico de la isla
+        private final int generaciones;
+        private final double tasaMutacion;
+        private final double tasaCruce;
+        private final int generacionesSinMejora;
+        private final int reinicios;
+        private final boolean convergida;
+
+        public EstadoIsla(int[][] poblacion, int[] mejor, int generaciones, double tasaMutacion, double tasaCruce,
+                          int generacionesSinMejora, int reinicios, boolean convergida) {
+            this.poblacion = poblacion;
+            this.mejor = mejor;
+            this.generaciones = generaciones;
+            this.tasaMutacion = tasaMutacion;
+            this.tasaCruce = tasaCruce;
+            this.generacionesSinMejora = generacionesSinMejora;
+            this.reinicios = reinicios;
+            this.convergida = convergida;
+        }
+
+        private void escribir(DataOutputStream salida) throws IOException {
+            salida.writeInt(generaciones);
+            salida.writeDouble(tasaMutacion);
+            salida.writeDouble(tasaCruce);
+            salida.writeInt(generacionesSinMejora);
+            salida.writeInt(reinicios);
+            salida.writeBoolean(convergida);
+            salida.writeInt(poblacion.length);
+            salida.writeInt(mejor.length);
+            escribirGenes(salida, mejor);
+            for (int[] genes : poblacion) {
+                escribirGenes(salida, genes);
+            }
+        }
+
+        private static EstadoIsla leer(DataInputStream entrada) throws IOException {
+            int generaciones = entrada.readInt();
+            double tasaMutacion = entrada.readDouble();
+            double tasaCruce = entrada.readDouble();
+            int generacionesSinMejora = entrada.readInt();
+            int reinicios = entrada.readInt();
+            boolean convergida = entrada.readBoolean();
+            int tamaño = entrada.readInt();
+            int numGenes = entrada.readInt();
+            int[] mejor = leerGenes(entrada, numGenes);
+            int[][] poblacion = new int[tamaño][];
+            for (int i = 0; i < tamaño; i++) {
+                poblacion[i] = leerGenes(entrada, numGenes);
+            }
+            return new EstadoIsla(poblacion, mejor, generaciones, tasaMutacion, tasaCruce,
+                    generacionesSinMejora, reinicios, convergida);
+        }
+
+        // Los genes son índices de camión (o -1): se guardan en 16 bits
+        private static void escribirGenes(DataOutputStream salida, int[] genes) throws IOException {
+            for (int gen : genes) {
+                salida.writeShort(gen);
+            }
+        }
+
+        private static int[] leerGenes(DataInputStream entrada, int numGenes) throws IOException {
+            int[] genes = new int[numGenes];
+            for (int g = 0; g < numGenes; g++) {
+                genes[g] = entrada.readShort();
+            }
+            return genes;
+        }
+    }
+}
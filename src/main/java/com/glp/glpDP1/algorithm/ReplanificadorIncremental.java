@@ -0,0 +1,392 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.MovimientoCamion;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ruta;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.EstadoCamion;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Re-planificación incremental (horizonte rodante) cuando llegan pedidos nuevos a un plan en
+ * curso. En lugar de volver a ejecutar el algoritmo genético sobre todos los pedidos:
+ * <ol>
+ *     <li>Congela el tramo ya iniciado de cada ruta según su movimiento detallado (paradas
+ *     con entregas realizadas y la parada hacia la que se dirige el camión).</li>
+ *     <li>Inserta cada pedido nuevo en la posición más barata de la ruta pendiente de algún
+ *     camión, prefiriendo las inserciones que no generan retraso ni exceden la capacidad.</li>
+ *     <li>Aplica una búsqueda local corta (relocalizar pedidos pendientes) solo entre los
+ *     camiones que recibieron pedidos.</li>
+ * </ol>
+ * Las distancias son Manhattan, como las de {@link Ruta}; no se crea un contexto del problema.
+ */
+public class ReplanificadorIncremental {
+
+    private static final double MINUTOS_POR_KM = 60.0 / 50.0;   // 50 km/h
+    private static final double MINUTOS_ENTREGA = 15.0;         // Igual que el movimiento detallado
+
+    private final List<Camion> camiones;
+    private final Mapa mapa;
+
+    @Setter
+    private long tiempoBusquedaLocalMs = 5;
+
+    public ReplanificadorIncremental(List<Camion> camiones, Mapa mapa) {
+        this.camiones = camiones;
+        this.mapa = mapa;
+    }
+
+    /**
+     * Incorpora pedidos nuevos a las rutas existentes. Las rutas se modifican en el lugar;
+     * si un camión sin ruta recibe pedidos se agrega una ruta nueva a la lista.
+     *
+     * @param rutas         Rutas del plan en curso
+     * @param nuevosPedidos Pedidos que llegaron desde la última planificación
+     * @param momento       Momento de la re-planificación
+     * @return Resumen de los cambios
+     */
+    public Resultado replanificar(List<Ruta> rutas, List<Pedido> nuevosPedidos, LocalDateTime momento) {
+        long inicio = System.nanoTime();
+        Resultado resultado = new Resultado();
+        Ubicacion destino = mapa.obtenerAlmacenCentral().getUbicacion();
+
+        Map<String, Ruta> rutaPorCamion = new HashMap<>();
+        for (Ruta ruta : rutas) {
+            if (!ruta.isCancelada() && !ruta.isCompletada()) {
+                rutaPorCamion.put(ruta.getCodigoCamion(), ruta);
+            }
+        }
+        List<PlanCamion> planes = new ArrayList<>();
+        for (Camion camion : camiones) {
+            if (puedeRecibirPedidos(camion)) {
+                planes.add(crearPlan(camion, rutaPorCamion.get(camion.getCodigo()), momento, destino));
+            }
+        }
+
+        // Insertar primero los pedidos más urgentes
+        List<Pedido> porInsertar = new ArrayList<>(nuevosPedidos);
+        porInsertar.sort(Comparator.comparing(Pedido::getHoraLimiteEntrega));
+        List<PlanCamion> afectados = new ArrayList<>();
+        for (Pedido pedido : porInsertar) {
+            PlanCamion plan = insertarMasBarato(planes, pedido, momento);
+            if (plan == null) {
+                resultado.pedidosNoAsignados.add(pedido);
+                continue;
+            }
+            if (!plan.modificado) {
+                plan.modificado = true;
+                afectados.add(plan);
+            }
+        }
+
+        resultado.mejorasBusquedaLocal = busquedaLocal(afectados, momento);
+
+        for (PlanCamion plan : afectados) {
+            if (plan.ruta == null && plan.pendientes.isEmpty()) {
+                continue; // La búsqueda local llevó a otro camión todo lo que había recibido
+            }
+            aplicar(plan, rutas, destino);
+            resultado.camionesModificados.add(plan.camion.getCodigo());
+        }
+        resultado.tiempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        return resultado;
+    }
+
+    private static boolean puedeRecibirPedidos(Camion camion) {
+        EstadoCamion estado = camion.getEstado();
+        return estado != EstadoCamion.AVERIADO && estado != EstadoCamion.EN_MANTENIMIENTO &&
+                estado != EstadoCamion.INDISPONIBLE;
+    }
+
+    /**
+     * Separa la ruta en el tramo congelado y los pedidos pendientes, en su orden de visita.
+     * Si la ruta ya empezó, se congelan las paradas con entregas realizadas según el
+     * movimiento detallado y también la parada hacia la que el camión se dirige; la parte
+     * editable parte de esa parada cuando termina su entrega
+     */
+    private PlanCamion crearPlan(Camion camion, Ruta ruta, LocalDateTime momento, Ubicacion destino) {
+        PlanCamion plan = new PlanCamion(camion, ruta, destino);
+        if (ruta == null) {
+            plan.inicio = camion.getUbicacionActual();
+            return plan;
+        }
+
+        MovimientoCamion movimiento = ruta.getMovimientoDetallado();
+        boolean iniciada = ruta.isMovimientoGenerado() && movimiento != null && ruta.getHoraInicio() != null &&
+                !momento.isBefore(ruta.getHoraInicio());
+        List<Ubicacion> nodos = ruta.getSecuenciaNodos();
+
+        int finCongelado = 0;
+        Map<Ubicacion, LocalDateTime> finEntrega = new HashMap<>();
+        if (iniciada) {
+            for (MovimientoCamion.PasoMovimiento paso : movimiento.getPasos()) {
+                if (paso.getTipo() == MovimientoCamion.PasoMovimiento.TipoPaso.ENTREGA) {
+                    finEntrega.putIfAbsent(paso.getUbicacion(), paso.getTiempoLlegada());
+                }
+            }
+            // Última parada (sin el origen) con la entrega iniciada, más el tramo en curso
+            for (int i = 1; i < nodos.size(); i++) {
+                LocalDateTime fin = finEntrega.get(nodos.get(i));
+                if (fin != null && !fin.minusMinutes((long) MINUTOS_ENTREGA).isAfter(momento)) {
+                    finCongelado = i;
+                }
+            }
+            finCongelado = Math.min(finCongelado + 1, nodos.size() - 1);
+        }
+        for (int i = 1; i <= finCongelado; i++) {
+            plan.congeladas.add(nodos.get(i));
+        }
+
+        // Los pedidos de paradas congeladas quedan comprometidos; el resto se ordena según la
+        // secuencia restante (los no secuenciados al final)
+        Set<Ubicacion> ubicacionesCongeladas = new HashSet<>(plan.congeladas);
+        List<Pedido> pendientes = new ArrayList<>();
+        for (Pedido pedido : ruta.getPedidosAsignados()) {
+            if (pedido.isEntregado() || ubicacionesCongeladas.contains(pedido.getUbicacion())) {
+                plan.comprometidos.add(pedido);
+            } else {
+                pendientes.add(pedido);
+            }
+        }
+        List<Ubicacion> restantes = nodos.subList(Math.min(finCongelado + 1, nodos.size()), nodos.size());
+        pendientes.sort(Comparator.comparingInt(p -> {
+            int posicion = restantes.indexOf(p.getUbicacion());
+            return posicion >= 0 ? posicion : Integer.MAX_VALUE;
+        }));
+        plan.pendientes.addAll(pendientes);
+
+        if (finCongelado > 0) {
+            plan.iniciada = true;
+            plan.inicio = nodos.get(finCongelado);
+            LocalDateTime salida = finEntrega.get(plan.inicio);
+            if (salida != null && salida.isAfter(momento)) {
+                plan.minutoInicio = Duration.between(momento, salida).toMinutes();
+            }
+        } else {
+            plan.inicio = ruta.getOrigen();
+            if (ruta.getHoraInicio() != null && ruta.getHoraInicio().isAfter(momento)) {
+                plan.minutoInicio = Duration.between(momento, ruta.getHoraInicio()).toMinutes();
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Inserta el pedido en la posición más barata entre todos los camiones. Las inserciones
+     * sin retraso ni exceso de carga adicionales tienen prioridad
+     *
+     * @return Plan que recibió el pedido, o null si no hay camiones
+     */
+    private PlanCamion insertarMasBarato(List<PlanCamion> planes, Pedido pedido, LocalDateTime momento) {
+        PlanCamion mejorPlan = null;
+        int mejorPosicion = -1;
+        double mejorDelta = Double.POSITIVE_INFINITY;
+        boolean mejorFactible = false;
+
+        for (PlanCamion plan : planes) {
+            Evaluacion antes = evaluar(plan, momento);
+            for (int posicion = 0; posicion <= plan.pendientes.size(); posicion++) {
+                plan.pendientes.add(posicion, pedido);
+                Evaluacion despues = evaluar(plan, momento);
+                plan.pendientes.remove(posicion);
+
+                boolean factible = despues.noEmpeora(antes);
+                double delta = despues.costo() - antes.costo();
+                if ((factible && !mejorFactible) || (factible == mejorFactible && delta < mejorDelta)) {
+                    mejorPlan = plan;
+                    mejorPosicion = posicion;
+                    mejorDelta = delta;
+                    mejorFactible = factible;
+                }
+            }
+        }
+
+        if (mejorPlan != null) {
+            mejorPlan.pendientes.add(mejorPosicion, pedido);
+        }
+        return mejorPlan;
+    }
+
+    /**
+     * Relocaliza pedidos pendientes entre los camiones afectados (o dentro de la misma ruta)
+     * mientras mejore el costo y quede tiempo. Como en la inserción, un movimiento no puede
+     * agregar retraso ni exceso de carga a los camiones involucrados
+     *
+     * @return Número de movimientos aplicados
+     */
+    private int busquedaLocal(List<PlanCamion> afectados, LocalDateTime momento) {
+        long limite = System.nanoTime() + tiempoBusquedaLocalMs * 1_000_000L;
+        int mejoras = 0;
+        boolean mejoro = true;
+        while (mejoro && System.nanoTime() < limite) {
+            mejoro = false;
+            for (PlanCamion origen : afectados) {
+                for (int i = 0; i < origen.pendientes.size() && System.nanoTime() < limite; i++) {
+                    Evaluacion evaluacionOrigen = evaluar(origen, momento);
+                    Pedido pedido = origen.pendientes.remove(i);
+                    Evaluacion evaluacionOrigenSin = evaluar(origen, momento);
+
+                    PlanCamion mejorDestino = origen;
+                    int mejorPosicion = i;
+                    double mejorDelta = 0.0;
+                    for (PlanCamion destino : afectados) {
+                        Evaluacion antes = destino == origen
+                                ? evaluacionOrigen
+                                : evaluacionOrigen.mas(evaluar(destino, momento));
+                        for (int j = 0; j <= destino.pendientes.size(); j++) {
+                            if (destino == origen && j == i) {
+                                continue;
+                            }
+                            destino.pendientes.add(j, pedido);
+                            Evaluacion despues = destino == origen
+                                    ? evaluar(origen, momento)
+                                    : evaluacionOrigenSin.mas(evaluar(destino, momento));
+                            destino.pendientes.remove(j);
+                            double delta = despues.costo() - antes.costo();
+                            if (despues.noEmpeora(antes) && delta < mejorDelta - 1e-9) {
+                                mejorDelta = delta;
+                                mejorDestino = destino;
+                                mejorPosicion = j;
+                            }
+                        }
+                    }
+
+                    mejorDestino.pendientes.add(mejorPosicion, pedido);
+                    if (mejorDelta < 0) {
+                        mejoras++;
+                        mejoro = true;
+                    }
+                }
+            }
+        }
+        return mejoras;
+    }
+
+    /**
+     * Distancia de la parte pendiente (desde la posición actual hasta el destino), retraso
+     * de sus entregas y exceso de carga pendiente sobre la capacidad del camión
+     */
+    private Evaluacion evaluar(PlanCamion plan, LocalDateTime momento) {
+        Evaluacion evaluacion = new Evaluacion();
+        Ubicacion actual = plan.inicio;
+        double minuto = plan.minutoInicio;
+        double carga = 0.0;
+        for (Pedido pedido : plan.pendientes) {
+            int distancia = actual.distanciaA(pedido.getUbicacion());
+            evaluacion.distancia += distancia;
+            if (distancia > 0) {
+                minuto += distancia * MINUTOS_POR_KM + MINUTOS_ENTREGA;
+            }
+            double limite = Duration.between(momento, pedido.getHoraLimiteEntrega()).toMinutes();
+            evaluacion.retraso += Math.max(0.0, minuto - limite);
+            carga += pedido.getCantidadGLP();
+            actual = pedido.getUbicacion();
+        }
+        evaluacion.distancia += actual.distanciaA(plan.destino);
+        evaluacion.exceso = Math.max(0.0, carga - plan.camion.getCapacidadTanqueGLP());
+        return evaluacion;
+    }
+
+    /**
+     * Lleva el plan a la ruta: pedidos asignados y secuencia (tramo congelado + pendientes, con
+     * las recargas que necesiten los pendientes). Una ruta ya iniciada conserva su hora de
+     * inicio, así que su movimiento se regenera idéntico hasta la posición actual
+     */
+    private void aplicar(PlanCamion plan, List<Ruta> rutas, Ubicacion destino) {
+        Ruta ruta = plan.ruta;
+        if (ruta == null) {
+            ruta = new Ruta(plan.camion.getCodigo(), plan.camion.getUbicacionActual());
+            ruta.setDestino(destino);
+            rutas.add(ruta);
+        }
+        boolean teniaMovimiento = ruta.isMovimientoGenerado();
+        LocalDateTime horaInicio = ruta.getHoraInicio();
+
+        // Quitar los pedidos que la búsqueda local llevó a otro camión
+        for (Pedido pedido : new ArrayList<>(ruta.getPedidosAsignados())) {
+            if (!plan.comprometidos.contains(pedido) && !plan.pendientes.contains(pedido)) {
+                ruta.getPedidosAsignados().remove(pedido);
+            }
+        }
+        for (Pedido pedido : plan.pendientes) {
+            ruta.agregarPedido(pedido, true);
+        }
+
+        List<Ubicacion> secuencia = new ArrayList<>(plan.congeladas);
+        for (Pedido pedido : plan.pendientes) {
+            if (secuencia.isEmpty() || !secuencia.get(secuencia.size() - 1).equals(pedido.getUbicacion())) {
+                secuencia.add(pedido.getUbicacion());
+            }
+        }
+        ruta.setSecuenciaParadas(new ArrayList<>(secuencia));
+        ruta.fijarSecuencia(secuencia);
+        // Las recargas se recalculan solo en la parte editable: el tramo congelado queda igual
+        ruta.insertarRecargas(mapa, plan.camion, plan.iniciada ? plan.congeladas.size() : 0);
+        if (teniaMovimiento && horaInicio != null) {
+            ruta.generarMovimientoDetallado(mapa, horaInicio);
+        }
+    }
+
+    /**
+     * Estado editable de un camión durante la re-planificación
+     */
+    private static class PlanCamion {
+        private final Camion camion;
+        private final Ruta ruta;                                      // null si el camión no tenía ruta
+        private final Ubicacion destino;
+        private final List<Ubicacion> congeladas = new ArrayList<>(); // Paradas ya recorridas
+        private final List<Pedido> comprometidos = new ArrayList<>(); // Entregados o en el tramo congelado
+        private final List<Pedido> pendientes = new ArrayList<>();    // Pedidos por visitar, en orden
+        private Ubicacion inicio;                                     // Punto de partida de la parte editable
+        private double minutoInicio;                                  // Minutos hasta que el camión parte
+        private boolean iniciada;
+        private boolean modificado;
+
+        private PlanCamion(Camion camion, Ruta ruta, Ubicacion destino) {
+            this.camion = camion;
+            this.ruta = ruta;
+            this.destino = destino;
+        }
+    }
+
+    private static class Evaluacion {
+        private double distancia;
+        private double retraso;
+        private double exceso;
+
+        private double costo() {
+            return distancia + NucleoFitness.PENALIZACION_RETRASO * retraso + NucleoFitness.PENALIZACION_SOBRECARGA * exceso;
+        }
+
+        // true si no tiene más retraso ni más exceso de carga que la otra evaluación
+        private boolean noEmpeora(Evaluacion otra) {
+            return retraso <= otra.retraso + 1e-9 && exceso <= otra.exceso + 1e-9;
+        }
+
+        private Evaluacion mas(Evaluacion otra) {
+            Evaluacion suma = new Evaluacion();
+            suma.distancia = distancia + otra.distancia;
+            suma.retraso = retraso + otra.retraso;
+            suma.exceso = exceso + otra.exceso;
+            return suma;
+        }
+    }
+
+    /**
+     * Resumen de una re-planificación
+     */
+    @Getter
+    public static class Resultado {
+        private final List<String> camionesModificados = new ArrayList<>();
+        private final List<Pedido> pedidosNoAsignados = new ArrayList<>();
+        private int mejorasBusquedaLocal;
+        private double tiempoMs;
+    }
+}
@@ -0,0 +1,34 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Ruta;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Plan del frente de Pareto del modo multiobjetivo, con los valores de sus objetivos
+ * (consumo, retrasos, pedidos sin asignar y sobrecarga) y el fitness ponderado equivalente
+ */
+@Getter
+public class SolucionPareto {
+    private final int indice;
+    private final List<Ruta> rutas;
+    private final double consumo;             // Galones
+    private final double retrasos;            // Minutos
+    private final int pedidosNoAsignados;
+    private final double distancia;           // Km
+    private final double sobrecarga;          // m3 por encima de la capacidad (se cubren con recargas)
+    private final double fitness;             // Fitness ponderado, comparable con el modo de un objetivo
+
+    public SolucionPareto(int indice, List<Ruta> rutas, double consumo, double retrasos, int pedidosNoAsignados,
+                          double distancia, double sobrecarga, double fitness) {
+        this.indice = indice;
+        this.rutas = rutas;
+        this.consumo = consumo;
+        this.retrasos = retrasos;
+        this.pedidosNoAsignados = pedidosNoAsignados;
+        this.distancia = distancia;
+        this.sobrecarga = sobrecarga;
+        this.fitness = fitness;
+    }
+}
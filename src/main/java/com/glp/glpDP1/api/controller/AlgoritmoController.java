@@ -1,6 +1,9 @@
 package com.glp.glpDP1.api.controller;
 
+import com.glp.glpDP1.algorithm.SolucionPareto;
 import com.glp.glpDP1.api.dto.request.AlgoritmoSimpleRequest;
+import com.glp.glpDP1.api.dto.request.LoteAlgoritmoRequest;
+import com.glp.glpDP1.api.dto.request.ReplanificacionRequest;
 import com.glp.glpDP1.api.dto.response.AlgoritmoResultResponse;
 import com.glp.glpDP1.api.dto.response.AlgoritmoStatusResponse;
 import com.glp.glpDP1.domain.Camion;
@@ -13,13 +16,16 @@ import com.glp.glpDP1.repository.impl.DataRepositoryImpl;
 import com.glp.glpDP1.services.AlgoritmoService;
 import com.glp.glpDP1.services.impl.AlgoritmoServiceImpl;
 import com.glp.glpDP1.services.impl.AveriaService;
+import com.glp.glpDP1.services.impl.LoteAlgoritmoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -39,6 +45,8 @@ public class AlgoritmoController {
     @Autowired
     private AveriaService averiaService;
 
+    @Autowired
+    private LoteAlgoritmoService loteAlgoritmoService;
 
     /**
      * Inicia una nueva ejecución del algoritmo de optimización
@@ -64,6 +72,119 @@ public class AlgoritmoController {
         }
     }
 
+    /**
+     * Genera un plan en el momento con la heurística constructiva (sin algoritmo genético),
+     * pensado para emergencias en las que no se puede esperar a una ejecución completa
+     *
+     * @param request Parámetros de planificación (momento actual)
+     * @return Plan generado
+     */
+    @PostMapping("/plan-rapido")
+    public ResponseEntity<AlgoritmoResultResponse> planificarRapido(@RequestBody AlgoritmoSimpleRequest request) {
+        try {
+            log.info("Generando plan rápido");
+            return ResponseEntity.ok(algoritmoService.planificarRapido(request));
+        } catch (IllegalArgumentException e) {
+            log.error("Error al generar plan rápido: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error inesperado al generar plan rápido: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al generar el plan", e);
+        }
+    }
+
+    /**
+     * Incorpora pedidos nuevos al plan de una ejecución completada sin volver a ejecutar
+     * el algoritmo: conserva los tramos iniciados y reoptimiza solo los camiones afectados
+     *
+     * @param id      ID de la ejecución
+     * @param request Momento actual y pedidos nuevos
+     * @return Plan actualizado
+     */
+    @PostMapping("/replan/{id}")
+    public ResponseEntity<AlgoritmoResultResponse> replanificar(@PathVariable String id,
+                                                                @RequestBody ReplanificacionRequest request) {
+        try {
+            log.info("Re-planificando la ejecución {}", id);
+            return ResponseEntity.ok(algoritmoService.replanificar(id, request));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            log.error("Error al re-planificar: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error inesperado al re-planificar: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al re-planificar", e);
+        }
+    }
+
+    /**
+     * Obtiene el frente de Pareto de una ejecución en modo multiobjetivo
+     *
+     * @param id ID de la ejecución
+     * @return Soluciones no dominadas, ordenadas por consumo
+     */
+    @GetMapping("/pareto/{id}")
+    public ResponseEntity<List<SolucionPareto>> obtenerFrentePareto(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(algoritmoService.obtenerFrentePareto(id));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error al obtener el frente de Pareto de {}: {}", id, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al obtener el frente de Pareto", e);
+        }
+    }
+
+    /**
+     * Adopta una solución del frente de Pareto como plan de la ejecución
+     *
+     * @param id     ID de la ejecución
+     * @param indice Posición de la solución en el frente
+     * @return Resultado actualizado
+     */
+    @PostMapping("/pareto/{id}/select/{indice}")
+    public ResponseEntity<AlgoritmoResultResponse> seleccionarSolucionPareto(@PathVariable String id,
+                                                                             @PathVariable int indice) {
+        try {
+            return ResponseEntity.ok(algoritmoService.seleccionarSolucionPareto(id, indice));
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error al seleccionar la solución {} de {}: {}", indice, id, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al seleccionar la solución", e);
+        }
+    }
+
+    /**
+     * Ejecuta un lote de corridas (grilla de parámetros × semillas) y envía por SSE cada
+     * resultado apenas termina, seguido del resumen (promedio, p50, p95) por configuración
+     *
+     * @param request Grilla de parámetros y semillas
+     * @return Flujo de eventos "ejecucion", "resumen" y "fin"
+     */
+    @PostMapping(value = "/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter ejecutarLote(@RequestBody LoteAlgoritmoRequest request) {
+        try {
+            log.info("Iniciando lote de ejecuciones del algoritmo");
+            return loteAlgoritmoService.ejecutarLote(request);
+        } catch (IllegalArgumentException e) {
+            log.error("Error al iniciar lote: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error inesperado al iniciar lote: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al iniciar el lote", e);
+        }
+    }
+
     /**
      * Consulta el estado actual de la ejecución de un algoritmo
      *
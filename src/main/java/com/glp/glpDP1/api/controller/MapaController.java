@@ -13,6 +13,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/mapa")
@@ -36,6 +37,20 @@ public class MapaController {
         }
     }
 
+    /**
+     * Obtiene los contadores de los caches de rutas del mapa (aciertos, fallos, desalojos y tamaño)
+     */
+    @GetMapping("/cache-rutas")
+    public ResponseEntity<Map<String, Object>> obtenerEstadisticasCacheRutas() {
+        try {
+            Mapa mapa = mapaService.obtenerMapa();
+            return ResponseEntity.ok(mapa.estadisticasCacheRutas());
+        } catch (Exception e) {
+            log.error("Error al obtener estadísticas del cache de rutas: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al obtener las estadísticas del cache de rutas", e);
+        }
+    }
+
     /**
      * Obtiene los bloqueos actuales del mapa
      */
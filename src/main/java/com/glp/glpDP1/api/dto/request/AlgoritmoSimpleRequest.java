@@ -33,4 +33,55 @@ public class AlgoritmoSimpleRequest {
     private Double tasaMutacion;
     private Double tasaCruce;
     private Integer elitismo;
-}
\ No newline at end of file
+
+    /**
+     * Evalúa el fitness en paralelo; si es null se usa la configuración del servidor
+     */
+    private Boolean evaluacionParalela;
+
+    /**
+     * Semilla del generador aleatorio; con la misma semilla y los mismos datos se
+     * obtiene el mismo plan. Si es null se genera una y se informa en las métricas
+     */
+    private Long semilla;
+
+    /**
+     * Modelo de islas: número de subpoblaciones que evolucionan en paralelo y
+     * generaciones entre migraciones. Si son null se usa la configuración del servidor
+     */
+    private Integer numIslas;
+    private Integer intervaloMigracion;
+
+    /**
+     * Tiempo máximo de ejecución en milisegundos. Si se indica, el algoritmo evoluciona
+     * hasta agotarlo (ignorando numGeneraciones) y retorna la mejor solución encontrada
+     */
+    private Long tiempoLimiteMs;
+
+    /**
+     * Búsqueda local sobre la élite de cada generación (relocalizar/intercambiar pedidos
+     * y 2-opt en las rutas) y su tiempo máximo por generación. Null = configuración del servidor
+     */
+    private Boolean busquedaLocal;
+    private Long tiempoBusquedaLocalMs;
+
+    /**
+     * Control adaptativo: ajusta mutación y cruce según la diversidad de la población y
+     * reinicia parcialmente las poblaciones estancadas. Null = configuración del servidor
+     */
+    private Boolean adaptativo;
+
+    /**
+     * Modo multiobjetivo (NSGA-II): en una sola ejecución obtiene el frente de Pareto entre
+     * consumo, retrasos, pedidos sin asignar y sobrecarga. El resultado usa la solución del
+     * frente con menor fitness ponderado; las demás se consultan y eligen por el frente
+     */
+    private Boolean modoPareto;
+
+    /**
+     * Nombre del punto de control en disco (si el servidor tiene un directorio configurado).
+     * Una ejecución con el mismo nombre, los mismos datos y el mismo momentoActual se reanuda
+     * desde la última población guardada. Requiere momentoActual. Null = sin punto de control
+     */
+    private String idPuntoControl;
+}
@@ -0,0 +1,44 @@
+package com.glp.glpDP1.api.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para ejecutar un lote de corridas del algoritmo genético: cada combinación de
+ * parámetros (producto cartesiano de las listas) se ejecuta una vez por semilla
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteAlgoritmoRequest {
+    /**
+     * Momento actual para la planificación (null = ahora)
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime momentoActual;
+
+    /**
+     * Valores a probar de cada parámetro. Una lista vacía o null usa el valor por defecto del algoritmo
+     */
+    private List<Integer> tamañosPoblacion;
+    private List<Integer> numGeneraciones;
+    private List<Double> tasasMutacion;
+    private List<Double> tasasCruce;
+    private List<Integer> elitismos;
+
+    /**
+     * Semillas con las que se repite cada configuración. Si es null se usan 1..numRepeticiones
+     */
+    private List<Long> semillas;
+    private Integer numRepeticiones;
+
+    /**
+     * Tiempo máximo por corrida en milisegundos (null = por generaciones)
+     */
+    private Long tiempoLimiteMs;
+}
@@ -0,0 +1,33 @@
+package com.glp.glpDP1.api.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para incorporar pedidos nuevos a un plan ya generado sin volver a ejecutar el algoritmo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplanificacionRequest {
+    /**
+     * Momento de la re-planificación: los tramos ya iniciados hasta este momento no se modifican
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime momentoActual;
+
+    /**
+     * Pedidos nuevos; la hora de recepción ("HH:mm") se toma en la fecha del momento actual
+     */
+    private List<PedidoRequest> pedidos;
+
+    /**
+     * Tiempo máximo de la búsqueda local sobre los camiones afectados. Null = configuración del servidor
+     */
+    private Long tiempoBusquedaLocalMs;
+}
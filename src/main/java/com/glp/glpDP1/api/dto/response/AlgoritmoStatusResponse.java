@@ -16,6 +16,9 @@ public class AlgoritmoStatusResponse {
     private LocalDateTime horaInicio;
     private LocalDateTime horaUltimaActualizacion;
     private Double mejorFitness; // Null si aún no hay resultados
+    private Integer hilosEvaluacion; // Hilos usados para evaluar el fitness
+    private Double aceleracionEvaluacion; // Tiempo de evaluación acumulado / tiempo de pared
+    private Integer generacionesCompletadas; // Generaciones evolucionadas hasta el momento
 
     public enum EstadoAlgoritmo {
         PENDIENTE,
@@ -0,0 +1,25 @@
+package com.glp.glpDP1.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una corrida de un lote del algoritmo genético
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteEjecucionResponse {
+    private int indiceConfiguracion;
+    private int tamañoPoblacion;
+    private int numGeneraciones;
+    private double tasaMutacion;
+    private double tasaCruce;
+    private int elitismo;
+    private long semilla;
+    private Double fitness; // Null si la corrida falló
+    private long tiempoEjecucionMs;
+    private int generacionesCompletadas;
+    private String error; // Mensaje de error, null si la corrida terminó bien
+}
@@ -0,0 +1,36 @@
+package com.glp.glpDP1.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estadísticas de las corridas de una configuración de un lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteResumenResponse {
+    private int indiceConfiguracion;
+    private int tamañoPoblacion;
+    private int numGeneraciones;
+    private double tasaMutacion;
+    private double tasaCruce;
+    private int elitismo;
+    private int ejecuciones; // Corridas terminadas sin error
+    private int fallidas;
+    private Estadistica fitness;
+    private Estadistica tiempoEjecucionMs;
+    private Estadistica generaciones;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Estadistica {
+        private double promedio;
+        private double p50;
+        private double p95;
+        private double minimo;
+        private double maximo;
+    }
+}
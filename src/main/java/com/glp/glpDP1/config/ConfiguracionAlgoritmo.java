@@ -0,0 +1,76 @@
+package com.glp.glpDP1.config;
+
+import com.glp.glpDP1.algorithm.AlgoritmoGenetico;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parámetros del algoritmo genético definidos en application.properties. Las ejecuciones
+ * individuales y las corridas de los lotes configuran su algoritmo con {@link #aplicar}, así
+ * una corrida de un lote se comporta igual que la misma configuración iniciada con /start.
+ */
+@Component
+public class ConfiguracionAlgoritmo {
+
+    // Sumas del fitness con la Vector API (requiere --add-modules jdk.incubator.vector)
+    @Value("${algoritmo.evaluacion.vectorial:false}")
+    private boolean nucleoVectorial;
+
+    // Número máximo de cromosomas en el cache de fitness de cada ejecución (0 = deshabilitado)
+    @Value("${algoritmo.cache.fitness.capacidad:10000}")
+    private int capacidadCacheFitness;
+
+    // Modelo de islas (1 isla = población única)
+    @Value("${algoritmo.islas.cantidad:1}")
+    private int numIslas;
+
+    @Value("${algoritmo.islas.intervalo-migracion:10}")
+    private int intervaloMigracion;
+
+    @Value("${algoritmo.islas.migrantes:2}")
+    private int numMigrantes;
+
+    // Distancias del fitness por la grilla, rodeando los bloqueos de la ventana de planificación
+    @Value("${algoritmo.distancias.considerar-bloqueos:true}")
+    private boolean considerarBloqueos;
+
+    // Sembrar parte de la población inicial con la heurística constructiva
+    @Value("${algoritmo.semillas.constructivas:true}")
+    private boolean semillasConstructivas;
+
+    // Control adaptativo de tasas y reinicios parciales por diversidad
+    @Value("${algoritmo.adaptativo.activo:false}")
+    private boolean adaptativo;
+
+    @Value("${algoritmo.adaptativo.generaciones-estancamiento:25}")
+    private int generacionesEstancamiento;
+
+    @Value("${algoritmo.adaptativo.max-reinicios:3}")
+    private int maxReinicios;
+
+    // Búsqueda local (etapa memética) sobre la élite
+    @Value("${algoritmo.busqueda-local.activa:false}")
+    private boolean busquedaLocal;
+
+    @Value("${algoritmo.busqueda-local.tiempo-ms:20}")
+    private long tiempoBusquedaLocalMs;
+
+    /**
+     * Aplica la configuración al algoritmo; quien lo usa puede luego sobrescribir los valores
+     * que indique su solicitud
+     */
+    public void aplicar(AlgoritmoGenetico algoritmo) {
+        algoritmo.setNucleoVectorial(nucleoVectorial);
+        algoritmo.setCapacidadCacheFitness(capacidadCacheFitness);
+        algoritmo.setNumIslas(numIslas);
+        algoritmo.setIntervaloMigracion(intervaloMigracion);
+        algoritmo.setNumMigrantes(numMigrantes);
+        algoritmo.setConsiderarBloqueos(considerarBloqueos);
+        algoritmo.setSemillasConstructivas(semillasConstructivas);
+        algoritmo.setAdaptativo(adaptativo);
+        algoritmo.setGeneracionesEstancamiento(generacionesEstancamiento);
+        algoritmo.setMaxReinicios(maxReinicios);
+        algoritmo.setBusquedaLocal(busquedaLocal);
+        algoritmo.setTiempoBusquedaLocalMs(tiempoBusquedaLocalMs);
+    }
+}
@@ -1,15 +1,20 @@
 package com.glp.glpDP1.domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 /**
- * Representa un bloqueo temporal en la ciudad
+ * Representa un bloqueo temporal en la ciudad. Los nodos son los vértices de una poligonal:
+ * además de los vértices, quedan bloqueados los tramos de calle entre vértices consecutivos
  */
 @Getter
 @Setter
@@ -19,15 +24,121 @@ public class Bloqueo {
     private final LocalDateTime horaFin;
     private final List<Ubicacion> nodosBloqueados;
 
+    // Representación primitiva para las búsquedas de rutas (no se expone en la API)
+    @Getter(AccessLevel.PACKAGE)
+    private final long inicioNanos;         // horaInicio en nanosegundos desde la época (UTC)
+    @Getter(AccessLevel.PACKAGE)
+    private final long finNanos;
+    @Getter(AccessLevel.NONE)
+    private final long[] clavesNodos;       // Claves de los nodos ordenadas, para búsqueda binaria
+    @Getter(AccessLevel.NONE)
+    private final long[] clavesTramos;      // Tramos de 1 km de la poligonal, ordenados y sin repetir
+
     public Bloqueo(LocalDateTime horaInicio, LocalDateTime horaFin, List<Ubicacion> nodos) {
         this.id = UUID.randomUUID().toString();
         this.horaInicio = horaInicio;
         this.horaFin = horaFin;
         this.nodosBloqueados = new ArrayList<>(nodos);
+        this.inicioNanos = aEpochNanos(horaInicio);
+        this.finNanos = aEpochNanos(horaFin);
+        this.clavesNodos = new long[nodos.size()];
+        for (int i = 0; i < clavesNodos.length; i++) {
+            clavesNodos[i] = clave(nodos.get(i).getX(), nodos.get(i).getY());
+        }
+        Arrays.sort(clavesNodos);
+        this.clavesTramos = rasterizar(nodos);
+    }
+
+    /**
+     * Descompone la poligonal en tramos de 1 km. Un segmento que no es horizontal ni vertical
+     * se recorre primero en X y luego en Y, como lo haría un camión por la grilla.
+     */
+    private static long[] rasterizar(List<Ubicacion> nodos) {
+        int total = 0;
+        for (int i = 1; i < nodos.size(); i++) {
+            total += nodos.get(i - 1).distanciaA(nodos.get(i));
+        }
+        long[] claves = new long[total];
+        int cantidad = 0;
+        for (int i = 1; i < nodos.size(); i++) {
+            int x = nodos.get(i - 1).getX();
+            int y = nodos.get(i - 1).getY();
+            Ubicacion hasta = nodos.get(i);
+            while (x != hasta.getX()) {
+                int siguiente = x + Integer.signum(hasta.getX() - x);
+                claves[cantidad++] = claveTramo(Math.min(x, siguiente), y, false);
+                x = siguiente;
+            }
+            while (y != hasta.getY()) {
+                int siguiente = y + Integer.signum(hasta.getY() - y);
+                claves[cantidad++] = claveTramo(x, Math.min(y, siguiente), true);
+                y = siguiente;
+            }
+        }
+        Arrays.sort(claves);
+        int distintos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (distintos == 0 || claves[i] != claves[distintos - 1]) {
+                claves[distintos++] = claves[i];
+            }
+        }
+        return Arrays.copyOf(claves, distintos);
+    }
+
+    /**
+     * Nanosegundos desde la época tomando la hora como UTC; permite comparar momentos sin
+     * crear objetos (las horas del sistema no tienen zona)
+     */
+    public static long aEpochNanos(LocalDateTime momento) {
+        return momento.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + momento.getNano();
+    }
+
+    private static long clave(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    // Tramo identificado por su extremo inferior (menor X o menor Y) y su dirección
+    private static long claveTramo(int x, int y, boolean vertical) {
+        return (clave(x, y) << 1) | (vertical ? 1 : 0);
+    }
+
+    /**
+     * @return true si el tramo entre dos nodos adyacentes es parte de la poligonal, sin considerar la hora
+     */
+    public boolean contieneTramo(int x1, int y1, int x2, int y2) {
+        if (Math.abs(x1 - x2) + Math.abs(y1 - y2) != 1) {
+            return false;
+        }
+        long clave = claveTramo(Math.min(x1, x2), Math.min(y1, y2), x1 == x2);
+        return Arrays.binarySearch(clavesTramos, clave) >= 0;
+    }
+
+    // Acceso a los tramos para el índice de bloqueos del mapa
+    int getNumTramos() {
+        return clavesTramos.length;
+    }
+
+    int getTramoX(int i) {
+        return (int) (clavesTramos[i] >> 33);
+    }
+
+    int getTramoY(int i) {
+        return (int) (clavesTramos[i] >>> 1);
+    }
+
+    boolean isTramoVertical(int i) {
+        return (clavesTramos[i] & 1) != 0;
+    }
+
+    /**
+     * @return true si el nodo (x, y) es uno de los nodos del bloqueo, sin considerar la hora
+     */
+    public boolean contieneNodo(int x, int y) {
+        return Arrays.binarySearch(clavesNodos, clave(x, y)) >= 0;
     }
 
     public List<Ubicacion> getNodosBloqueados() {
-        return new ArrayList<>(nodosBloqueados);
+        return Collections.unmodifiableList(nodosBloqueados);
     }
 
     /**
@@ -39,7 +150,7 @@ public class Bloqueo {
     public boolean estaBloqueado(Ubicacion nodo, LocalDateTime momento) {
         return (momento.isAfter(horaInicio) || momento.isEqual(horaInicio)) &&
                 (momento.isBefore(horaFin) || momento.isEqual(horaFin)) &&
-                nodosBloqueados.contains(nodo);
+                contieneNodo(nodo.getX(), nodo.getY());
     }
 
     /**
@@ -50,9 +161,12 @@ public class Bloqueo {
      * @return true si el tramo está bloqueado
      */
     public boolean tramoBloqueado(Ubicacion origen, Ubicacion destino, LocalDateTime momento) {
-        // Si ambos nodos son adyacentes y uno está bloqueado, el tramo está bloqueado
+        // Si ambos nodos son adyacentes y uno está bloqueado, o el tramo es parte de la
+        // poligonal, el tramo está bloqueado
         if (origen.distanciaA(destino) == 1) {
-            return estaBloqueado(origen, momento) || estaBloqueado(destino, momento);
+            return estaBloqueado(origen, momento) || estaBloqueado(destino, momento) ||
+                    (!momento.isBefore(horaInicio) && !momento.isAfter(horaFin) &&
+                            contieneTramo(origen.getX(), origen.getY(), destino.getX(), destino.getY()));
         }
         return false;
     }
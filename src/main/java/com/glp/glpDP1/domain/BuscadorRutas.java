@@ -0,0 +1,198 @@
+package com.glp.glpDP1.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Búsqueda A* sobre la grilla del mapa con arreglos planos indexados por y * columnas + x.
+ * La lista abierta es un montículo binario de claves long (f, h y celda empaquetados) y los
+ * valores g y padres viven en buffers por hilo que se reutilizan entre consultas: una marca
+ * de generación indica qué entradas pertenecen a la búsqueda actual, así que no hay que
+ * limpiarlos. Una consulta solo crea la lista de la ruta resultante.
+ * <p>
+ * Un nodo o un tramo de un bloqueo no se puede usar mientras el bloqueo está activo en el
+ * momento de llegada al nodo siguiente (intervalo abierto, como {@link Mapa#estaBloqueado}).
+ */
+final class BuscadorRutas {
+
+    // Vecinos: derecha, izquierda, arriba, abajo
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    private static final ThreadLocal<Memoria> MEMORIA = ThreadLocal.withInitial(Memoria::new);
+
+    private final int ancho;
+    private final int alto;
+    private final int columnas;
+    private final int numCeldas;
+    private final int bitsCelda;            // Bits de la celda en la clave del montículo
+    private final long mascaraCelda;
+
+    BuscadorRutas(int ancho, int alto) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.columnas = ancho + 1;
+        this.numCeldas = (ancho + 1) * (alto + 1);
+        // f y h no superan el número de celdas: caben en los mismos bits que la celda
+        this.bitsCelda = 32 - Integer.numberOfLeadingZeros(numCeldas);
+        if (3 * bitsCelda > 63) {
+            throw new IllegalArgumentException("Mapa demasiado grande para la búsqueda de rutas: " + ancho + "x" + alto);
+        }
+        this.mascaraCelda = (1L << bitsCelda) - 1;
+    }
+
+    /**
+     * Ruta más corta entre dos nodos del mapa
+     *
+     * @param bloqueos      Índice de los bloqueos a considerar
+     * @param momentoNanos  Momento de partida, en nanosegundos desde la época
+     * @param nanosPorTramo Tiempo de recorrer un tramo; con 0 todos los nodos se evalúan en el
+     *                      momento de partida
+     * @return Nodos de la ruta, origen y destino incluidos, o lista vacía si no hay ruta
+     */
+    List<Ubicacion> buscar(Ubicacion origen, Ubicacion destino, IndiceBloqueos bloqueos,
+                           long momentoNanos, long nanosPorTramo) {
+        if (!dentro(origen.getX(), origen.getY()) || !dentro(destino.getX(), destino.getY())) {
+            return new ArrayList<>();
+        }
+
+        Memoria memoria = MEMORIA.get();
+        memoria.preparar(numCeldas);
+        int generacion = memoria.generacion;
+        int[] sello = memoria.sello;
+        int[] cerrado = memoria.cerrado;
+        int[] g = memoria.g;
+        int[] padre = memoria.padre;
+
+        int celdaOrigen = origen.getY() * columnas + origen.getX();
+        int celdaDestino = destino.getY() * columnas + destino.getX();
+        int dx = destino.getX();
+        int dy = destino.getY();
+
+        sello[celdaOrigen] = generacion;
+        g[celdaOrigen] = 0;
+        padre[celdaOrigen] = -1;
+        int h0 = origen.distanciaA(destino);
+        memoria.insertar(clave(h0, h0, celdaOrigen));
+
+        while (memoria.tamañoMonticulo > 0) {
+            int celda = (int) (memoria.extraer() & mascaraCelda);
+            if (cerrado[celda] == generacion) {
+                continue; // Entrada obsoleta: la celda ya se expandió con un g menor
+            }
+            if (celda == celdaDestino) {
+                return reconstruir(padre, celdaDestino);
+            }
+            cerrado[celda] = generacion;
+
+            int x = celda % columnas;
+            int y = celda / columnas;
+            int nuevoG = g[celda] + 1;
+            long llegada = momentoNanos + nuevoG * nanosPorTramo;
+            for (int k = 0; k < 4; k++) {
+                int vx = x + DX[k];
+                int vy = y + DY[k];
+                if (!dentro(vx, vy)) {
+                    continue;
+                }
+                int vecino = vy * columnas + vx;
+                if (cerrado[vecino] == generacion || (sello[vecino] == generacion && g[vecino] <= nuevoG)) {
+                    continue;
+                }
+                if (bloqueos.bloqueado(vecino, llegada) || bloqueos.tramoBloqueado(celda, vecino, llegada)) {
+                    continue;
+                }
+                sello[vecino] = generacion;
+                g[vecino] = nuevoG;
+                padre[vecino] = celda;
+                int h = Math.abs(vx - dx) + Math.abs(vy - dy);
+                memoria.insertar(clave(nuevoG + h, h, vecino));
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    private boolean dentro(int x, int y) {
+        return x >= 0 && x <= ancho && y >= 0 && y <= alto;
+    }
+
+    // Orden del montículo: menor f, y a igual f el más cercano al destino
+    private long clave(int f, int h, int celda) {
+        return ((long) f << (2 * bitsCelda)) | ((long) h << bitsCelda) | celda;
+    }
+
+    private List<Ubicacion> reconstruir(int[] padre, int celdaDestino) {
+        List<Ubicacion> ruta = new ArrayList<>();
+        for (int celda = celdaDestino; celda != -1; celda = padre[celda]) {
+            ruta.add(new Ubicacion(celda % columnas, celda / columnas));
+        }
+        Collections.reverse(ruta);
+        return ruta;
+    }
+
+    /**
+     * Buffers de búsqueda de un hilo; crecen al tamaño del mayor mapa consultado
+     */
+    private static final class Memoria {
+        int generacion;
+        int[] sello = new int[0];           // Generación en que se asignó g a la celda
+        int[] cerrado = new int[0];         // Generación en que se expandió la celda
+        int[] g = new int[0];
+        int[] padre = new int[0];
+        long[] monticulo = new long[0];
+        int tamañoMonticulo;
+
+        void preparar(int numCeldas) {
+            if (sello.length < numCeldas) {
+                sello = new int[numCeldas];
+                cerrado = new int[numCeldas];
+                g = new int[numCeldas];
+                padre = new int[numCeldas];
+                // Cada celda entra a la lista abierta a lo sumo una vez por vecino
+                monticulo = new long[4 * numCeldas + 1];
+                generacion = 0;
+            }
+            if (++generacion == Integer.MAX_VALUE) {
+                Arrays.fill(sello, 0);
+                Arrays.fill(cerrado, 0);
+                generacion = 1;
+            }
+            tamañoMonticulo = 0;
+        }
+
+        void insertar(long clave) {
+            int i = tamañoMonticulo++;
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (monticulo[padre] <= clave) {
+                    break;
+                }
+                monticulo[i] = monticulo[padre];
+                i = padre;
+            }
+            monticulo[i] = clave;
+        }
+
+        long extraer() {
+            long minimo = monticulo[0];
+            long ultimo = monticulo[--tamañoMonticulo];
+            int i = 0;
+            int mitad = tamañoMonticulo >>> 1;
+            while (i < mitad) {
+                int hijo = 2 * i + 1;
+                if (hijo + 1 < tamañoMonticulo && monticulo[hijo + 1] < monticulo[hijo]) {
+                    hijo++;
+                }
+                if (ultimo <= monticulo[hijo]) {
+                    break;
+                }
+                monticulo[i] = monticulo[hijo];
+                i = hijo;
+            }
+            monticulo[i] = ultimo;
+            return minimo;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.glp.glpDP1.domain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache acotado (LRU) de rutas calculadas por el mapa, seguro para varios hilos. Las entradas
+ * se reparten en segmentos con su propio candado para que las búsquedas concurrentes (islas del
+ * algoritmo genético, simulación) no se bloqueen entre sí; cada segmento desaloja su entrada
+ * menos usada al llenarse.
+ * <p>
+ * La clave es un long armado por quien usa el cache (origen, destino y momento). El sello
+ * guarda los datos que no entran en la clave, como la versión de los bloqueos: una entrada con
+ * otro sello cuenta como fallo, así que una ruta calculada con bloqueos anteriores no se sirve
+ * aunque llegue al cache después de limpiarlo.
+ */
+public class CacheRutas {
+
+    private static final int SEGMENTOS = 16;
+
+    private final int capacidad;
+    private final Segmento[] segmentos;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    /**
+     * @param capacidad Número máximo de rutas guardadas; si es 0 o menor el cache queda deshabilitado
+     */
+    public CacheRutas(int capacidad) {
+        this.capacidad = Math.max(capacidad, 0);
+        // Los primeros segmentos reciben el resto de la división: entre todos suman la capacidad exacta
+        this.segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(this.capacidad / SEGMENTOS + (i < this.capacidad % SEGMENTOS ? 1 : 0));
+        }
+    }
+
+    /**
+     * Busca una ruta
+     *
+     * @return Copia de la ruta guardada, o null si no está o se calculó con otro sello
+     */
+    public List<Ubicacion> buscar(long clave, long sello) {
+        if (capacidad == 0) {
+            return null;
+        }
+        Segmento segmento = segmento(clave);
+        Entrada entrada;
+        synchronized (segmento) {
+            entrada = segmento.get(clave);
+        }
+        if (entrada != null && entrada.sello == sello) {
+            aciertos.increment();
+            return new ArrayList<>(entrada.ruta);
+        }
+        fallos.increment();
+        return null;
+    }
+
+    /**
+     * Guarda una ruta, desalojando la menos usada de su segmento si está lleno
+     */
+    public void guardar(long clave, long sello, List<Ubicacion> ruta) {
+        if (capacidad == 0) {
+            return;
+        }
+        Entrada entrada = new Entrada(sello, List.copyOf(ruta));
+        Segmento segmento = segmento(clave);
+        synchronized (segmento) {
+            segmento.put(clave, entrada);
+        }
+    }
+
+    /**
+     * Descarta todas las rutas (los contadores se conservan)
+     */
+    public void limpiar() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+            }
+        }
+    }
+
+    private Segmento segmento(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return segmentos[(int) (h >>> 60)];
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getTamaño() {
+        int tamaño = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                tamaño += segmento.size();
+            }
+        }
+        return tamaño;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    /**
+     * @return Proporción de búsquedas resueltas por el cache (0 si no hubo búsquedas)
+     */
+    public double getTasaAciertos() {
+        long total = getAciertos() + getFallos();
+        return total == 0 ? 0.0 : (double) getAciertos() / total;
+    }
+
+    private class Segmento extends LinkedHashMap<Long, Entrada> {
+        private final int capacidadSegmento;
+
+        private Segmento(int capacidadSegmento) {
+            super(16, 0.75f, true);
+            this.capacidadSegmento = capacidadSegmento;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entrada> eldest) {
+            if (size() > capacidadSegmento) {
+                desalojos.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Entrada {
+        private final long sello;
+        private final List<Ubicacion> ruta;
+
+        private Entrada(long sello, List<Ubicacion> ruta) {
+            this.sello = sello;
+            this.ruta = ruta;
+        }
+    }
+}
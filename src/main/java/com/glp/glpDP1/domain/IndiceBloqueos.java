@@ -0,0 +1,300 @@
+package com.glp.glpDP1.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice de bloqueos de la grilla: para cada nodo y cada tramo de 1 km guarda los intervalos
+ * de tiempo (abiertos, en nanosegundos desde la época) en que está bloqueado, ordenados y
+ * fusionados, en arreglos planos compartidos. Consultar un nodo o un tramo es una búsqueda
+ * binaria entre sus intervalos, casi siempre uno o dos, sin crear objetos.
+ * <p>
+ * Posiciones: el nodo c (y * columnas + x) usa la posición c; el tramo de c hacia la derecha,
+ * numCeldas + c; el tramo de c hacia arriba, 2 * numCeldas + c.
+ * <p>
+ * También numera los conjuntos de bloqueos activos: los inicios y fines de los bloqueos
+ * parten el tiempo en segmentos en los que el conjunto activo no cambia, y los segmentos con
+ * el mismo conjunto (por ejemplo, todos los que no tienen bloqueos, número 0) comparten número.
+ * Dos consultas sin tiempo con el mismo número ven exactamente los mismos bloqueos.
+ * <p>
+ * Es inmutable: el mapa lo reconstruye cuando cambian sus bloqueos filtrados.
+ */
+final class IndiceBloqueos {
+
+    private final long version;             // Identifica el índice en los caches de rutas
+    private final int ancho;
+    private final int alto;
+    private final int columnas;
+    private final int numCeldas;
+    private final int[] primerIntervalo;    // Intervalos de la posición p: [primerIntervalo[p], primerIntervalo[p + 1])
+    private final long[] desde;
+    private final long[] hasta;
+    private final long[] limites;           // Inicios y fines de los bloqueos, ordenados y sin repetir
+    private final int[] conjuntoSegmento;   // Conjunto activo de cada segmento de tiempo (ver conjuntoActivo)
+
+    private IndiceBloqueos(long version, int ancho, int alto, int[] primerIntervalo, long[] desde, long[] hasta,
+                           long[] limites, int[] conjuntoSegmento) {
+        this.version = version;
+        this.ancho = ancho;
+        this.alto = alto;
+        this.columnas = ancho + 1;
+        this.numCeldas = (ancho + 1) * (alto + 1);
+        this.primerIntervalo = primerIntervalo;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.limites = limites;
+        this.conjuntoSegmento = conjuntoSegmento;
+    }
+
+    static IndiceBloqueos construir(List<Bloqueo> bloqueos, int ancho, int alto, long version) {
+        int columnas = ancho + 1;
+        int numCeldas = columnas * (alto + 1);
+        int numPosiciones = 3 * numCeldas;
+        int[] primero = new int[numPosiciones + 1];
+        if (bloqueos == null || bloqueos.isEmpty()) {
+            return new IndiceBloqueos(version, ancho, alto, primero, new long[0], new long[0], new long[0], new int[1]);
+        }
+
+        // Contar los intervalos de cada posición y repartir los arreglos
+        for (Bloqueo bloqueo : bloqueos) {
+            if (bloqueo.getFinNanos() > bloqueo.getInicioNanos()) {
+                recorrerPosiciones(bloqueo, ancho, alto, p -> primero[p + 1]++);
+            }
+        }
+        for (int p = 0; p < numPosiciones; p++) {
+            primero[p + 1] += primero[p];
+        }
+        long[] desde = new long[primero[numPosiciones]];
+        long[] hasta = new long[primero[numPosiciones]];
+        int[] siguiente = Arrays.copyOf(primero, numPosiciones);
+        for (Bloqueo bloqueo : bloqueos) {
+            if (bloqueo.getFinNanos() > bloqueo.getInicioNanos()) {
+                recorrerPosiciones(bloqueo, ancho, alto, p -> {
+                    int k = siguiente[p]++;
+                    desde[k] = bloqueo.getInicioNanos();
+                    hasta[k] = bloqueo.getFinNanos();
+                });
+            }
+        }
+
+        // Ordenar los intervalos de cada posición y fusionar los que se solapan, compactando en el lugar.
+        // Dos intervalos abiertos que solo se tocan no se fusionan: el instante común está libre
+        int escritos = 0;
+        int inicio = 0;
+        for (int p = 0; p < numPosiciones; p++) {
+            int fin = primero[p + 1];
+            ordenar(desde, hasta, inicio, fin);
+            primero[p] = escritos;
+            for (int k = inicio; k < fin; k++) {
+                if (escritos > primero[p] && desde[k] < hasta[escritos - 1]) {
+                    hasta[escritos - 1] = Math.max(hasta[escritos - 1], hasta[k]);
+                } else {
+                    desde[escritos] = desde[k];
+                    hasta[escritos] = hasta[k];
+                    escritos++;
+                }
+            }
+            inicio = fin;
+        }
+        primero[numPosiciones] = escritos;
+
+        List<Bloqueo> vigentes = new ArrayList<>();
+        for (Bloqueo bloqueo : bloqueos) {
+            if (bloqueo.getFinNanos() > bloqueo.getInicioNanos()) {
+                vigentes.add(bloqueo);
+            }
+        }
+        long[] limites = limites(vigentes);
+        return new IndiceBloqueos(version, ancho, alto, primero, Arrays.copyOf(desde, escritos), Arrays.copyOf(hasta, escritos),
+                limites, numerarConjuntos(vigentes, limites));
+    }
+
+    private static long[] limites(List<Bloqueo> bloqueos) {
+        long[] limites = new long[2 * bloqueos.size()];
+        for (int i = 0; i < bloqueos.size(); i++) {
+            limites[2 * i] = bloqueos.get(i).getInicioNanos();
+            limites[2 * i + 1] = bloqueos.get(i).getFinNanos();
+        }
+        Arrays.sort(limites);
+        int distintos = 0;
+        for (int i = 0; i < limites.length; i++) {
+            if (distintos == 0 || limites[i] != limites[distintos - 1]) {
+                limites[distintos++] = limites[i];
+            }
+        }
+        return Arrays.copyOf(limites, distintos);
+    }
+
+    /**
+     * Segmento 2k: instantes entre limites[k - 1] y limites[k] (abierto; los extremos del
+     * tiempo para k = 0 y k = limites.length). Segmento 2k + 1: el instante limites[k].
+     * Como los bloqueos son intervalos abiertos, en un límite puede haber menos bloqueos
+     * activos que a ambos lados.
+     */
+    private static int[] numerarConjuntos(List<Bloqueo> bloqueos, long[] limites) {
+        int[] conjuntoSegmento = new int[2 * limites.length + 1];
+        Map<BitSet, Integer> numeros = new HashMap<>();
+        numeros.put(new BitSet(), 0);
+        for (int s = 0; s < conjuntoSegmento.length; s++) {
+            int k = s / 2;
+            BitSet activos = new BitSet(bloqueos.size());
+            for (int b = 0; b < bloqueos.size(); b++) {
+                Bloqueo bloqueo = bloqueos.get(b);
+                boolean activo;
+                if (s % 2 == 1) {
+                    activo = bloqueo.getInicioNanos() < limites[k] && limites[k] < bloqueo.getFinNanos();
+                } else {
+                    // Activo en todo el segmento si empieza en o antes de su comienzo y termina en o después de su fin
+                    activo = k > 0 && k < limites.length &&
+                            bloqueo.getInicioNanos() <= limites[k - 1] && bloqueo.getFinNanos() >= limites[k];
+                }
+                if (activo) {
+                    activos.set(b);
+                }
+            }
+            Integer numero = numeros.get(activos);
+            if (numero == null) {
+                numero = numeros.size();
+                numeros.put(activos, numero);
+            }
+            conjuntoSegmento[s] = numero;
+        }
+        return conjuntoSegmento;
+    }
+
+    /**
+     * Posiciones del índice afectadas por el bloqueo: sus nodos y los tramos de su poligonal
+     * dentro del mapa
+     */
+    private static void recorrerPosiciones(Bloqueo bloqueo, int ancho, int alto, IntConsumer accion) {
+        int columnas = ancho + 1;
+        int numCeldas = columnas * (alto + 1);
+        for (Ubicacion nodo : bloqueo.getNodosBloqueados()) {
+            if (nodo.getX() >= 0 && nodo.getX() <= ancho && nodo.getY() >= 0 && nodo.getY() <= alto) {
+                accion.accept(nodo.getY() * columnas + nodo.getX());
+            }
+        }
+        for (int i = 0; i < bloqueo.getNumTramos(); i++) {
+            int x = bloqueo.getTramoX(i);
+            int y = bloqueo.getTramoY(i);
+            boolean vertical = bloqueo.isTramoVertical(i);
+            if (x < 0 || y < 0 || (vertical ? x > ancho || y >= alto : x >= ancho || y > alto)) {
+                continue;
+            }
+            accion.accept((vertical ? 2 : 1) * numCeldas + y * columnas + x);
+        }
+    }
+
+    // Inserción: cada posición tiene muy pocos intervalos
+    private static void ordenar(long[] desde, long[] hasta, int inicio, int fin) {
+        for (int i = inicio + 1; i < fin; i++) {
+            long d = desde[i];
+            long h = hasta[i];
+            int j = i - 1;
+            while (j >= inicio && desde[j] > d) {
+                desde[j + 1] = desde[j];
+                hasta[j + 1] = hasta[j];
+                j--;
+            }
+            desde[j + 1] = d;
+            hasta[j + 1] = h;
+        }
+    }
+
+    /**
+     * @return Número del conjunto de bloqueos activos en el momento (0 = ninguno)
+     */
+    int conjuntoActivo(long momentoNanos) {
+        int k = Arrays.binarySearch(limites, momentoNanos);
+        return conjuntoSegmento[k >= 0 ? 2 * k + 1 : 2 * (-k - 1)];
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    boolean estaVacio() {
+        return desde.length == 0;
+    }
+
+    /**
+     * @return true si el nodo (x, y) está bloqueado en el momento; fuera del mapa no hay bloqueos
+     */
+    boolean bloqueado(int x, int y, long momentoNanos) {
+        if (x < 0 || x > ancho || y < 0 || y > alto) {
+            return false;
+        }
+        return bloqueado(y * columnas + x, momentoNanos);
+    }
+
+    /**
+     * @param celda Índice y * (ancho + 1) + x
+     */
+    boolean bloqueado(int celda, long momentoNanos) {
+        return consultar(celda, momentoNanos);
+    }
+
+    /**
+     * @return true si el tramo entre dos celdas adyacentes está bloqueado en el momento
+     */
+    boolean tramoBloqueado(int celdaA, int celdaB, long momentoNanos) {
+        int menor = Math.min(celdaA, celdaB);
+        int diferencia = Math.abs(celdaA - celdaB);
+        return consultar((diferencia == 1 ? 1 : 2) * numCeldas + menor, momentoNanos);
+    }
+
+    /**
+     * @return true si los nodos (x1, y1) y (x2, y2) son adyacentes y el tramo está bloqueado en el momento
+     */
+    boolean tramoBloqueado(int x1, int y1, int x2, int y2, long momentoNanos) {
+        if (Math.abs(x1 - x2) + Math.abs(y1 - y2) != 1 ||
+                x1 < 0 || x1 > ancho || y1 < 0 || y1 > alto || x2 < 0 || x2 > ancho || y2 < 0 || y2 > alto) {
+            return false;
+        }
+        return tramoBloqueado(y1 * columnas + x1, y2 * columnas + x2, momentoNanos);
+    }
+
+    /**
+     * Posiciones bloqueadas en algún instante de la ventana cerrada [desde, hasta]; como los
+     * bloqueos son intervalos abiertos, uno que empieza en 'hasta' o termina en 'desde' no cuenta
+     *
+     * @return Una marca por posición (nodos y tramos, con las posiciones descritas en la clase)
+     */
+    boolean[] bloqueadosEnVentana(long desdeNanos, long hastaNanos) {
+        boolean[] bloqueados = new boolean[3 * numCeldas];
+        for (int p = 0; p < bloqueados.length; p++) {
+            // El último que empieza antes del fin de la ventana es también el que termina más tarde
+            int candidato = ultimoQueEmpiezaAntes(p, hastaNanos);
+            bloqueados[p] = candidato >= 0 && hasta[candidato] > desdeNanos;
+        }
+        return bloqueados;
+    }
+
+    private boolean consultar(int posicion, long momentoNanos) {
+        // Los intervalos son disjuntos y ordenados: solo el último que empieza antes del
+        // momento puede contenerlo
+        int candidato = ultimoQueEmpiezaAntes(posicion, momentoNanos);
+        return candidato >= 0 && momentoNanos < hasta[candidato];
+    }
+
+    private int ultimoQueEmpiezaAntes(int posicion, long momentoNanos) {
+        int inferior = primerIntervalo[posicion];
+        int superior = primerIntervalo[posicion + 1] - 1;
+        int candidato = -1;
+        while (inferior <= superior) {
+            int medio = (inferior + superior) >>> 1;
+            if (desde[medio] < momentoNanos) {
+                candidato = medio;
+                inferior = medio + 1;
+            } else {
+                superior = medio - 1;
+            }
+        }
+        return candidato;
+    }
+}
@@ -1,35 +1,90 @@
 package com.glp.glpDP1.domain;
 
 import com.glp.glpDP1.domain.enums.TipoAlmacen;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Setter
+@Slf4j
 public class Mapa {
+    private static final int CAPACIDAD_CACHE_RUTAS = 20_000;
+
     private final int ancho;      // Dimensión en el eje X (km)
     private final int alto;       // Dimensión en el eje Y (km)
     private final List<Bloqueo> bloqueos;
     private List<Bloqueo> bloqueosFiltrados;
     private final List<Almacen> almacenes;
 
-    // Cache simple
-    private final Map<String, CachedRoute> routeCache = new HashMap<>();
-
-    private static class CachedRoute {
-        final List<Ubicacion> ruta;
-        final LocalDateTime timestamp;
+    // Índice por celda de los bloqueos filtrados; se reconstruye cada vez que cambian
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile IndiceBloqueos indiceBloqueos;
+
+    // Rango del último filtro por fecha, para volver a aplicarlo si cambian los bloqueos
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean filtroAplicado;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private LocalDate filtroInicio;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private LocalDate filtroFin;
+
+    // Búsqueda A* sobre arreglos planos
+    @Getter(AccessLevel.NONE)
+    private final BuscadorRutas buscador;
+
+    // Rutas calculadas con tiempo y sin tiempo; sus contadores se exponen con estadisticasCacheRutas()
+    @Getter(AccessLevel.NONE)
+    private final CacheRutas cacheRutas = new CacheRutas(CAPACIDAD_CACHE_RUTAS);
+    @Getter(AccessLevel.NONE)
+    private final CacheRutas cacheRutasSinTiempo = new CacheRutas(CAPACIDAD_CACHE_RUTAS);
+    @Getter(AccessLevel.NONE)
+    private final int bitsCelda;            // Bits de cada celda en la clave del cache
+
+    // Versión de los bloqueos filtrados: numera cada índice reconstruido
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long versionFiltro;
+
+    // Distancias reales (BFS sobre la grilla) desde cada origen, por índice de bloqueos y
+    // ventana de planificación; se conservan los de las últimas ventanas consultadas
+    private static final int MAX_CAMPOS_DISTANCIA = 4;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Deque<CampoDistancias> camposDistancia = new ArrayDeque<>();
+
+    private static class CampoDistancias {
+        final long version;
+        final long inicioNanos;
+        final long finNanos;
+        final boolean[] bloqueados;         // Posiciones de IndiceBloqueos bloqueadas en la ventana
+        final boolean hayBloqueos;
+        final Map<Integer, int[]> distanciasPorOrigen = new ConcurrentHashMap<>();
+
+        CampoDistancias(long version, long inicioNanos, long finNanos, boolean[] bloqueados, boolean hayBloqueos) {
+            this.version = version;
+            this.inicioNanos = inicioNanos;
+            this.finNanos = finNanos;
+            this.bloqueados = bloqueados;
+            this.hayBloqueos = hayBloqueos;
+        }
 
-        CachedRoute(List<Ubicacion> ruta, LocalDateTime timestamp) {
-            this.ruta = new ArrayList<>(ruta);
-            this.timestamp = timestamp;
+        boolean corresponde(long version, long inicioNanos, long finNanos) {
+            return this.version == version && this.inicioNanos == inicioNanos && this.finNanos == finNanos;
         }
     }
 
+
     // Constructor por defecto, usa los valores del enunciado
     public Mapa() {
         this(70, 50);
@@ -40,6 +95,9 @@ public class Mapa {
         this.alto = alto;
         this.bloqueos = new ArrayList<>();
         this.almacenes = new ArrayList<>();
+        this.buscador = new BuscadorRutas(ancho, alto);
+        this.bitsCelda = 32 - Integer.numberOfLeadingZeros((ancho + 1) * (alto + 1));
+        this.indiceBloqueos = IndiceBloqueos.construir(null, ancho, alto, 0);
 
         // Inicializar almacenes predeterminados
         inicializarAlmacenes();
@@ -49,7 +107,18 @@ public class Mapa {
         this.bloqueos.clear();
         this.bloqueos.addAll(bloqueos);
         // Limpiar cache al cambiar bloqueos
-        routeCache.clear();
+        cacheRutas.limpiar();
+        cacheRutasSinTiempo.limpiar();
+        if (filtroAplicado) {
+            aplicarFiltro();
+        }
+    }
+
+    public synchronized void setBloqueosFiltrados(List<Bloqueo> bloqueosFiltrados) {
+        this.bloqueosFiltrados = bloqueosFiltrados;
+        this.indiceBloqueos = IndiceBloqueos.construir(bloqueosFiltrados, ancho, alto, ++versionFiltro);
+        cacheRutas.limpiar();
+        cacheRutasSinTiempo.limpiar();
     }
 
     private void inicializarAlmacenes() {
@@ -68,6 +137,9 @@ public class Mapa {
 
     public void agregarBloqueo(Bloqueo bloqueo) {
         bloqueos.add(bloqueo);
+        if (filtroAplicado) {
+            aplicarFiltro();
+        }
     }
 
     /**
@@ -129,7 +201,8 @@ public class Mapa {
 
     /**
      * Encuentra la ruta más corta entre dos ubicaciones considerando bloqueos
-     * Implementación de algoritmo A* (A-star)
+     * Implementación de algoritmo A* (A-star). Las rutas se guardan en cache por origen,
+     * destino y conjunto de bloqueos activos en el momento.
      *
      * @param origen Ubicación de origen
      * @param destino Ubicación de destino
@@ -149,71 +222,25 @@ public class Mapa {
             return rutaSimple;
         }
 
-        // Conjunto de nodos visitados
-        Set<Ubicacion> visitados = new HashSet<>();
-
-        // Cola de prioridad para los nodos a explorar (ordenados por f = g + h)
-        PriorityQueue<NodoRuta> abiertos = new PriorityQueue<>(
-                Comparator.comparingInt(n -> n.g + n.h)
-        );
-
-        // Mapa para reconstruir la ruta
-        Map<Ubicacion, Ubicacion> padres = new HashMap<>();
-
-        // Mapa de valores g (costo real hasta el nodo)
-        Map<Ubicacion, Integer> valoresG = new HashMap<>();
-
-        // Inicializar con el nodo origen
-        abiertos.add(new NodoRuta(origen, 0, origen.distanciaA(destino)));
-        valoresG.put(origen, 0);
-
-        while (!abiertos.isEmpty()) {
-            // Extraer el nodo con menor f = g + h
-            NodoRuta nodoActual = abiertos.poll();
-            Ubicacion actual = nodoActual.ubicacion;
-
-            // Si llegamos al destino, reconstruir y devolver la ruta
-            if (actual.equals(destino)) {
-                return reconstruirRuta(padres, destino);
-            }
-
-            // Marcar como visitado
-            visitados.add(actual);
-
-            // Explorar los vecinos en las 8 direcciones para mayor flexibilidad
-            List<Ubicacion> vecinos = obtenerVecinos(actual);
-
-            for (Ubicacion vecino : vecinos) {
-                // Verificar si el vecino es válido (dentro del mapa y no bloqueado)
-                if (!esUbicacionValida(vecino) ||
-                        estaBloqueado(vecino, momento) ||
-                        tramoBloqueado(actual, vecino, momento) ||
-                        visitados.contains(vecino)) {
-                    continue;
-                }
-
-                // Calcular el nuevo valor de g (costo real)
-                int nuevoG = valoresG.get(actual) + 1;  // Costo de moverse a un vecino adyacente = 1
-
-                // Si no está en la lista abierta o encontramos un camino mejor
-                if (!valoresG.containsKey(vecino) || nuevoG < valoresG.get(vecino)) {
-                    // Actualizar el mapa de padres
-                    padres.put(vecino, actual);
-
-                    // Actualizar el valor de g
-                    valoresG.put(vecino, nuevoG);
-
-                    // Calcular la heurística (distancia Manhattan al destino)
-                    int h = vecino.distanciaA(destino);
+        if (!esUbicacionValida(origen) || !esUbicacionValida(destino)) {
+            return new ArrayList<>();
+        }
 
-                    // Añadir a la lista abierta
-                    abiertos.add(new NodoRuta(vecino, nuevoG, h));
-                }
-            }
+        // La ruta solo depende de qué bloqueos están activos en el momento: se comparte entre
+        // camiones y días con el mismo conjunto activo (el número es relativo al índice, cuya
+        // versión es el sello)
+        IndiceBloqueos indice = indiceBloqueos;
+        long sello = indice.getVersion();
+        long momentoNanos = Bloqueo.aEpochNanos(momento);
+        long clave = claveRuta(origen, destino, indice.conjuntoActivo(momentoNanos));
+        List<Ubicacion> cacheada = cacheRutasSinTiempo.buscar(clave, sello);
+        if (cacheada != null) {
+            return cacheada;
         }
 
-        // Si llegamos aquí, no hay ruta posible
-        return new ArrayList<>();
+        List<Ubicacion> ruta = buscador.buscar(origen, destino, indice, momentoNanos, 0L);
+        cacheRutasSinTiempo.guardar(clave, sello, ruta);
+        return ruta;
     }
 
     /**
@@ -226,41 +253,52 @@ public class Mapa {
      */
     public List<Ubicacion> encontrarRutaConTiempo(Ubicacion origen, Ubicacion destino,
                                                   LocalDateTime momentoInicio, double velocidadKmH) {
+        IndiceBloqueos indice = indiceBloqueos;
+        if (!esUbicacionValida(origen) || !esUbicacionValida(destino)) {
+            return encontrarRutaOriginal(origen, destino, momentoInicio, velocidadKmH, indice);
+        }
 
-        // Key basada SOLO en posición y momento de SIMULACIÓN
-        String key = String.format("%d,%d->%d,%d@%02d:%02d",
-                origen.getX(), origen.getY(),
-                destino.getX(), destino.getY(),
-                momentoInicio.getHour(), momentoInicio.getMinute());
-
-        CachedRoute cached = routeCache.get(key);
-        if (cached != null) {
-            // Si dos hormigas consultan EXACTAMENTE la misma ruta
-            // en el MISMO momento de simulación, usan cache
-            return new ArrayList<>(cached.ruta);
+        // Consultas del mismo par en el mismo minuto comparten la ruta; los bloqueos filtrados
+        // y la velocidad no entran en la clave y se comprueban con el sello
+        long segundosViaje = (long) (1.0 / velocidadKmH * 3600);
+        long clave = claveRuta(origen, destino, Math.floorDiv(Bloqueo.aEpochNanos(momentoInicio), 60_000_000_000L));
+        long sello = (indice.getVersion() << 24) ^ segundosViaje;
+        List<Ubicacion> cacheada = cacheRutas.buscar(clave, sello);
+        if (cacheada != null) {
+            return cacheada;
         }
 
         // Calcular con A*
-        List<Ubicacion> ruta = encontrarRutaOriginal(origen, destino, momentoInicio, velocidadKmH);
+        List<Ubicacion> ruta = encontrarRutaOriginal(origen, destino, momentoInicio, velocidadKmH, indice);
 
         // Guardar en cache
         if (!ruta.isEmpty()) {
-            routeCache.put(key, new CachedRoute(ruta, momentoInicio));
+            cacheRutas.guardar(clave, sello, ruta);
         }
 
         return ruta;
     }
 
+    /**
+     * Clave de los caches de rutas: minuto desde la época o conjunto de bloqueos activos,
+     * celda de origen y celda de destino
+     */
+    private long claveRuta(Ubicacion origen, Ubicacion destino, long momento) {
+        return (momento << (2 * bitsCelda)) | ((long) indiceCelda(origen) << bitsCelda) | indiceCelda(destino);
+    }
+
     /**
      * Encuentra la ruta más corta considerando bloqueos en los tiempos futuros de llegada
      * @param origen Ubicación de origen
      * @param destino Ubicación de destino
      * @param momentoInicio Momento de inicio del recorrido
      * @param velocidadKmH Velocidad del camión en km/h
+     * @param indice Índice de bloqueos con el que se calcula (el mismo que da el sello del cache)
      * @return Lista de ubicaciones que forman la ruta, o lista vacía si no hay ruta posible
      */
     private List<Ubicacion> encontrarRutaOriginal(Ubicacion origen, Ubicacion destino,
-                                                  LocalDateTime momentoInicio, double velocidadKmH) {
+                                                  LocalDateTime momentoInicio, double velocidadKmH,
+                                                  IndiceBloqueos indice) {
         // Si origen y destino son iguales, la ruta es el propio punto
         if (origen.equals(destino)) {
             List<Ubicacion> rutaSimple = new ArrayList<>();
@@ -269,153 +307,168 @@ public class Mapa {
         }
 
         // Si origen está bloqueado en el momento inicial, no hay ruta
-        if (estaBloqueado(origen, momentoInicio)) {
+        if (indice.bloqueado(origen.getX(), origen.getY(), Bloqueo.aEpochNanos(momentoInicio))) {
             return new ArrayList<>();
         }
 
-        // Conjunto de nodos visitados
-        Set<Ubicacion> visitados = new HashSet<>();
-
-        // Cola de prioridad para los nodos a explorar (ordenados por f = g + h)
-        PriorityQueue<NodoRutaTemporal> abiertos = new PriorityQueue<>(
-                Comparator.comparingInt(n -> n.g + n.h)
-        );
-
-        // Mapa para reconstruir la ruta
-        Map<Ubicacion, Ubicacion> padres = new HashMap<>();
-
-        // Mapa de valores g (costo real hasta el nodo)
-        Map<Ubicacion, Integer> valoresG = new HashMap<>();
-
-        // Mapa de tiempos de llegada a cada nodo
-        Map<Ubicacion, LocalDateTime> tiemposLlegada = new HashMap<>();
-
-        // Inicializar con el nodo origen
-        abiertos.add(new NodoRutaTemporal(origen, 0, origen.distanciaA(destino), momentoInicio));
-        valoresG.put(origen, 0);
-        tiemposLlegada.put(origen, momentoInicio);
-
-        while (!abiertos.isEmpty()) {
-            // Extraer el nodo con menor f = g + h
-            NodoRutaTemporal nodoActual = abiertos.poll();
-            Ubicacion actual = nodoActual.ubicacion;
-            LocalDateTime tiempoActual = nodoActual.tiempoLlegada;
-
-            // Si llegamos al destino, reconstruir y devolver la ruta
-            if (actual.equals(destino)) {
-                return reconstruirRuta(padres, destino);
-            }
-
-            // Marcar como visitado
-            visitados.add(actual);
-
-            // Explorar los vecinos en las 4 direcciones
-            List<Ubicacion> vecinos = obtenerVecinos(actual);
-
-            for (Ubicacion vecino : vecinos) {
-                // Calcular tiempo de llegada al vecino
-                long segundosViaje = (long) (1.0 / velocidadKmH * 3600); // 1 km a la velocidad dada
-                LocalDateTime tiempoLlegadaVecino = tiempoActual.plusSeconds(segundosViaje);
-
-                // Verificar si el vecino es válido (dentro del mapa y no bloqueado en el momento de llegada)
-                if (!esUbicacionValida(vecino) ||
-                        estaBloqueado(vecino, tiempoLlegadaVecino) ||
-                        tramoBloqueado(actual, vecino, tiempoLlegadaVecino) ||
-                        visitados.contains(vecino)) {
-                    continue;
-                }
-
-                // Calcular el nuevo valor de g (costo real)
-                int nuevoG = valoresG.get(actual) + 1;  // Costo de moverse a un vecino adyacente = 1
-
-                // Si no está en la lista abierta o encontramos un camino mejor
-                if (!valoresG.containsKey(vecino) || nuevoG < valoresG.get(vecino)) {
-                    // Actualizar el mapa de padres
-                    padres.put(vecino, actual);
-
-                    // Actualizar el valor de g
-                    valoresG.put(vecino, nuevoG);
-
-                    // Actualizar tiempo de llegada
-                    tiemposLlegada.put(vecino, tiempoLlegadaVecino);
-
-                    // Calcular la heurística (distancia Manhattan al destino)
-                    int h = vecino.distanciaA(destino);
-
-                    // Añadir a la lista abierta
-                    abiertos.add(new NodoRutaTemporal(vecino, nuevoG, h, tiempoLlegadaVecino));
-                }
-            }
-        }
-
-        // Si llegamos aquí, no hay ruta posible
-        return new ArrayList<>();
+        // Segundos (enteros) para recorrer un tramo de 1 km a la velocidad dada
+        long segundosViaje = (long) (1.0 / velocidadKmH * 3600);
+        return buscador.buscar(origen, destino, indice, Bloqueo.aEpochNanos(momentoInicio),
+                segundosViaje * 1_000_000_000L);
     }
 
     /**
-     * Clase auxiliar para el algoritmo A* con tiempo
+     * Contadores de los caches de rutas con tiempo ("conTiempo") y sin tiempo ("sinTiempo")
      */
-    private static class NodoRutaTemporal {
-        private final Ubicacion ubicacion;
-        private final int g;  // Costo real desde origen
-        private final int h;  // Heurística (estimación) hasta destino
-        private final LocalDateTime tiempoLlegada;  // Tiempo estimado de llegada
-
-        public NodoRutaTemporal(Ubicacion ubicacion, int g, int h, LocalDateTime tiempoLlegada) {
-            this.ubicacion = ubicacion;
-            this.g = g;
-            this.h = h;
-            this.tiempoLlegada = tiempoLlegada;
-        }
+    public Map<String, Object> estadisticasCacheRutas() {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("conTiempo", estadisticas(cacheRutas));
+        estadisticas.put("sinTiempo", estadisticas(cacheRutasSinTiempo));
+        return estadisticas;
     }
 
-    // Método auxiliar para obtener todos los vecinos posibles
-    private List<Ubicacion> obtenerVecinos(Ubicacion ubicacion) {
-        List<Ubicacion> vecinos = new ArrayList<>();
+    private static Map<String, Object> estadisticas(CacheRutas cache) {
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("capacidad", cache.getCapacidad());
+        estadisticas.put("tamaño", cache.getTamaño());
+        estadisticas.put("aciertos", cache.getAciertos());
+        estadisticas.put("fallos", cache.getFallos());
+        estadisticas.put("desalojos", cache.getDesalojos());
+        estadisticas.put("tasaAciertos", cache.getTasaAciertos());
+        return estadisticas;
+    }
 
-        // Movimientos en las cuatro direcciones principales
-        vecinos.add(new Ubicacion(ubicacion.getX() + 1, ubicacion.getY()));  // Derecha
-        vecinos.add(new Ubicacion(ubicacion.getX() - 1, ubicacion.getY()));  // Izquierda
-        vecinos.add(new Ubicacion(ubicacion.getX(), ubicacion.getY() + 1));  // Arriba
-        vecinos.add(new Ubicacion(ubicacion.getX(), ubicacion.getY() - 1));  // Abajo
+    /**
+     * Distancia más corta por la grilla desde un origen a todas las celdas, evitando los nodos
+     * y los tramos de los bloqueos filtrados activos en algún momento de la ventana [inicio, fin]
+     * (los mismos que evita A*). Se calcula con BFS (todos los tramos miden 1 km) y se guarda por
+     * índice de bloqueos y ventana, así que es seguro llamarlo desde varios hilos y las consultas
+     * repetidas no recalculan. Una celda bloqueada puede ser destino (se entra a ella) pero no se
+     * atraviesa.
+     *
+     * @param origen Ubicación de origen (dentro del mapa)
+     * @param inicio Inicio de la ventana de planificación
+     * @param fin    Fin de la ventana de planificación
+     * @return Distancias indexadas por {@link #indiceCelda(Ubicacion)} (-1 = inalcanzable),
+     * o null si el origen está fuera del mapa o no hay bloqueos en la ventana
+     */
+    public int[] distanciasDesde(Ubicacion origen, LocalDateTime inicio, LocalDateTime fin) {
+        if (!esUbicacionValida(origen)) {
+            return null;
+        }
+        CampoDistancias campo = obtenerCampoDistancias(Bloqueo.aEpochNanos(inicio), Bloqueo.aEpochNanos(fin));
+        if (!campo.hayBloqueos) {
+            return null;
+        }
 
-        return vecinos;
+        int celdaOrigen = indiceCelda(origen);
+        int[] distancias = campo.distanciasPorOrigen.get(celdaOrigen);
+        if (distancias == null) {
+            distancias = calcularDistanciasBfs(celdaOrigen, campo.bloqueados);
+            int[] previas = campo.distanciasPorOrigen.putIfAbsent(celdaOrigen, distancias);
+            if (previas != null) {
+                distancias = previas;
+            }
+        }
+        return distancias;
     }
 
     /**
-     * Reconstruye la ruta desde el origen hasta el destino usando el mapa de padres
-     * @param padres Mapa de padres
-     * @param destino Ubicación de destino
-     * @return Lista de ubicaciones que forman la ruta
+     * Índice de una ubicación en los arreglos de celdas de la grilla
      */
-    private List<Ubicacion> reconstruirRuta(Map<Ubicacion, Ubicacion> padres, Ubicacion destino) {
-        List<Ubicacion> ruta = new ArrayList<>();
-        Ubicacion actual = destino;
+    public int indiceCelda(Ubicacion ubicacion) {
+        return ubicacion.getY() * (ancho + 1) + ubicacion.getX();
+    }
 
-        while (padres.containsKey(actual)) {
-            ruta.add(0, actual);
-            actual = padres.get(actual);
+    private CampoDistancias obtenerCampoDistancias(long inicioNanos, long finNanos) {
+        IndiceBloqueos indice = indiceBloqueos;
+        long version = indice.getVersion();
+        synchronized (camposDistancia) {
+            CampoDistancias campo = buscarCampoDistancias(version, inicioNanos, finNanos);
+            if (campo != null) {
+                return campo;
+            }
         }
 
-        // Añadir el origen
-        ruta.add(0, actual);
+        // Se construye fuera del candado; si otro hilo se adelantó, se usa el suyo
+        boolean[] bloqueados = indice.bloqueadosEnVentana(inicioNanos, finNanos);
+        boolean hayBloqueos = false;
+        for (boolean bloqueado : bloqueados) {
+            hayBloqueos |= bloqueado;
+        }
+        synchronized (camposDistancia) {
+            CampoDistancias campo = buscarCampoDistancias(version, inicioNanos, finNanos);
+            if (campo != null) {
+                return campo;
+            }
+            // Los campos de índices anteriores ya no se consultarán
+            camposDistancia.removeIf(anterior -> anterior.version < version);
+            if (camposDistancia.size() >= MAX_CAMPOS_DISTANCIA) {
+                camposDistancia.removeLast();
+            }
+            campo = new CampoDistancias(version, inicioNanos, finNanos, bloqueados, hayBloqueos);
+            camposDistancia.addFirst(campo);
+            return campo;
+        }
+    }
 
-        return ruta;
+    // Busca el campo de la ventana y lo deja primero, como el más recientemente usado
+    private CampoDistancias buscarCampoDistancias(long version, long inicioNanos, long finNanos) {
+        for (Iterator<CampoDistancias> it = camposDistancia.iterator(); it.hasNext(); ) {
+            CampoDistancias campo = it.next();
+            if (campo.corresponde(version, inicioNanos, finNanos)) {
+                it.remove();
+                camposDistancia.addFirst(campo);
+                return campo;
+            }
+        }
+        return null;
     }
 
     /**
-     * Clase auxiliar para el algoritmo A*
+     * @param bloqueados Posiciones de {@link IndiceBloqueos}: nodo c en c, tramo de c hacia la
+     *                   derecha en numCeldas + c y hacia arriba en 2 * numCeldas + c
      */
-    private static class NodoRuta {
-        private final Ubicacion ubicacion;
-        private final int g;  // Costo real desde origen
-        private final int h;  // Heurística (estimación) hasta destino
-
-        public NodoRuta(Ubicacion ubicacion, int g, int h) {
-            this.ubicacion = ubicacion;
-            this.g = g;
-            this.h = h;
+    private int[] calcularDistanciasBfs(int celdaOrigen, boolean[] bloqueados) {
+        int columnas = ancho + 1;
+        int numCeldas = columnas * (alto + 1);
+        int derecha = numCeldas;
+        int arriba = 2 * numCeldas;
+        int[] distancias = new int[numCeldas];
+        Arrays.fill(distancias, -1);
+        int[] cola = new int[numCeldas];
+        int cabeza = 0;
+        int finCola = 0;
+
+        distancias[celdaOrigen] = 0;
+        cola[finCola++] = celdaOrigen;
+        while (cabeza < finCola) {
+            int celda = cola[cabeza++];
+            // Las celdas bloqueadas se alcanzan pero no se atraviesan
+            if (celda != celdaOrigen && bloqueados[celda]) {
+                continue;
+            }
+            int x = celda % columnas;
+            int y = celda / columnas;
+            int siguiente = distancias[celda] + 1;
+            if (x + 1 <= ancho && distancias[celda + 1] < 0 && !bloqueados[derecha + celda]) {
+                distancias[celda + 1] = siguiente;
+                cola[finCola++] = celda + 1;
+            }
+            if (x - 1 >= 0 && distancias[celda - 1] < 0 && !bloqueados[derecha + celda - 1]) {
+                distancias[celda - 1] = siguiente;
+                cola[finCola++] = celda - 1;
+            }
+            if (y + 1 <= alto && distancias[celda + columnas] < 0 && !bloqueados[arriba + celda]) {
+                distancias[celda + columnas] = siguiente;
+                cola[finCola++] = celda + columnas;
+            }
+            if (y - 1 >= 0 && distancias[celda - columnas] < 0 && !bloqueados[arriba + celda - columnas]) {
+                distancias[celda - columnas] = siguiente;
+                cola[finCola++] = celda - columnas;
+            }
         }
+        return distancias;
     }
 
     /**
@@ -424,12 +477,22 @@ public class Mapa {
      * @return Lista de bloqueos que aplican para esa fecha
      */
     public void filtrarBloqueosParaFecha(LocalDate fechaInicio, LocalDate fechaFin) {
+        filtroAplicado = true;
+        filtroInicio = fechaInicio;
+        filtroFin = fechaFin;
+        aplicarFiltro();
+        log.debug("Bloqueos filtrados para rango {} - {}: {}", fechaInicio, fechaFin, bloqueosFiltrados.size());
+    }
+
+    private void aplicarFiltro() {
+        LocalDate fechaInicio = filtroInicio;
+        LocalDate fechaFin = filtroFin;
         if (bloqueos == null || bloqueos.isEmpty()) {
-            bloqueosFiltrados = Collections.emptyList();
+            setBloqueosFiltrados(Collections.emptyList());
             return;
         }
 
-        bloqueosFiltrados = new ArrayList<>();
+        List<Bloqueo> bloqueosFiltrados = new ArrayList<>();
         for (Bloqueo bloqueo : bloqueos) {
             LocalDate inicio = bloqueo.getHoraInicio().toLocalDate();
             LocalDate fin = bloqueo.getHoraFin().toLocalDate();
@@ -450,45 +513,25 @@ public class Mapa {
                 }
             }
         }
-        System.out.println("Bloqueos filtrados para rango " + fechaInicio + " - " + fechaFin + ": " + bloqueosFiltrados.size());
+        setBloqueosFiltrados(bloqueosFiltrados);
     }
 
     /**
-     * Versión de estaBloqueado que usa la lista filtrada
+     * Versión de estaBloqueado que usa el índice de los bloqueos filtrados: búsqueda por celda,
+     * sin recorrer los bloqueos ni crear objetos
      */
     public boolean estaBloqueado(Ubicacion ubicacion, LocalDateTime momento) {
-        // Si no hay bloqueos filtrados, no hay nada bloqueado
-        if (bloqueosFiltrados == null || bloqueosFiltrados.isEmpty()) {
-            return false;
-        }
-
-        for (Bloqueo bloqueo : bloqueosFiltrados) {
-            // Solo verificar si el momento está en el rango de tiempo del bloqueo
-            if (momento.isAfter(bloqueo.getHoraInicio()) &&
-                    momento.isBefore(bloqueo.getHoraFin())) {
-
-                // Verificar si la ubicación está bloqueada
-                if (bloqueo.getNodosBloqueados().contains(ubicacion)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        IndiceBloqueos indice = indiceBloqueos;
+        return !indice.estaVacio() && indice.bloqueado(ubicacion.getX(), ubicacion.getY(), Bloqueo.aEpochNanos(momento));
     }
 
     /**
-     * Versión de tramoBloqueado que usa la lista filtrada
+     * Verifica si el tramo entre dos nodos adyacentes es parte de la poligonal de un bloqueo
+     * filtrado activo en el momento. Los nodos no adyacentes no forman un tramo.
      */
     public boolean tramoBloqueado(Ubicacion origen, Ubicacion destino, LocalDateTime momento) {
-        // Si no hay bloqueos filtrados, no hay nada bloqueado
-        if (bloqueosFiltrados == null || bloqueosFiltrados.isEmpty()) {
-            return false;
-        }
-
-        // Tu lógica actual para verificar si un tramo está bloqueado,
-        // pero usando la lista filtrada en lugar de todos los bloqueos
-
-        return false; // Implementa de acuerdo a tu lógica actual
+        IndiceBloqueos indice = indiceBloqueos;
+        return !indice.estaVacio() && indice.tramoBloqueado(origen.getX(), origen.getY(),
+                destino.getX(), destino.getY(), Bloqueo.aEpochNanos(momento));
     }
 }
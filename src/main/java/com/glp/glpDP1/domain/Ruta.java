@@ -248,9 +248,20 @@ public class Ruta {
      * @param pedido Pedido a añadir
      */
     public void agregarPedido(Pedido pedido) {
+        agregarPedido(pedido, true);
+    }
+
+    /**
+     * Añade un pedido a la ruta
+     * @param pedido Pedido a añadir
+     * @param asignarCamion false para rutas candidatas que no deben modificar el pedido
+     */
+    public void agregarPedido(Pedido pedido, boolean asignarCamion) {
         if (!pedidosAsignados.contains(pedido)) {
             pedidosAsignados.add(pedido);
-            pedido.setCamionAsignado(codigoCamion);
+            if (asignarCamion) {
+                pedido.setCamionAsignado(codigoCamion);
+            }
 
             // Añadir el nodo del pedido a los puntos de PARADA
             if (!secuenciaParadas.contains(pedido.getUbicacion())) {
@@ -439,28 +450,130 @@ public class Ruta {
         movimientoGenerado = false;
     }
 
+    /**
+     * Mejora la secuencia de paradas con movimientos 2-opt: invierte tramos mientras
+     * se reduzca la distancia total (incluido el regreso al destino).
+     * Se aplica después de optimizarSecuencia
+     */
+    public void mejorarSecuencia2Opt() {
+        if (secuenciaNodos.isEmpty() || secuenciaParadas.size() < 2) {
+            return;
+        }
+
+        List<Ubicacion> paradas = new ArrayList<>(secuenciaParadas);
+        boolean mejora = true;
+        while (mejora) {
+            mejora = false;
+            for (int i = 0; i < paradas.size() - 1; i++) {
+                Ubicacion anterior = i == 0 ? origen : paradas.get(i - 1);
+                for (int j = i + 1; j < paradas.size(); j++) {
+                    Ubicacion siguiente = j == paradas.size() - 1 ? destino : paradas.get(j + 1);
+
+                    // Solo cambian las dos aristas de los extremos del tramo invertido
+                    int actual = anterior.distanciaA(paradas.get(i));
+                    int nuevo = anterior.distanciaA(paradas.get(j));
+                    if (siguiente != null) {
+                        actual += paradas.get(j).distanciaA(siguiente);
+                        nuevo += paradas.get(i).distanciaA(siguiente);
+                    }
+
+                    if (nuevo < actual) {
+                        Collections.reverse(paradas.subList(i, j + 1));
+                        mejora = true;
+                    }
+                }
+            }
+        }
+
+        this.secuenciaParadas = paradas;
+        this.secuenciaNodos = new ArrayList<>(paradas);
+        this.secuenciaNodos.add(0, origen);
+        calcularDistanciaTotal();
+
+        // Marcar que necesita regenerar movimiento
+        movimientoGenerado = false;
+    }
+
+    /**
+     * Usa una secuencia de paradas ya calculada (por ejemplo, con distancias reales que
+     * rodean bloqueos) en lugar del vecino más cercano por distancia Manhattan
+     * @param paradas Paradas en orden de visita, sin el origen
+     */
+    public void fijarSecuencia(List<Ubicacion> paradas) {
+        // Igual que optimizarSecuencia, una ruta de una sola parada no se secuencia
+        if (paradas.size() <= 1) {
+            return;
+        }
+
+        this.secuenciaParadas = new ArrayList<>(paradas);
+        this.secuenciaNodos = new ArrayList<>(paradas);
+        this.secuenciaNodos.add(0, origen);
+        calcularDistanciaTotal();
+
+        // Marcar que necesita regenerar movimiento
+        movimientoGenerado = false;
+    }
+
     public void optimizarConRecargas(Mapa mapa, Camion camion) {
+        optimizarConRecargas(mapa, camion, false);
+    }
+
+    /**
+     * Optimiza la secuencia e inserta las recargas necesarias
+     * @param mapa Mapa con los almacenes
+     * @param camion Camión de la ruta
+     * @param aplicar2Opt true para mejorar la secuencia base con 2-opt antes de insertar recargas
+     */
+    public void optimizarConRecargas(Mapa mapa, Camion camion, boolean aplicar2Opt) {
         // Primero optimizar la secuencia base
         optimizarSecuencia();
+        if (aplicar2Opt) {
+            mejorarSecuencia2Opt();
+        }
+        insertarRecargas(mapa, camion);
+    }
 
-        List<Ubicacion> nuevaSecuenciaParadas = new ArrayList<>();
-        List<Almacen> almacenes = mapa.getAlmacenes();
+    /**
+     * Inserta en la secuencia actual las recargas de GLP y combustible necesarias
+     * @param mapa Mapa con los almacenes
+     * @param camion Camión de la ruta
+     */
+    public void insertarRecargas(Mapa mapa, Camion camion) {
+        insertarRecargas(mapa, camion, 0);
+    }
+
+    /**
+     * Inserta las recargas necesarias solo después de las primeras paradas, que se conservan
+     * tal cual (por ejemplo, el tramo ya recorrido de una ruta iniciada). El combustible se
+     * cuenta desde la última parada fija con el nivel actual del camión, y el GLP con los
+     * pedidos que no se entregan en las paradas fijas
+     * @param mapa Mapa con los almacenes
+     * @param camion Camión de la ruta
+     * @param paradasFijas Número de paradas iniciales que no se modifican
+     */
+    public void insertarRecargas(Mapa mapa, Camion camion, int paradasFijas) {
+        paradasFijas = Math.min(paradasFijas, secuenciaParadas.size());
+        List<Ubicacion> fijas = secuenciaParadas.subList(0, paradasFijas);
+        List<Ubicacion> nuevaSecuenciaParadas = new ArrayList<>(fijas);
 
         // Obtener almacén central (para priorizar)
         Almacen almacenCentral = mapa.obtenerAlmacenCentral();
 
-        Ubicacion actual = origen;
+        Ubicacion actual = paradasFijas > 0 ? fijas.get(paradasFijas - 1) : origen;
         double combustibleActual = camion.getNivelCombustibleActual();
 
-        double glpTotal = pedidosAsignados.stream().mapToDouble(Pedido::getCantidadGLP).sum();
+        double glpTotal = pedidosAsignados.stream()
+                .filter(p -> !fijas.contains(p.getUbicacion()))
+                .mapToDouble(Pedido::getCantidadGLP).sum();
 
         boolean necesitaRecargaGLP = glpTotal > camion.getCapacidadTanqueGLP();
 
-        // Trabajar con secuenciaParadas
-        if(necesitaRecargaGLP && !secuenciaParadas.contains(almacenCentral.getUbicacion())){
-            int puntoMedio = secuenciaParadas.size() / 2;
-            if(puntoMedio > 0 && puntoMedio < secuenciaParadas.size()){
-                secuenciaParadas.add(puntoMedio, almacenCentral.getUbicacion());
+        // Trabajar con las paradas después de las fijas
+        List<Ubicacion> pendientes = new ArrayList<>(secuenciaParadas.subList(paradasFijas, secuenciaParadas.size()));
+        if(necesitaRecargaGLP && !pendientes.contains(almacenCentral.getUbicacion())){
+            int puntoMedio = pendientes.size() / 2;
+            if(puntoMedio > 0 && puntoMedio < pendientes.size()){
+                pendientes.add(puntoMedio, almacenCentral.getUbicacion());
                 // Registrar el evento de recarga de GLP
                 registrarEvento(
                         EventoRuta.TipoEvento.RECARGA_GLP,
@@ -471,7 +584,7 @@ public class Ruta {
             }
         }
 
-        for (Ubicacion siguiente : secuenciaParadas) {
+        for (Ubicacion siguiente : pendientes) {
             int distanciaAlSiguiente = actual.distanciaA(siguiente);
 
             // Verificar si tenemos suficiente combustible
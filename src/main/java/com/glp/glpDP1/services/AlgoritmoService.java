@@ -1,10 +1,14 @@
 package com.glp.glpDP1.services;
 
+import com.glp.glpDP1.algorithm.SolucionPareto;
 import com.glp.glpDP1.api.dto.request.AlgoritmoSimpleRequest;
+import com.glp.glpDP1.api.dto.request.ReplanificacionRequest;
 import com.glp.glpDP1.api.dto.response.AlgoritmoResultResponse;
 import com.glp.glpDP1.api.dto.response.AlgoritmoStatusResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface AlgoritmoService {
 
@@ -15,6 +19,22 @@ public interface AlgoritmoService {
      */
     String iniciarAlgoritmo(AlgoritmoSimpleRequest request);
 
+    /**
+     * Genera de forma síncrona un plan rápido con la heurística constructiva, sin evolución
+     * @param request Parámetros de la planificación (momento actual)
+     * @return Resultado del plan, consultable también por su ID
+     */
+    AlgoritmoResultResponse planificarRapido(AlgoritmoSimpleRequest request);
+
+    /**
+     * Incorpora pedidos nuevos al plan de una ejecución completada mediante inserción
+     * incremental, sin modificar los tramos ya iniciados ni volver a ejecutar el algoritmo
+     * @param id Identificador de la ejecución cuyo plan se actualiza
+     * @param request Momento actual y pedidos nuevos
+     * @return Resultado actualizado
+     */
+    AlgoritmoResultResponse replanificar(String id, ReplanificacionRequest request);
+
     /**
      * Consulta el estado actual de la ejecución de un algoritmo
      * @param id Identificador de la ejecución
@@ -29,6 +49,21 @@ public interface AlgoritmoService {
      */
     AlgoritmoResultResponse obtenerResultados(String id);
 
+    /**
+     * Frente de Pareto de una ejecución en modo multiobjetivo
+     * @param id Identificador de la ejecución
+     * @return Soluciones no dominadas con sus objetivos y rutas
+     */
+    List<SolucionPareto> obtenerFrentePareto(String id);
+
+    /**
+     * Adopta como resultado de la ejecución una solución de su frente de Pareto
+     * @param id Identificador de la ejecución
+     * @param indice Posición de la solución en el frente
+     * @return Resultado actualizado
+     */
+    AlgoritmoResultResponse seleccionarSolucionPareto(String id, int indice);
+
     /**
      * Cancela la ejecución en curso de un algoritmo
      * @param id Identificador de la ejecución
@@ -1,19 +1,31 @@
 package com.glp.glpDP1.services.impl;
 
 import com.glp.glpDP1.algorithm.AlgoritmoGenetico;
+import com.glp.glpDP1.algorithm.EvaluadorParalelo;
+import com.glp.glpDP1.algorithm.EvaluadorPoblacion;
+import com.glp.glpDP1.algorithm.EvaluadorSecuencial;
+import com.glp.glpDP1.algorithm.EventoAdaptacion;
+import com.glp.glpDP1.algorithm.ReplanificadorIncremental;
+import com.glp.glpDP1.algorithm.SolucionPareto;
 import com.glp.glpDP1.api.dto.request.AlgoritmoSimpleRequest;
+import com.glp.glpDP1.api.dto.request.PedidoRequest;
+import com.glp.glpDP1.api.dto.request.ReplanificacionRequest;
 import com.glp.glpDP1.api.dto.response.AlgoritmoResultResponse;
 import com.glp.glpDP1.api.dto.response.AlgoritmoStatusResponse;
+import com.glp.glpDP1.config.ConfiguracionAlgoritmo;
 import com.glp.glpDP1.domain.*;
 import com.glp.glpDP1.domain.enums.EscenarioSimulacion;
 import com.glp.glpDP1.repository.DataRepository;
 import com.glp.glpDP1.services.AlgoritmoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
@@ -25,6 +37,7 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
 
     private final DataRepository dataRepository;
     private final MonitoreoService monitoreoService;
+    private final ConfiguracionAlgoritmo configuracionAlgoritmo;
     // Almacena las ejecuciones en curso
     private final Map<String, Future<?>> tareas = new ConcurrentHashMap<>();
 
@@ -34,9 +47,33 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
     // Almacena los resultados de las ejecuciones completadas
     private final Map<String, AlgoritmoResultResponse> resultados = new ConcurrentHashMap<>();
 
+    // Frente de Pareto de las ejecuciones en modo multiobjetivo
+    private final Map<String, List<SolucionPareto>> frentesPareto = new ConcurrentHashMap<>();
+
+    // Algoritmos en ejecución, para solicitarles la cancelación cooperativa
+    private final Map<String, AlgoritmoGenetico> algoritmos = new ConcurrentHashMap<>();
+
     // Executor para ejecutar los algoritmos de forma asíncrona
     private final ExecutorService executor = Executors.newFixedThreadPool(5);
 
+    // Configuración de la evaluación paralela del fitness
+    @Value("${algoritmo.evaluacion.paralela:true}")
+    private boolean evaluacionParalela;
+
+    @Value("${algoritmo.evaluacion.hilos:0}")
+    private int hilosEvaluacion;
+
+    // Puntos de control en disco de las ejecuciones largas (directorio vacío = deshabilitado)
+    @Value("${algoritmo.punto-control.directorio:}")
+    private String directorioPuntoControl;
+
+    @Value("${algoritmo.punto-control.intervalo:50}")
+    private int intervaloPuntoControl;
+
+    // Búsqueda local de la re-planificación incremental sobre los camiones afectados
+    @Value("${algoritmo.replanificacion.tiempo-busqueda-local-ms:5}")
+    private long tiempoBusquedaLocalReplanificacionMs;
+
     @Override
     public String iniciarAlgoritmo(AlgoritmoSimpleRequest request) {
         // Obtener datos del repositorio
@@ -55,6 +92,11 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
             throw new IllegalArgumentException("No hay mapa configurado en el sistema");
         }
 
+        // La huella del punto de control incluye el momento: sin fijarlo, nunca se podría reanudar
+        if (request.getIdPuntoControl() != null && request.getMomentoActual() == null) {
+            throw new IllegalArgumentException("idPuntoControl requiere indicar momentoActual");
+        }
+
         // Si no se especificó momento actual, usar el actual
         LocalDateTime momentoActual = request.getMomentoActual();
         if (momentoActual == null) {
@@ -80,16 +122,152 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 mapa,
                 momentoActual,
                 escenario,
-                request.getTamañoPoblacion(),
-                request.getNumGeneraciones(),
-                request.getTasaMutacion(),
-                request.getTasaCruce(),
-                request.getElitismo()
+                request
+        );
+    }
+
+    @Override
+    public AlgoritmoResultResponse planificarRapido(AlgoritmoSimpleRequest request) {
+        List<Camion> camiones = dataRepository.obtenerCamiones();
+        List<Pedido> pedidos = dataRepository.obtenerPedidos();
+        Mapa mapa = dataRepository.obtenerMapa();
+
+        if (camiones.isEmpty()) {
+            throw new IllegalArgumentException("No hay camiones disponibles en el sistema");
+        }
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("No hay pedidos pendientes en el sistema");
+        }
+        if (mapa == null) {
+            throw new IllegalArgumentException("No hay mapa configurado en el sistema");
+        }
+
+        LocalDateTime momentoActual = request.getMomentoActual() != null ? request.getMomentoActual() : LocalDateTime.now();
+        String id = UUID.randomUUID().toString();
+        LocalDateTime horaInicio = LocalDateTime.now();
+
+        AlgoritmoGenetico algoritmo = new AlgoritmoGenetico();
+        configuracionAlgoritmo.aplicar(algoritmo);
+        List<Ruta> rutas = algoritmo.planificarConstructivo(camiones, pedidos, mapa, momentoActual);
+
+        LocalDateTime horaFin = LocalDateTime.now();
+        Duration tiempoEjecucion = Duration.between(horaInicio, horaFin);
+
+        Map<String, Object> metricas = new HashMap<>();
+        metricas.put("tiempoEjecucionMs", tiempoEjecucion.toMillis());
+        metricas.put("metodo", "INSERCION_ARREPENTIMIENTO");
+
+        AlgoritmoResultResponse resultado = new AlgoritmoResultResponse(
+                id,
+                rutas,
+                algoritmo.getMejorFitness(),
+                calcularDistanciaTotal(rutas),
+                calcularConsumoCombustible(rutas),
+                calcularPedidosEntregados(rutas),
+                pedidos.size(),
+                metricas,
+                horaInicio,
+                horaFin,
+                tiempoEjecucion
         );
+        resultados.put(id, resultado);
+        estados.put(id, new AlgoritmoStatusResponse(
+                id,
+                AlgoritmoStatusResponse.EstadoAlgoritmo.COMPLETADO,
+                100.0,
+                horaInicio,
+                horaFin,
+                algoritmo.getMejorFitness(),
+                null,
+                null,
+                0
+        ));
+
+        log.info("Plan rápido {} generado en {} ms, fitness: {}", id, tiempoEjecucion.toMillis(), algoritmo.getMejorFitness());
+        return resultado;
+    }
+
+    @Override
+    public AlgoritmoResultResponse replanificar(String id, ReplanificacionRequest request) {
+        AlgoritmoResultResponse resultado = obtenerResultados(id);
+        if (request.getPedidos() == null || request.getPedidos().isEmpty()) {
+            throw new IllegalArgumentException("No se indicaron pedidos nuevos");
+        }
+        Mapa mapa = dataRepository.obtenerMapa();
+        if (mapa == null) {
+            throw new IllegalArgumentException("No hay mapa configurado en el sistema");
+        }
+
+        LocalDateTime momentoActual = request.getMomentoActual() != null ? request.getMomentoActual() : LocalDateTime.now();
+        List<Pedido> nuevosPedidos = new ArrayList<>();
+        for (PedidoRequest pedidoRequest : request.getPedidos()) {
+            nuevosPedidos.add(convertirPedido(pedidoRequest, momentoActual));
+        }
+
+        ReplanificadorIncremental replanificador =
+                new ReplanificadorIncremental(dataRepository.obtenerCamiones(), mapa);
+        replanificador.setTiempoBusquedaLocalMs(request.getTiempoBusquedaLocalMs() != null ?
+                request.getTiempoBusquedaLocalMs() : tiempoBusquedaLocalReplanificacionMs);
+
+        // Las rutas del resultado se modifican en el lugar; se serializa contra otras re-planificaciones
+        synchronized (resultado) {
+            List<Ruta> rutas = new ArrayList<>(resultado.getRutas());
+            ReplanificadorIncremental.Resultado cambios =
+                    replanificador.replanificar(rutas, nuevosPedidos, momentoActual);
+
+            resultado.setRutas(rutas);
+            resultado.setDistanciaTotal(calcularDistanciaTotal(rutas));
+            resultado.setConsumoCombustible(calcularConsumoCombustible(rutas));
+            resultado.setPedidosEntregados(calcularPedidosEntregados(rutas));
+            resultado.setPedidosTotales(resultado.getPedidosTotales() + nuevosPedidos.size());
+
+            Map<String, Object> metricas = resultado.getMetricas() != null ?
+                    new HashMap<>(resultado.getMetricas()) : new HashMap<>();
+            metricas.merge("replanificaciones", 1, (a, b) -> ((Number) a).intValue() + 1);
+            metricas.put("ultimaReplanificacionMs", cambios.getTiempoMs());
+            metricas.put("ultimaReplanificacionCamionesModificados", cambios.getCamionesModificados());
+            metricas.put("ultimaReplanificacionMejorasBusquedaLocal", cambios.getMejorasBusquedaLocal());
+            metricas.put("ultimaReplanificacionPedidosNoAsignados", cambios.getPedidosNoAsignados().stream()
+                    .map(Pedido::getId)
+                    .collect(Collectors.toList()));
+            resultado.setMetricas(metricas);
+
+            log.info("Re-planificación de {}: {} pedidos nuevos, {} camiones modificados, {} sin asignar, {} ms",
+                    id, nuevosPedidos.size(), cambios.getCamionesModificados().size(),
+                    cambios.getPedidosNoAsignados().size(), String.format("%.2f", cambios.getTiempoMs()));
+        }
+
+        // Los pedidos nuevos quedan en el repositorio para las próximas ejecuciones completas
+        List<Pedido> pedidos = dataRepository.obtenerPedidos();
+        pedidos.addAll(nuevosPedidos);
+        dataRepository.guardarPedidos(pedidos);
+        return resultado;
     }
 
     /**
-     * Método interno para iniciar la ejecución del algoritmo
+     * Convierte un pedido de la solicitud tomando su hora de recepción en la fecha del
+     * momento indicado (o el propio momento si no trae hora)
+     */
+    private Pedido convertirPedido(PedidoRequest pedidoRequest, LocalDateTime momento) {
+        LocalDateTime horaRecepcion = pedidoRequest.getHoraRecepcion() != null ?
+                LocalDateTime.of(momento.toLocalDate(), LocalTime.parse(pedidoRequest.getHoraRecepcion())) : momento;
+        if (pedidoRequest.getTiempoLimiteEntrega() == null) {
+            throw new IllegalArgumentException("El pedido no indica su tiempo límite de entrega");
+        }
+        String idPedido = pedidoRequest.getId() != null ? pedidoRequest.getId() : UUID.randomUUID().toString();
+        return new Pedido(
+                idPedido,
+                pedidoRequest.getIdCliente(),
+                new Ubicacion(pedidoRequest.getX(), pedidoRequest.getY()),
+                pedidoRequest.getCantidadGLP(),
+                horaRecepcion,
+                Integer.parseInt(pedidoRequest.getTiempoLimiteEntrega())
+        );
+    }
+
+    /**
+     * Método interno para iniciar la ejecución del algoritmo.
+     * Los parámetros del algoritmo se toman de la solicitud original.
      */
     private String iniciarEjecucionAlgoritmo(
             List<Camion> camiones,
@@ -97,11 +275,7 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
             Mapa mapa,
             LocalDateTime momentoActual,
             EscenarioSimulacion escenario,
-            Integer tamañoPoblacion,
-            Integer numGeneraciones,
-            Double tasaMutacion,
-            Double tasaCruce,
-            Integer elitismo
+            AlgoritmoSimpleRequest request
     ) {
         // Generar un ID único para esta ejecución
         String id = UUID.randomUUID().toString();
@@ -113,13 +287,16 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 0.0,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
-                null
+                null,
+                null,
+                null,
+                0
         );
         estados.put(id, estado);
 
         // Ejecutar el algoritmo de forma asíncrona
         Future<?> tarea = executor.submit(() -> {
-            try {
+            try (EvaluadorPoblacion evaluador = crearEvaluador(request.getEvaluacionParalela())) {
                 // Actualizar estado a EN_EJECUCION
                 estado.setEstado(AlgoritmoStatusResponse.EstadoAlgoritmo.EN_EJECUCION);
 
@@ -134,43 +311,84 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 AlgoritmoGenetico algoritmo;
 
                 // Configurar parámetros si se proporcionaron
-                if (tamañoPoblacion != null &&
-                        numGeneraciones != null &&
-                        tasaMutacion != null &&
-                        tasaCruce != null &&
-                        elitismo != null) {
+                if (request.getTamañoPoblacion() != null &&
+                        request.getNumGeneraciones() != null &&
+                        request.getTasaMutacion() != null &&
+                        request.getTasaCruce() != null &&
+                        request.getElitismo() != null) {
 
                     algoritmo = new AlgoritmoGenetico(
-                            tamañoPoblacion,
-                            numGeneraciones,
-                            tasaMutacion,
-                            tasaCruce,
-                            elitismo
+                            request.getTamañoPoblacion(),
+                            request.getNumGeneraciones(),
+                            request.getTasaMutacion(),
+                            request.getTasaCruce(),
+                            request.getElitismo()
                     );
                 } else {
                     // Usar parámetros por defecto
                     algoritmo = new AlgoritmoGenetico();
                 }
                 algoritmo.setMonitoreoService(monitoreoService);
-                // Ejecutar optimización
-                rutas = algoritmo.optimizarRutas(
-                        camiones,
-                        pedidos,
-                        mapa,
-                        momentoActual
-                );
+                algoritmo.setEvaluador(evaluador);
+                algoritmo.setSemilla(request.getSemilla());
+                configuracionAlgoritmo.aplicar(algoritmo);
+                // Los valores de la solicitud prevalecen sobre la configuración
+                if (request.getNumIslas() != null) {
+                    algoritmo.setNumIslas(request.getNumIslas());
+                }
+                if (request.getIntervaloMigracion() != null) {
+                    algoritmo.setIntervaloMigracion(request.getIntervaloMigracion());
+                }
+                if (request.getAdaptativo() != null) {
+                    algoritmo.setAdaptativo(request.getAdaptativo());
+                }
+                if (request.getBusquedaLocal() != null) {
+                    algoritmo.setBusquedaLocal(request.getBusquedaLocal());
+                }
+                if (request.getTiempoBusquedaLocalMs() != null) {
+                    algoritmo.setTiempoBusquedaLocalMs(request.getTiempoBusquedaLocalMs());
+                }
+                algoritmo.setTiempoLimiteMs(request.getTiempoLimiteMs());
+                // Solo con un nombre dado por el cliente: uno por ID de ejecución nadie lo reanudaría
+                if (!directorioPuntoControl.isBlank() && request.getIdPuntoControl() != null) {
+                    algoritmo.setArchivoPuntoControl(Paths.get(directorioPuntoControl,
+                            request.getIdPuntoControl().replaceAll("[^A-Za-z0-9_-]", "_") + ".ckpt"));
+                    algoritmo.setIntervaloPuntoControl(intervaloPuntoControl);
+                }
+                algoritmos.put(id, algoritmo);
+                algoritmo.setObservadorProgreso((generacion, mejorFitness, progreso, transcurridoMs) -> {
+                    estado.setProgreso(progreso);
+                    estado.setHoraUltimaActualizacion(LocalDateTime.now());
+                    estado.setMejorFitness(mejorFitness);
+                    estado.setGeneracionesCompletadas(generacion);
+                    estado.setAceleracionEvaluacion(algoritmo.getAceleracionEvaluacion());
+                });
+                estado.setHilosEvaluacion(evaluador.getParalelismo());
+                // Ejecutar optimización (un objetivo ponderado o frente de Pareto)
+                boolean modoPareto = Boolean.TRUE.equals(request.getModoPareto());
+                if (modoPareto) {
+                    frentesPareto.put(id, algoritmo.optimizarPareto(camiones, pedidos, mapa, momentoActual));
+                    rutas = algoritmo.getMejorSolucion() != null ? algoritmo.getMejorSolucion() : new ArrayList<>();
+                } else {
+                    rutas = algoritmo.optimizarRutas(
+                            camiones,
+                            pedidos,
+                            mapa,
+                            momentoActual
+                    );
+                }
 
 //                SimuladorEntregas simulador = new SimuladorEntregas();
 //                rutas = simulador.simularEntregas(rutas, momentoActual);
 
                 fitness = algoritmo.getMejorFitness();
+                estado.setAceleracionEvaluacion(algoritmo.getAceleracionEvaluacion());
+                estado.setGeneracionesCompletadas(algoritmo.getGeneracionesCompletadas());
 
-                // Actualizar progreso durante la ejecución
-                for (int i = 0; i < 100 && !Thread.currentThread().isInterrupted(); i++) {
-                    estado.setProgreso(i);
-                    estado.setHoraUltimaActualizacion(LocalDateTime.now());
-                    estado.setMejorFitness(algoritmo.getMejorFitness());
-                    Thread.sleep(50); // Simular tiempo de ejecución
+                // Una ejecución cancelada no publica resultados (su estado ya quedó como FALLIDO)
+                if (algoritmo.isCancelado()) {
+                    log.info("Ejecución {} cancelada tras {} generaciones", id, algoritmo.getGeneracionesCompletadas());
+                    return;
                 }
 
                 // Medir tiempo de fin
@@ -214,6 +432,41 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 Map<String, Object> metricas = new HashMap<>();
                 metricas.put("tiempoEjecucionMs", tiempoEjecucion.toMillis());
                 metricas.put("escenarioSimulacion", escenario);
+                metricas.put("hilosEvaluacion", evaluador.getParalelismo());
+                metricas.put("aceleracionEvaluacion", algoritmo.getAceleracionEvaluacion());
+                metricas.put("semilla", algoritmo.getSemillaUtilizada());
+                metricas.put("cacheFitnessAciertos", algoritmo.getCacheFitness().getAciertos());
+                metricas.put("cacheFitnessFallos", algoritmo.getCacheFitness().getFallos());
+                metricas.put("cacheFitnessTasaAciertos", algoritmo.getCacheFitness().getTasaAciertos());
+                metricas.put("cacheRutas", mapa.estadisticasCacheRutas());
+                metricas.put("numIslas", algoritmo.getNumIslas());
+                metricas.put("generacionesCompletadas", algoritmo.getGeneracionesCompletadas());
+                if (algoritmo.getContexto() != null) {
+                    metricas.put("distanciasConBloqueos", algoritmo.getContexto().isConsideraBloqueos());
+                    metricas.put("nucleoFitnessVectorial", algoritmo.getContexto().getNucleo().isVectorial());
+                }
+                List<EventoAdaptacion> eventosAdaptacion = new ArrayList<>(algoritmo.getEventosAdaptacion());
+                metricas.put("eventosAdaptacion", eventosAdaptacion);
+                metricas.put("reiniciosParciales", eventosAdaptacion.stream()
+                        .filter(e -> e.getTipo() == EventoAdaptacion.TipoEvento.REINICIO_PARCIAL).count());
+                if (algoritmo.isBusquedaLocal()) {
+                    metricas.put("evaluacionesBusquedaLocal", algoritmo.getEvaluacionesBusquedaLocal().sum());
+                    metricas.put("mejorasBusquedaLocal", algoritmo.getMejorasBusquedaLocal().sum());
+                }
+                if (request.getTiempoLimiteMs() != null) {
+                    metricas.put("tiempoLimiteMs", request.getTiempoLimiteMs());
+                }
+                if (algoritmo.getArchivoPuntoControl() != null) {
+                    metricas.put("puntosControlGuardados", algoritmo.getPuntosControlGuardados());
+                    metricas.put("generacionReanudada", algoritmo.getGeneracionReanudada());
+                }
+                if (modoPareto) {
+                    metricas.put("modo", "PARETO");
+                    metricas.put("frentePareto", resumirFrente(frentesPareto.get(id)));
+                }
+                if (algoritmo.getMejorFitnessPorIsla() != null) {
+                    metricas.put("mejorFitnessPorIsla", Arrays.stream(algoritmo.getMejorFitnessPorIsla()).boxed().collect(Collectors.toList()));
+                }
 
                 AlgoritmoResultResponse resultado = new AlgoritmoResultResponse(
                         id,
@@ -246,6 +499,8 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 estado.setEstado(AlgoritmoStatusResponse.EstadoAlgoritmo.FALLIDO);
                 estado.setHoraUltimaActualizacion(LocalDateTime.now());
                 log.error("Error en ejecución de algoritmo {}: {}", id, e.getMessage(), e);
+            } finally {
+                algoritmos.remove(id);
             }
         });
 
@@ -292,6 +547,12 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
             return false;
         }
 
+        // Además de interrumpir el hilo, se avisa al algoritmo: la interrupción puede
+        // perderse en código que la captura, la marca de cancelación no
+        AlgoritmoGenetico algoritmo = algoritmos.get(id);
+        if (algoritmo != null) {
+            algoritmo.cancelar();
+        }
         boolean cancelled = tarea.cancel(true);
         if (cancelled) {
             AlgoritmoStatusResponse estado = estados.get(id);
@@ -303,6 +564,88 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
         return cancelled;
     }
 
+    @Override
+    public List<SolucionPareto> obtenerFrentePareto(String id) {
+        AlgoritmoResultResponse resultado = obtenerResultados(id);
+        List<SolucionPareto> frente = frentesPareto.get(resultado.getId());
+        if (frente == null) {
+            throw new IllegalStateException("La ejecución no se realizó en modo Pareto");
+        }
+        return frente;
+    }
+
+    @Override
+    public AlgoritmoResultResponse seleccionarSolucionPareto(String id, int indice) {
+        List<SolucionPareto> frente = obtenerFrentePareto(id);
+        if (indice < 0 || indice >= frente.size()) {
+            throw new IllegalArgumentException("El frente tiene " + frente.size() + " soluciones; índice inválido: " + indice);
+        }
+        SolucionPareto solucion = frente.get(indice);
+        AlgoritmoResultResponse resultado = resultados.get(id);
+        synchronized (resultado) {
+            // Los pedidos son compartidos: primero se quitan las asignaciones de otras soluciones
+            // o ejecuciones, para que los que esta solución no atiende no conserven un camión
+            for (Pedido pedido : dataRepository.obtenerPedidos()) {
+                if (!pedido.isEntregado()) {
+                    pedido.setCamionAsignado(null);
+                }
+            }
+            for (SolucionPareto otra : frente) {
+                for (Ruta ruta : otra.getRutas()) {
+                    for (Pedido pedido : ruta.getPedidosAsignados()) {
+                        pedido.setCamionAsignado(null);
+                    }
+                }
+            }
+            // Las rutas del frente no asignaron camión a sus pedidos; se hace al elegirlas
+            for (Ruta ruta : solucion.getRutas()) {
+                for (Pedido pedido : ruta.getPedidosAsignados()) {
+                    pedido.setCamionAsignado(ruta.getCodigoCamion());
+                }
+            }
+            List<Ruta> rutas = new ArrayList<>(solucion.getRutas());
+            resultado.setRutas(rutas);
+            resultado.setFitness(solucion.getFitness());
+            resultado.setDistanciaTotal(calcularDistanciaTotal(rutas));
+            resultado.setConsumoCombustible(calcularConsumoCombustible(rutas));
+            resultado.setPedidosEntregados(calcularPedidosEntregados(rutas));
+
+            Map<String, Object> metricas = resultado.getMetricas() != null ?
+                    new HashMap<>(resultado.getMetricas()) : new HashMap<>();
+            metricas.put("solucionParetoSeleccionada", indice);
+            resultado.setMetricas(metricas);
+        }
+        log.info("Ejecución {}: seleccionada la solución {} del frente de Pareto", id, indice);
+        return resultado;
+    }
+
+    /**
+     * Objetivos de cada solución del frente, sin las rutas, para las métricas del resultado
+     */
+    private List<Map<String, Object>> resumirFrente(List<SolucionPareto> frente) {
+        List<Map<String, Object>> resumen = new ArrayList<>();
+        for (SolucionPareto solucion : frente) {
+            Map<String, Object> fila = new HashMap<>();
+            fila.put("indice", solucion.getIndice());
+            fila.put("consumo", solucion.getConsumo());
+            fila.put("retrasos", solucion.getRetrasos());
+            fila.put("pedidosNoAsignados", solucion.getPedidosNoAsignados());
+            fila.put("sobrecarga", solucion.getSobrecarga());
+            fila.put("distancia", solucion.getDistancia());
+            fila.put("fitness", solucion.getFitness());
+            resumen.add(fila);
+        }
+        return resumen;
+    }
+
+    /**
+     * Crea el evaluador de fitness según la solicitud o, en su defecto, la configuración
+     */
+    private EvaluadorPoblacion crearEvaluador(Boolean evaluacionParalelaSolicitada) {
+        boolean paralela = evaluacionParalelaSolicitada != null ? evaluacionParalelaSolicitada : evaluacionParalela;
+        return paralela ? new EvaluadorParalelo(hilosEvaluacion) : new EvaluadorSecuencial();
+    }
+
     // Métodos auxiliares para cálculo de métricas
 
     private double calcularDistanciaTotal(List<Ruta> rutas) {
@@ -356,11 +699,7 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 mapa,
                 hoy,
                 EscenarioSimulacion.DIA_A_DIA,
-                request.getTamañoPoblacion(),
-                request.getNumGeneraciones(),
-                request.getTasaMutacion(),
-                request.getTasaCruce(),
-                request.getElitismo()
+                request
         );
     }
 
@@ -403,11 +742,7 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 mapa,
                 inicioDeSemana,
                 EscenarioSimulacion.SEMANAL, // Usar escenario semanal
-                request.getTamañoPoblacion(),
-                request.getNumGeneraciones(),
-                request.getTasaMutacion(),
-                request.getTasaCruce(),
-                request.getElitismo()
+                request
         );
     }
 
@@ -447,11 +782,7 @@ public class AlgoritmoServiceImpl implements AlgoritmoService {
                 mapa,
                 hoy,
                 EscenarioSimulacion.DIA_A_DIA,
-                request.getTamañoPoblacion(),
-                request.getNumGeneraciones(),
-                request.getTasaMutacion(),
-                request.getTasaCruce(),
-                request.getElitismo()
+                request
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.glp.glpDP1.services.impl;
+
+import com.glp.glpDP1.algorithm.AlgoritmoGenetico;
+import com.glp.glpDP1.algorithm.EvaluadorSecuencial;
+import com.glp.glpDP1.api.dto.request.LoteAlgoritmoRequest;
+import com.glp.glpDP1.api.dto.response.LoteEjecucionResponse;
+import com.glp.glpDP1.api.dto.response.LoteResumenResponse;
+import com.glp.glpDP1.config.ConfiguracionAlgoritmo;
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.repository.DataRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta lotes de corridas del algoritmo genético (grilla de parámetros × semillas) para
+ * ajustar sus parámetros. Las corridas se reparten en un pool propio y acotado, separado
+ * del executor de las ejecuciones individuales, y cada resultado se envía al cliente
+ * apenas termina. Al final se envía el resumen estadístico de cada configuración.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoteAlgoritmoService {
+
+    private static final int REPETICIONES_POR_DEFECTO = 5;
+
+    private final DataRepository dataRepository;
+    private final ConfiguracionAlgoritmo configuracionAlgoritmo;
+
+    // Hilos del pool de lotes (0 = núcleos disponibles - 1)
+    @Value("${algoritmo.lote.hilos:0}")
+    private int hilosLote;
+
+    // Máximo de corridas (configuraciones × semillas) aceptadas en un lote
+    @Value("${algoritmo.lote.max-corridas:500}")
+    private int maxCorridas;
+
+    private volatile ForkJoinPool pool;
+
+    /**
+     * Inicia un lote y retorna el emisor por el que se envían los eventos "ejecucion"
+     * (una corrida terminada), "resumen" (estadísticas por configuración) y "fin".
+     * Si el cliente se desconecta se detienen las corridas pendientes.
+     *
+     * @param request Grilla de parámetros y semillas
+     * @return Emisor de eventos del lote
+     */
+    public SseEmitter ejecutarLote(LoteAlgoritmoRequest request) {
+        List<Camion> camiones = dataRepository.obtenerCamiones();
+        List<Pedido> pedidos = dataRepository.obtenerPedidos();
+        Mapa mapa = dataRepository.obtenerMapa();
+
+        if (camiones.isEmpty()) {
+            throw new IllegalArgumentException("No hay camiones disponibles en el sistema");
+        }
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("No hay pedidos pendientes en el sistema");
+        }
+        if (mapa == null) {
+            throw new IllegalArgumentException("No hay mapa configurado en el sistema");
+        }
+
+        List<LoteResumenResponse> configuraciones = expandirGrilla(request);
+        List<Long> semillas = obtenerSemillas(request);
+        int totalCorridas = configuraciones.size() * semillas.size();
+        if (totalCorridas > maxCorridas) {
+            throw new IllegalArgumentException("El lote tiene " + totalCorridas +
+                    " corridas; el máximo permitido es " + maxCorridas);
+        }
+
+        LocalDateTime momentoActual = request.getMomentoActual() != null
+                ? request.getMomentoActual() : LocalDateTime.now();
+        log.info("Iniciando lote de {} configuraciones x {} semillas", configuraciones.size(), semillas.size());
+
+        SseEmitter emisor = new SseEmitter(0L);
+        AtomicBoolean cancelado = new AtomicBoolean(false);
+        Set<AlgoritmoGenetico> enCurso = ConcurrentHashMap.newKeySet();
+        Runnable cancelar = () -> {
+            if (cancelado.compareAndSet(false, true)) {
+                enCurso.forEach(AlgoritmoGenetico::detener);
+            }
+        };
+        emisor.onTimeout(cancelar);
+        emisor.onError(error -> cancelar.run());
+
+        List<List<LoteEjecucionResponse>> resultadosPorConfiguracion = new ArrayList<>();
+        List<CompletableFuture<Void>> corridas = new ArrayList<>(totalCorridas);
+        for (int c = 0; c < configuraciones.size(); c++) {
+            LoteResumenResponse configuracion = configuraciones.get(c);
+            List<LoteEjecucionResponse> resultados = Collections.synchronizedList(new ArrayList<>());
+            resultadosPorConfiguracion.add(resultados);
+
+            for (long semilla : semillas) {
+                corridas.add(CompletableFuture
+                        .supplyAsync(() -> ejecutarCorrida(configuracion, semilla, request.getTiempoLimiteMs(),
+                                camiones, pedidos, mapa, momentoActual, cancelado, enCurso), obtenerPool())
+                        .thenAccept(resultado -> {
+                            if (resultado == null) {
+                                return; // Lote cancelado antes de empezar la corrida
+                            }
+                            resultados.add(resultado);
+                            enviar(emisor, "ejecucion", resultado, cancelar);
+                        }));
+            }
+        }
+
+        CompletableFuture.allOf(corridas.toArray(new CompletableFuture[0])).whenComplete((ignorado, error) -> {
+            if (cancelado.get()) {
+                log.info("Lote cancelado por el cliente");
+                return;
+            }
+            if (error != null) {
+                log.error("Error en la ejecución del lote: {}", error.getMessage(), error);
+                emisor.completeWithError(error);
+                return;
+            }
+            for (int c = 0; c < configuraciones.size(); c++) {
+                enviar(emisor, "resumen", resumir(configuraciones.get(c), resultadosPorConfiguracion.get(c)), cancelar);
+            }
+            enviar(emisor, "fin", Map.of("configuraciones", configuraciones.size(), "corridas", totalCorridas), cancelar);
+            emisor.complete();
+            log.info("Lote completado: {} corridas", totalCorridas);
+        });
+
+        return emisor;
+    }
+
+    /**
+     * Ejecuta una corrida con un evaluador secuencial: el paralelismo lo aportan las
+     * corridas simultáneas del lote
+     */
+    private LoteEjecucionResponse ejecutarCorrida(LoteResumenResponse configuracion, long semilla, Long tiempoLimiteMs,
+                                                  List<Camion> camiones, List<Pedido> pedidos, Mapa mapa,
+                                                  LocalDateTime momentoActual, AtomicBoolean cancelado,
+                                                  Set<AlgoritmoGenetico> enCurso) {
+        if (cancelado.get()) {
+            return null;
+        }
+        AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(
+                configuracion.getTamañoPoblacion(),
+                configuracion.getNumGeneraciones(),
+                configuracion.getTasaMutacion(),
+                configuracion.getTasaCruce(),
+                configuracion.getElitismo()
+        );
+        // Misma configuración que las ejecuciones iniciadas con /start
+        configuracionAlgoritmo.aplicar(algoritmo);
+        algoritmo.setEvaluador(new EvaluadorSecuencial());
+        algoritmo.setSemilla(semilla);
+        algoritmo.setTiempoLimiteMs(tiempoLimiteMs);
+
+        LoteEjecucionResponse resultado = new LoteEjecucionResponse(
+                configuracion.getIndiceConfiguracion(),
+                configuracion.getTamañoPoblacion(),
+                configuracion.getNumGeneraciones(),
+                configuracion.getTasaMutacion(),
+                configuracion.getTasaCruce(),
+                configuracion.getElitismo(),
+                semilla,
+                null,
+                0,
+                0,
+                null
+        );
+
+        enCurso.add(algoritmo);
+        long inicio = System.nanoTime();
+        try {
+            // El algoritmo asigna camiones a los pedidos de la solución final, por lo que
+            // cada corrida trabaja sobre su propia copia
+            algoritmo.optimizarRutas(camiones, copiarPedidos(pedidos), mapa, momentoActual);
+            resultado.setFitness(algoritmo.getMejorFitness());
+        } catch (Exception e) {
+            log.error("Error en la corrida {} (semilla {}) del lote: {}",
+                    configuracion.getIndiceConfiguracion(), semilla, e.getMessage(), e);
+            resultado.setError(e.getMessage());
+        } finally {
+            enCurso.remove(algoritmo);
+        }
+        resultado.setTiempoEjecucionMs((System.nanoTime() - inicio) / 1_000_000L);
+        resultado.setGeneracionesCompletadas(algoritmo.getGeneracionesCompletadas());
+        return resultado;
+    }
+
+    /**
+     * Genera las configuraciones del producto cartesiano de los parámetros
+     */
+    private List<LoteResumenResponse> expandirGrilla(LoteAlgoritmoRequest request) {
+        AlgoritmoGenetico porDefecto = new AlgoritmoGenetico();
+        List<Integer> poblaciones = valores(request.getTamañosPoblacion(), porDefecto.getTamañoPoblacion());
+        List<Integer> generaciones = valores(request.getNumGeneraciones(), porDefecto.getNumGeneraciones());
+        List<Double> mutaciones = valores(request.getTasasMutacion(), porDefecto.getTasaMutacion());
+        List<Double> cruces = valores(request.getTasasCruce(), porDefecto.getTasaCruce());
+        List<Integer> elitismos = valores(request.getElitismos(), porDefecto.getElitismo());
+
+        List<LoteResumenResponse> configuraciones = new ArrayList<>();
+        for (int poblacion : poblaciones) {
+            for (int numGeneraciones : generaciones) {
+                for (double mutacion : mutaciones) {
+                    for (double cruce : cruces) {
+                        for (int elitismo : elitismos) {
+                            if (poblacion <= 0 || numGeneraciones <= 0 || elitismo < 0 || elitismo >= poblacion) {
+                                throw new IllegalArgumentException("Configuración inválida: población " + poblacion +
+                                        ", generaciones " + numGeneraciones + ", elitismo " + elitismo);
+                            }
+                            LoteResumenResponse configuracion = new LoteResumenResponse();
+                            configuracion.setIndiceConfiguracion(configuraciones.size());
+                            configuracion.setTamañoPoblacion(poblacion);
+                            configuracion.setNumGeneraciones(numGeneraciones);
+                            configuracion.setTasaMutacion(mutacion);
+                            configuracion.setTasaCruce(cruce);
+                            configuracion.setElitismo(elitismo);
+                            configuraciones.add(configuracion);
+                        }
+                    }
+                }
+            }
+        }
+        return configuraciones;
+    }
+
+    private List<Long> obtenerSemillas(LoteAlgoritmoRequest request) {
+        if (request.getSemillas() != null && !request.getSemillas().isEmpty()) {
+            return request.getSemillas();
+        }
+        int repeticiones = request.getNumRepeticiones() != null ? request.getNumRepeticiones() : REPETICIONES_POR_DEFECTO;
+        if (repeticiones <= 0) {
+            throw new IllegalArgumentException("El número de repeticiones debe ser mayor a cero");
+        }
+        List<Long> semillas = new ArrayList<>();
+        for (long s = 1; s <= repeticiones; s++) {
+            semillas.add(s);
+        }
+        return semillas;
+    }
+
+    private static <T> List<T> valores(List<T> solicitados, T porDefecto) {
+        return solicitados == null || solicitados.isEmpty() ? List.of(porDefecto) : solicitados;
+    }
+
+    /**
+     * Calcula las estadísticas de las corridas terminadas sin error de una configuración
+     */
+    private LoteResumenResponse resumir(LoteResumenResponse configuracion, List<LoteEjecucionResponse> resultados) {
+        List<LoteEjecucionResponse> exitosas = resultados.stream().filter(r -> r.getError() == null).toList();
+        configuracion.setEjecuciones(exitosas.size());
+        configuracion.setFallidas(resultados.size() - exitosas.size());
+        if (!exitosas.isEmpty()) {
+            configuracion.setFitness(estadistica(exitosas.stream().mapToDouble(LoteEjecucionResponse::getFitness).toArray()));
+            configuracion.setTiempoEjecucionMs(estadistica(exitosas.stream().mapToDouble(LoteEjecucionResponse::getTiempoEjecucionMs).toArray()));
+            configuracion.setGeneraciones(estadistica(exitosas.stream().mapToDouble(LoteEjecucionResponse::getGeneracionesCompletadas).toArray()));
+        }
+        return configuracion;
+    }
+
+    private static LoteResumenResponse.Estadistica estadistica(double[] valores) {
+        Arrays.sort(valores);
+        double suma = 0;
+        for (double valor : valores) {
+            suma += valor;
+        }
+        return new LoteResumenResponse.Estadistica(
+                suma / valores.length,
+                percentil(valores, 0.50),
+                percentil(valores, 0.95),
+                valores[0],
+                valores[valores.length - 1]
+        );
+    }
+
+    /**
+     * Percentil por rango más cercano sobre valores ordenados
+     */
+    private static double percentil(double[] ordenados, double p) {
+        int rango = (int) Math.ceil(p * ordenados.length);
+        return ordenados[Math.max(0, rango - 1)];
+    }
+
+    private static List<Pedido> copiarPedidos(List<Pedido> pedidos) {
+        List<Pedido> copia = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            copia.add(new Pedido(pedido.getId(), pedido.getIdCliente(), pedido.getUbicacion(), pedido.getCantidadGLP(),
+                    pedido.getHoraRecepcion(), (int) pedido.getTiempoLimiteEntrega().toHours()));
+        }
+        return copia;
+    }
+
+    /**
+     * Envía un evento; SseEmitter no admite envíos concurrentes. Si el cliente ya no
+     * está conectado se cancela el lote
+     */
+    private void enviar(SseEmitter emisor, String evento, Object datos, Runnable cancelar) {
+        try {
+            synchronized (emisor) {
+                emisor.send(SseEmitter.event().name(evento).data(datos));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.warn("No se pudo enviar el evento {} del lote: {}", evento, e.getMessage());
+            cancelar.run();
+        }
+    }
+
+    private ForkJoinPool obtenerPool() {
+        ForkJoinPool actual = pool;
+        if (actual == null) {
+            synchronized (this) {
+                actual = pool;
+                if (actual == null) {
+                    int hilos = hilosLote > 0 ? hilosLote : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+                    actual = new ForkJoinPool(hilos);
+                    pool = actual;
+                }
+            }
+        }
+        return actual;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
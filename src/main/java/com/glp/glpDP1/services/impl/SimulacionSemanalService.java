@@ -10,6 +10,7 @@ import com.glp.glpDP1.repository.impl.DataRepositoryImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -31,6 +32,10 @@ public class SimulacionSemanalService {
     @Autowired
     private DataRepositoryImpl dataRepository;
 
+    // Siembra la población de cada día con el plan del día anterior y planes de la heurística constructiva
+    @Value("${simulacion.semanal.arranque-en-caliente:true}")
+    private boolean arranqueEnCaliente;
+
     public SimulacionSemanalService(AveriaService averiaService, MonitoreoService monitoreoService) {
         this.averiaService = averiaService;
         this.monitoreoService = monitoreoService;
@@ -145,7 +150,8 @@ public class SimulacionSemanalService {
             log.info("Pedidos para hoy: {}", pedidosDia.size());
 
             // Ejecutar algoritmo genético
-            Map<String, Object> resultadoAlgoritmo = ejecutarAlgoritmoDia(camiones, pedidosDia, mapa, fechaDia);
+            List<Ruta> planAnterior = arranqueEnCaliente ? obtenerPlanAnterior(resultados, numeroDia) : null;
+            Map<String, Object> resultadoAlgoritmo = ejecutarAlgoritmoDia(camiones, pedidosDia, mapa, fechaDia, planAnterior);
 
             // Estructurar datos del día
             estructurarResultadoDia(resultadoDia, resultadoAlgoritmo);
@@ -359,7 +365,8 @@ public class SimulacionSemanalService {
             List<Camion> camiones,
             List<Pedido> pedidosDia,
             Mapa mapa,
-            LocalDateTime fechaDia) {
+            LocalDateTime fechaDia,
+            List<Ruta> planAnterior) {
 
         Map<String, Object> resultado = new HashMap<>();
 
@@ -383,6 +390,10 @@ public class SimulacionSemanalService {
         // Configurar y ejecutar algoritmo genético
         AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(200, 100, 0.1, 0.85, 15);
         algoritmo.setMonitoreoService(monitoreoService);
+        if (arranqueEnCaliente) {
+            algoritmo.setPlanAnterior(planAnterior);
+            algoritmo.setSemillasConstructivas(true);
+        }
 
         List<Ruta> rutas = algoritmo.optimizarRutas(camionesDisponibles, pedidosDia, mapa, fechaDia);
         log.info("Rutas generadas: {}", rutas.size());
@@ -397,6 +408,21 @@ public class SimulacionSemanalService {
         return resultado;
     }
 
+    /**
+     * Busca el plan del día más reciente que generó rutas
+     *
+     * @return Rutas de ese día, o null si es el primero con pedidos
+     */
+    private List<Ruta> obtenerPlanAnterior(ResultadosSimulacion resultados, int numeroDia) {
+        for (int dia = numeroDia - 1; dia >= 1; dia--) {
+            ResultadoDia resultadoDia = resultados.resultadosPorDia.get(dia);
+            if (resultadoDia != null && resultadoDia.rutas != null && !resultadoDia.rutas.isEmpty()) {
+                return resultadoDia.rutas;
+            }
+        }
+        return null;
+    }
+
     private void calcularMetricasDia(Map<String, Object> resultado, List<Ruta> rutas,
                                      List<Pedido> pedidosDia, double fitness, List<String> camionesEnMantenimiento) {
 
@@ -0,0 +1,115 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ruta;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.TipoCamion;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlgoritmoGeneticoTest {
+
+	private static final LocalDateTime MOMENTO = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+	@Test
+	void ejecucionConTiempoLimiteRetornaPlan() {
+		AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(30, 1000, 0.08, 0.8, 3);
+		algoritmo.setSemilla(1L);
+		algoritmo.setTiempoLimiteMs(300L);
+
+		List<Ruta> rutas = algoritmo.optimizarRutas(camiones(), pedidos(), new Mapa(), MOMENTO);
+
+		assertFalse(rutas.isEmpty());
+		assertTrue(rutas.stream().mapToInt(r -> r.getPedidosAsignados().size()).sum() > 0);
+		assertTrue(algoritmo.getMejorFitness() > 0.0 && algoritmo.getMejorFitness() < Double.MAX_VALUE);
+		assertTrue(algoritmo.getGeneracionesCompletadas() > 0);
+	}
+
+	@Test
+	void paretoConTiempoLimiteRetornaFrente() {
+		AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(30, 1000, 0.08, 0.8, 3);
+		algoritmo.setSemilla(1L);
+		algoritmo.setTiempoLimiteMs(300L);
+
+		List<SolucionPareto> frente = algoritmo.optimizarPareto(camiones(), pedidos(), new Mapa(), MOMENTO);
+
+		assertFalse(frente.isEmpty());
+		assertTrue(algoritmo.getGeneracionesCompletadas() > 0);
+	}
+
+	@Test
+	void nuevaEjecucionNoHeredaCancelacionAnterior() {
+		AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(30, 20, 0.08, 0.8, 3);
+		algoritmo.setSemilla(1L);
+		algoritmo.cancelar();
+
+		List<Ruta> rutas = algoritmo.optimizarRutas(camiones(), pedidos(), new Mapa(), MOMENTO);
+
+		assertFalse(algoritmo.isCancelado());
+		assertFalse(rutas.isEmpty());
+		assertTrue(algoritmo.getGeneracionesCompletadas() > 0);
+	}
+
+	@Test
+	void ejecucionCanceladaSeReanudaDesdeSuPuntoControl() throws IOException {
+		Path archivo = Files.createTempDirectory("puntoControl").resolve("corrida.bin");
+
+		AlgoritmoGenetico primera = new AlgoritmoGenetico(30, 40, 0.08, 0.8, 3);
+		primera.setSemilla(1L);
+		primera.setArchivoPuntoControl(archivo);
+		primera.setIntervaloPuntoControl(5);
+		primera.setObservadorProgreso((generacion, fitness, progreso, transcurridoMs) -> {
+			if (generacion >= 12) {
+				primera.cancelar();
+			}
+		});
+		primera.optimizarRutas(camiones(), pedidos(), new Mapa(), MOMENTO);
+
+		PuntoControl guardado = PuntoControl.cargar(archivo);
+		assertNotNull(guardado);
+		assertTrue(guardado.getGeneracion() >= 12);
+
+		AlgoritmoGenetico segunda = new AlgoritmoGenetico(30, 40, 0.08, 0.8, 3);
+		segunda.setArchivoPuntoControl(archivo);
+		List<Ruta> rutas = segunda.optimizarRutas(camiones(), pedidos(), new Mapa(), MOMENTO);
+
+		assertEquals(guardado.getGeneracion(), segunda.getGeneracionReanudada());
+		assertEquals(guardado.getSemilla(), segunda.getSemillaUtilizada());
+		assertFalse(rutas.isEmpty());
+		// Al terminar sin cancelar el punto de control ya no hace falta
+		assertFalse(Files.exists(archivo));
+	}
+
+	private static List<Camion> camiones() {
+		List<Camion> camiones = new ArrayList<>();
+		TipoCamion[] tipos = TipoCamion.values();
+		for (int i = 0; i < 8; i++) {
+			camiones.add(new Camion("C" + i, tipos[i % tipos.length], new Ubicacion(12, 8)));
+		}
+		return camiones;
+	}
+
+	private static List<Pedido> pedidos() {
+		Random aleatorio = new Random(7);
+		List<Pedido> pedidos = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			pedidos.add(new Pedido("P" + i, "cliente" + i, new Ubicacion(aleatorio.nextInt(71), aleatorio.nextInt(51)),
+					1 + aleatorio.nextInt(10), MOMENTO.minusHours(aleatorio.nextInt(3)), 4 + aleatorio.nextInt(20)));
+		}
+		return pedidos;
+	}
+}
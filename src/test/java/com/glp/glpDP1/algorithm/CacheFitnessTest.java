@@ -0,0 +1,72 @@
+package com.glp.glpDP1.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheFitnessTest {
+
+	@Test
+	void guardaUnaCopiaDeLosGenes() {
+		CacheFitness cache = new CacheFitness(100);
+		int[] genes = {0, 1, 2, 1};
+		long hash = CacheFitness.hash(genes);
+
+		cache.guardar(hash, genes, 42.0);
+		genes[0] = 3;
+
+		assertTrue(Double.isNaN(cache.buscar(hash, genes)));
+		assertEquals(42.0, cache.buscar(hash, new int[]{0, 1, 2, 1}));
+		assertEquals(1, cache.getAciertos());
+		assertEquals(1, cache.getFallos());
+	}
+
+	@Test
+	void desalojaYReutilizaEntradasSinMezclarGenes() {
+		CacheFitness cache = new CacheFitness(32);
+		for (int i = 0; i < 1000; i++) {
+			int[] genes = {i, i + 1, i + 2};
+			cache.guardar(CacheFitness.hash(genes), genes, i);
+		}
+		int encontrados = 0;
+		for (int i = 0; i < 1000; i++) {
+			int[] genes = {i, i + 1, i + 2};
+			double fitness = cache.buscar(CacheFitness.hash(genes), genes);
+			if (!Double.isNaN(fitness)) {
+				assertEquals(i, fitness);
+				encontrados++;
+			}
+		}
+		assertTrue(encontrados > 0 && encontrados <= 32);
+	}
+
+	@Test
+	void capacidadNoMultiploDeLosSegmentosSeRespeta() {
+		for (int capacidad : new int[]{1, 20}) {
+			CacheFitness cache = new CacheFitness(capacidad);
+			for (int i = 0; i < 1000; i++) {
+				int[] genes = {i, i + 1, i + 2};
+				cache.guardar(CacheFitness.hash(genes), genes, i);
+			}
+			int encontrados = 0;
+			for (int i = 0; i < 1000; i++) {
+				int[] genes = {i, i + 1, i + 2};
+				if (!Double.isNaN(cache.buscar(CacheFitness.hash(genes), genes))) {
+					encontrados++;
+				}
+			}
+			assertEquals(capacidad, encontrados);
+		}
+	}
+
+	@Test
+	void sinCapacidadNoGuarda() {
+		CacheFitness cache = new CacheFitness(0);
+		int[] genes = {1, 2};
+		cache.guardar(CacheFitness.hash(genes), genes, 1.0);
+
+		assertTrue(Double.isNaN(cache.buscar(CacheFitness.hash(genes), genes)));
+		assertEquals(0, cache.getFallos());
+	}
+}
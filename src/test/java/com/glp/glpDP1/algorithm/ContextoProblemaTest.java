@@ -0,0 +1,168 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ruta;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.TipoCamion;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContextoProblemaTest {
+
+	private static final LocalDateTime MOMENTO = LocalDateTime.of(2025, 1, 1, 8, 0);
+	private static final double TOLERANCIA = 1e-9;
+
+	@Test
+	void costosCoincidenConLasRutasDecodificadas() {
+		verificarParidad(false);
+	}
+
+	@Test
+	void costosCon2OptCoincidenConLasRutasDecodificadas() {
+		verificarParidad(true);
+	}
+
+	@Test
+	void recalcularUnCamionNoCambiaLosDemas() {
+		Random aleatorio = new Random(3);
+		List<Camion> camiones = camiones();
+		List<Pedido> pedidos = pedidos(aleatorio);
+		ContextoProblema contexto = new ContextoProblema(camiones, pedidos, new Mapa(), MOMENTO, null, false,
+				new EvaluadorSecuencial());
+		int[] genes = genesAleatorios(aleatorio, pedidos.size(), camiones.size());
+		boolean[] todos = new boolean[camiones.size()];
+		Arrays.fill(todos, true);
+		double[] costos = new double[camiones.size() * ContextoProblema.NUM_COMPONENTES];
+		contexto.calcularCostosCamiones(genes, todos, false, costos);
+
+		// Mover un pedido del camión 0 al 1 y recalcular solo esos dos
+		for (int p = 0; p < genes.length; p++) {
+			if (genes[p] == 0) {
+				genes[p] = 1;
+				break;
+			}
+		}
+		boolean[] modificados = new boolean[camiones.size()];
+		modificados[0] = true;
+		modificados[1] = true;
+		double[] incremental = costos.clone();
+		contexto.calcularCostosCamiones(genes, modificados, false, incremental);
+
+		double[] completo = new double[costos.length];
+		contexto.calcularCostosCamiones(genes, todos, false, completo);
+		for (int i = 0; i < completo.length; i++) {
+			assertEquals(completo[i], incremental[i], TOLERANCIA);
+		}
+	}
+
+	private static void verificarParidad(boolean aplicar2Opt) {
+		Mapa mapa = new Mapa();
+		for (long semilla = 1; semilla <= 10; semilla++) {
+			Random aleatorio = new Random(semilla);
+			List<Camion> camiones = camiones();
+			List<Pedido> pedidos = pedidos(aleatorio);
+			ContextoProblema contexto = new ContextoProblema(camiones, pedidos, mapa, MOMENTO, null, false,
+					new EvaluadorSecuencial());
+			int[] genes = genesAleatorios(aleatorio, pedidos.size(), camiones.size());
+
+			boolean[] todos = new boolean[camiones.size()];
+			Arrays.fill(todos, true);
+			double[] costos = new double[camiones.size() * ContextoProblema.NUM_COMPONENTES];
+			contexto.calcularCostosCamiones(genes, todos, aplicar2Opt, costos);
+
+			for (int c = 0; c < camiones.size(); c++) {
+				Camion camion = camiones.get(c);
+				int base = c * ContextoProblema.NUM_COMPONENTES;
+
+				// Ruta armada como la decodificación del cromosoma
+				Ruta ruta = new Ruta(camion.getCodigo(), camion.getUbicacionActual());
+				ruta.setDestino(mapa.obtenerAlmacenCentral().getUbicacion());
+				double glp = 0;
+				double retrasos = 0;
+				for (int p = 0; p < genes.length; p++) {
+					if (genes[p] == c) {
+						Pedido pedido = pedidos.get(p);
+						ruta.agregarPedido(pedido, false);
+						glp += pedido.getCantidadGLP();
+						retrasos += retraso(camion, pedido);
+					}
+				}
+				if (ruta.getPedidosAsignados().isEmpty()) {
+					for (int k = 0; k < ContextoProblema.NUM_COMPONENTES; k++) {
+						assertEquals(0.0, costos[base + k]);
+					}
+					continue;
+				}
+				ruta.optimizarSecuencia();
+				if (aplicar2Opt) {
+					ruta.mejorarSecuencia2Opt();
+				}
+				double consumo = ruta.calcularConsumoCombustible(camion);
+				double factorRiesgo = switch (camion.getTipo()) {
+					case TA -> 0.5;
+					case TB -> 0.6;
+					case TC -> 0.7;
+					case TD -> 0.8;
+				};
+
+				String mensaje = "semilla " + semilla + ", camión " + c;
+				assertEquals(ruta.getSecuenciaParadas(), contexto.secuenciaParadas(c, genes, aplicar2Opt), mensaje);
+				assertEquals(ruta.getDistanciaTotal(), costos[base + ContextoProblema.COSTO_DISTANCIA], TOLERANCIA, mensaje);
+				assertEquals(consumo, costos[base + ContextoProblema.COSTO_CONSUMO], TOLERANCIA, mensaje);
+				assertEquals(retrasos, costos[base + ContextoProblema.COSTO_RETRASOS], TOLERANCIA, mensaje);
+				assertEquals(Math.max(0.0, glp - camion.getCapacidadTanqueGLP()),
+						costos[base + ContextoProblema.COSTO_SOBRECARGA], TOLERANCIA, mensaje);
+				assertEquals(ruta.getDistanciaTotal() * factorRiesgo / 100,
+						costos[base + ContextoProblema.COSTO_RIESGO], TOLERANCIA, mensaje);
+			}
+		}
+	}
+
+	// Retraso del fitness original: viaje directo desde el camión a 50 km/h
+	private static double retraso(Camion camion, Pedido pedido) {
+		double horasViaje = camion.getUbicacionActual().distanciaA(pedido.getUbicacion()) / 50.0;
+		LocalDateTime entregaEstimada = MOMENTO.plusMinutes((long) (horasViaje * 60));
+		if (entregaEstimada.isAfter(pedido.getHoraLimiteEntrega())) {
+			return Duration.between(pedido.getHoraLimiteEntrega(), entregaEstimada).toMinutes();
+		}
+		return 0.0;
+	}
+
+	private static int[] genesAleatorios(Random aleatorio, int numPedidos, int numCamiones) {
+		int[] genes = new int[numPedidos];
+		for (int p = 0; p < numPedidos; p++) {
+			genes[p] = aleatorio.nextInt(numCamiones + 1) - 1;
+		}
+		return genes;
+	}
+
+	private static List<Camion> camiones() {
+		List<Camion> camiones = new ArrayList<>();
+		TipoCamion[] tipos = TipoCamion.values();
+		for (int i = 0; i < 6; i++) {
+			camiones.add(new Camion("C" + i, tipos[i % tipos.length], new Ubicacion(5 + 10 * i, 8 + 5 * i)));
+		}
+		return camiones;
+	}
+
+	// Ubicaciones en una grilla gruesa para que varios pedidos compartan parada
+	private static List<Pedido> pedidos(Random aleatorio) {
+		List<Pedido> pedidos = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Ubicacion ubicacion = new Ubicacion(7 * aleatorio.nextInt(11), 5 * aleatorio.nextInt(11));
+			pedidos.add(new Pedido("P" + i, "cliente" + i, ubicacion, 1 + aleatorio.nextInt(12),
+					MOMENTO.minusHours(aleatorio.nextInt(3)), 4 + aleatorio.nextInt(20)));
+		}
+		return pedidos;
+	}
+}
@@ -0,0 +1,66 @@
+package com.glp.glpDP1.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class NucleoFitnessTest {
+
+	@Test
+	void escalarUsaLosPesosDeLaInterfaz() {
+		NucleoFitness escalar = new NucleoFitnessEscalar();
+		double[] costos = new double[2 * ContextoProblema.NUM_COMPONENTES];
+		costos[ContextoProblema.COSTO_CONSUMO] = 1;
+		costos[ContextoProblema.COSTO_DISTANCIA] = 2;
+		costos[ContextoProblema.COSTO_RETRASOS] = 3;
+		costos[ContextoProblema.COSTO_SOBRECARGA] = 4;
+		costos[ContextoProblema.NUM_COMPONENTES + ContextoProblema.COSTO_RIESGO] = 5;
+
+		double esperado = NucleoFitness.PESO_CONSUMO + 2 * NucleoFitness.PESO_DISTANCIA + 3 * NucleoFitness.PESO_RETRASOS
+				+ 2 * NucleoFitness.PESO_NO_ASIGNADO + 4 * NucleoFitness.PESO_SOBRECARGA + 5 * NucleoFitness.PESO_RIESGO;
+		assertEquals(esperado, escalar.evaluar(new int[]{0, -1, 1, -1}, costos), 1e-9);
+	}
+
+	@Test
+	void vectorialCoincideConEscalar() {
+		assumeTrue(NucleoFitness.vectorialDisponible(), "requiere --add-modules jdk.incubator.vector");
+		SplittableRandom aleatorio = new SplittableRandom(11);
+		// Tamaños que no son múltiplo del ancho de los vectores, para cubrir los restos
+		for (int numCamiones : new int[]{1, 7, 20, 33}) {
+			NucleoFitness escalar = new NucleoFitnessEscalar();
+			NucleoFitness vectorial = NucleoFitness.crear(true, numCamiones);
+			assertTrue(vectorial.isVectorial());
+
+			for (int numPedidos : new int[]{1, 13, 200}) {
+				int[] genes = new int[numPedidos];
+				for (int i = 0; i < numPedidos; i++) {
+					genes[i] = aleatorio.nextInt(numCamiones + 1) - 1;
+				}
+				double[] costos = new double[numCamiones * ContextoProblema.NUM_COMPONENTES];
+				for (int i = 0; i < costos.length; i++) {
+					costos[i] = aleatorio.nextDouble(0, 500);
+				}
+				assertEquals(escalar.contarNoAsignados(genes), vectorial.contarNoAsignados(genes));
+				double esperado = escalar.evaluar(genes, costos);
+				assertEquals(esperado, vectorial.evaluar(genes, costos), Math.abs(esperado) * 1e-12);
+
+				int[] x = new int[numPedidos];
+				int[] y = new int[numPedidos];
+				for (int i = 0; i < numPedidos; i++) {
+					x[i] = aleatorio.nextInt(71);
+					y[i] = aleatorio.nextInt(51);
+				}
+				int[] manhattanEscalar = new int[numPedidos * numPedidos];
+				int[] manhattanVectorial = new int[numPedidos * numPedidos];
+				escalar.calcularManhattan(x, y, manhattanEscalar);
+				vectorial.calcularManhattan(x, y, manhattanVectorial);
+				assertArrayEquals(manhattanEscalar, manhattanVectorial);
+			}
+		}
+	}
+}
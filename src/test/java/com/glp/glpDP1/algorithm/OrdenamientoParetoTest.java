@@ -0,0 +1,97 @@
+package com.glp.glpDP1.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrdenamientoParetoTest {
+
+	@Test
+	void asignaFrentesYHacinamiento() {
+		double[][] objetivos = {{1, 5}, {2, 3}, {4, 1}, {3, 4}, {5, 2}, {6, 6}};
+		int[] rango = new int[objetivos.length];
+		double[] crowding = new double[objetivos.length];
+		OrdenamientoPareto ordenamiento = new OrdenamientoPareto(objetivos.length);
+
+		ordenamiento.ordenar(objetivos, objetivos.length, rango, crowding);
+
+		assertArrayEquals(new int[]{0, 0, 0, 1, 1, 2}, rango);
+		assertEquals(3, ordenamiento.getNumFrentes());
+		assertEquals(Double.POSITIVE_INFINITY, crowding[0]);
+		assertEquals(Double.POSITIVE_INFINITY, crowding[2]);
+		// (4 - 1) / (4 - 1) en el primer objetivo más (5 - 1) / (5 - 1) en el segundo
+		assertEquals(2.0, crowding[1], 1e-12);
+		assertEquals(Double.POSITIVE_INFINITY, crowding[3]);
+		assertEquals(Double.POSITIVE_INFINITY, crowding[5]);
+	}
+
+	@Test
+	void solucionesIgualesNoSeDominan() {
+		assertEquals(0, OrdenamientoPareto.comparar(new double[]{1, 2}, new double[]{1, 2}));
+		assertEquals(1, OrdenamientoPareto.comparar(new double[]{1, 2}, new double[]{1, 3}));
+		assertEquals(-1, OrdenamientoPareto.comparar(new double[]{2, 2}, new double[]{1, 2}));
+		assertEquals(0, OrdenamientoPareto.comparar(new double[]{1, 3}, new double[]{2, 2}));
+	}
+
+	@Test
+	void frentesCoincidenConRetiroSucesivo() {
+		Random aleatorio = new Random(3);
+		int capacidad = 120;
+		OrdenamientoPareto ordenamiento = new OrdenamientoPareto(capacidad);
+		// Se reutiliza la misma instancia con tamaños distintos, como entre generaciones
+		for (int cantidad : new int[]{120, 40, 120, 7}) {
+			double[][] objetivos = new double[capacidad][3];
+			for (int i = 0; i < cantidad; i++) {
+				for (int m = 0; m < 3; m++) {
+					objetivos[i][m] = aleatorio.nextInt(20);
+				}
+			}
+			int[] rango = new int[capacidad];
+			ordenamiento.ordenar(objetivos, cantidad, rango, new double[capacidad]);
+
+			int[] esperado = retiroSucesivo(objetivos, cantidad);
+			for (int i = 0; i < cantidad; i++) {
+				assertEquals(esperado[i], rango[i], "solución " + i);
+			}
+			int total = 0;
+			for (int f = 0; f < ordenamiento.getNumFrentes(); f++) {
+				for (int indice : ordenamiento.getFrente(f)) {
+					assertEquals(f, rango[indice]);
+					total++;
+				}
+			}
+			assertEquals(cantidad, total);
+		}
+	}
+
+	// Frente de cada solución retirando una y otra vez las no dominadas entre las restantes
+	private static int[] retiroSucesivo(double[][] objetivos, int cantidad) {
+		int[] rango = new int[cantidad];
+		Arrays.fill(rango, -1);
+		int asignadas = 0;
+		for (int frente = 0; asignadas < cantidad; frente++) {
+			boolean[] enFrente = new boolean[cantidad];
+			for (int p = 0; p < cantidad; p++) {
+				if (rango[p] >= 0) {
+					continue;
+				}
+				boolean dominada = false;
+				for (int q = 0; q < cantidad && !dominada; q++) {
+					dominada = rango[q] < 0 && OrdenamientoPareto.comparar(objetivos[q], objetivos[p]) > 0;
+				}
+				enFrente[p] = !dominada;
+			}
+			for (int p = 0; p < cantidad; p++) {
+				if (enFrente[p]) {
+					rango[p] = frente;
+					asignadas++;
+				}
+			}
+		}
+		return rango;
+	}
+}
@@ -0,0 +1,100 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.TipoCamion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlanificadorConstructivoTest {
+
+	private static final LocalDateTime MOMENTO = LocalDateTime.of(2025, 1, 1, 8, 0);
+	private static final Ubicacion CENTRAL = new Ubicacion(12, 8);
+
+	private static PlanificadorConstructivo planificador(List<Camion> camiones, List<Pedido> pedidos) {
+		ContextoProblema contexto = new ContextoProblema(camiones, pedidos, new Mapa(), MOMENTO, null, false,
+				new EvaluadorSecuencial());
+		return new PlanificadorConstructivo(contexto, MOMENTO);
+	}
+
+	@Test
+	void primeraFaseRespetaLaCapacidadDeCadaCamion() {
+		List<Camion> camiones = List.of(
+				new Camion("TD01", TipoCamion.TD, CENTRAL),
+				new Camion("TD02", TipoCamion.TD, CENTRAL));
+		// Juntos quedan más cerca en un solo camión, pero suman 8 m3 y cada camión carga 5
+		List<Pedido> pedidos = List.of(
+				new Pedido("A", "cliente-A", new Ubicacion(14, 8), 4, MOMENTO, 24),
+				new Pedido("B", "cliente-B", new Ubicacion(16, 8), 4, MOMENTO, 24));
+
+		int[] genes = planificador(camiones, pedidos).planificar(null);
+
+		assertTrue(genes[0] >= 0 && genes[1] >= 0);
+		assertNotEquals(genes[0], genes[1]);
+	}
+
+	@Test
+	void primeraFaseRespetaLasHorasLimite() {
+		Camion camion = new Camion("TA01", TipoCamion.TA, new Ubicacion(40, 8));
+		// U vence a los 30 minutos; pasar antes por N es más corto, pero lo alcanzaría a los 36
+		Pedido urgente = new Pedido("U", "cliente-U", new Ubicacion(30, 8), 2, MOMENTO.minusMinutes(30), 1);
+		Pedido normal = new Pedido("N", "cliente-N", new Ubicacion(50, 8), 2, MOMENTO, 24);
+		PlanificadorConstructivo planificador = planificador(List.of(camion), List.of(urgente, normal));
+
+		int[] genes = planificador.planificar(null);
+
+		assertArrayEquals(new int[]{0, 0}, genes);
+		assertEquals(List.of(urgente.getUbicacion(), normal.getUbicacion()), planificador.getParadas(0));
+	}
+
+	@Test
+	void pedidoMayorQueUnViajeSeAsignaEnLaFaseConRecarga() {
+		List<Camion> camiones = List.of(
+				new Camion("TD01", TipoCamion.TD, CENTRAL),
+				new Camion("TC01", TipoCamion.TC, CENTRAL));
+		List<Pedido> pedidos = List.of(
+				new Pedido("G", "cliente-G", new Ubicacion(20, 20), 12, MOMENTO, 24),
+				new Pedido("P", "cliente-P", new Ubicacion(14, 8), 2, MOMENTO, 24));
+
+		int[] genes = planificador(camiones, pedidos).planificar(null);
+
+		// Ningún camión carga 12 m3 en un viaje: G no queda sin asignar
+		assertTrue(genes[0] >= 0);
+		assertTrue(genes[1] >= 0);
+	}
+
+	@Test
+	void sinAleatorioElPlanEsDeterminista() {
+		Random aleatorio = new Random(5);
+		List<Camion> camiones = new ArrayList<>();
+		TipoCamion[] tipos = TipoCamion.values();
+		for (int i = 0; i < 6; i++) {
+			camiones.add(new Camion("C" + i, tipos[i % tipos.length], new Ubicacion(5 + 10 * i, 8 + 5 * i)));
+		}
+		List<Pedido> pedidos = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			pedidos.add(new Pedido("P" + i, "cliente" + i, new Ubicacion(aleatorio.nextInt(70), aleatorio.nextInt(50)),
+					1 + aleatorio.nextInt(12), MOMENTO.minusHours(aleatorio.nextInt(3)), 4 + aleatorio.nextInt(20)));
+		}
+		PlanificadorConstructivo planificador = planificador(camiones, pedidos);
+
+		int[] primero = planificador.planificar(null);
+		// Un plan perturbado en medio no deja estado que cambie el siguiente plan determinista
+		planificador.planificar(new SplittableRandom(1));
+
+		assertArrayEquals(primero, planificador.planificar(null));
+		assertArrayEquals(primero, planificador(camiones, pedidos).planificar(null));
+	}
+}
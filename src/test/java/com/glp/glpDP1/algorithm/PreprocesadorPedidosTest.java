@@ -0,0 +1,94 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.TipoCamion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreprocesadorPedidosTest {
+
+	private static final LocalDateTime MOMENTO = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+	private static List<Camion> flota(TipoCamion... tipos) {
+		List<Camion> camiones = new ArrayList<>();
+		for (int i = 0; i < tipos.length; i++) {
+			camiones.add(new Camion("C" + i, tipos[i], new Ubicacion(12, 8)));
+		}
+		return camiones;
+	}
+
+	private static Pedido pedido(String cliente, double cantidad, int horasLimite) {
+		return new Pedido(cliente, new Ubicacion(1, 1), cantidad, MOMENTO, horasLimite);
+	}
+
+	@Test
+	void ordenaPorHorasLimiteYCantidadSinModificarLaLista() {
+		List<Pedido> pedidos = List.of(pedido("a", 8, 12), pedido("b", 3, 4), pedido("c", 2, 12), pedido("d", 9, 4));
+		PreprocesadorPedidos preprocesador = new PreprocesadorPedidos(flota(TipoCamion.TA, TipoCamion.TD));
+
+		PreprocesadorPedidos.TablaPedidos tabla = preprocesador.procesar(pedidos);
+
+		assertEquals(4, tabla.size());
+		assertSame(pedidos.get(1), tabla.get(0));
+		assertSame(pedidos.get(3), tabla.get(1));
+		assertSame(pedidos.get(2), tabla.get(2));
+		assertSame(pedidos.get(0), tabla.get(3));
+		assertArrayEquals(new int[]{1, 3, 2, 0}, tabla.getOrigen());
+		assertEquals(0, tabla.getNumDivididos());
+	}
+
+	@Test
+	void divideConElMenorEscalonQueCubreLaCantidad() {
+		PreprocesadorPedidos preprocesador = new PreprocesadorPedidos(
+				flota(TipoCamion.TA, TipoCamion.TB, TipoCamion.TC, TipoCamion.TD));
+
+		// 40 m3: dos partes; la segunda baja de 25 a 15, el menor escalón que aún cubre el total
+		PreprocesadorPedidos.TablaPedidos tabla = preprocesador.procesar(List.of(pedido("grande", 40, 8)));
+
+		assertEquals(2, tabla.size());
+		assertEquals(25.0, tabla.get(0).getCantidadGLP(), 1e-9);
+		assertEquals(15.0, tabla.get(1).getCantidadGLP(), 1e-9);
+		assertEquals("grande_parte1", tabla.get(0).getIdCliente());
+		assertEquals("grande_parte2", tabla.get(1).getIdCliente());
+		assertArrayEquals(new int[]{0, 0}, tabla.getOrigen());
+		assertEquals(1, tabla.getNumDivididos());
+	}
+
+	@Test
+	void laUltimaParteRecibeElResto() {
+		PreprocesadorPedidos preprocesador = new PreprocesadorPedidos(flota(TipoCamion.TA, TipoCamion.TD));
+
+		PreprocesadorPedidos.TablaPedidos tabla = preprocesador.procesar(List.of(pedido("x", 3, 8), pedido("y", 26, 8)));
+
+		assertEquals(3, tabla.size());
+		assertEquals(3.0, tabla.get(0).getCantidadGLP(), 1e-9);
+		assertEquals(25.0, tabla.get(1).getCantidadGLP(), 1e-9);
+		assertEquals(1.0, tabla.get(2).getCantidadGLP(), 1e-9);
+		assertArrayEquals(new int[]{0, 1, 1}, tabla.getOrigen());
+		double total = 0;
+		for (Pedido parte : tabla.getPedidos()) {
+			total += parte.getCantidadGLP();
+		}
+		assertEquals(29.0, total, 1e-9);
+	}
+
+	@Test
+	void mismaEscaleraDependeSoloDeLosTiposDeLaFlota() {
+		PreprocesadorPedidos preprocesador = new PreprocesadorPedidos(flota(TipoCamion.TA, TipoCamion.TC, TipoCamion.TC));
+
+		assertTrue(preprocesador.mismaEscalera(flota(TipoCamion.TC, TipoCamion.TA)));
+		assertFalse(preprocesador.mismaEscalera(flota(TipoCamion.TA)));
+		assertFalse(preprocesador.mismaEscalera(flota(TipoCamion.TA, TipoCamion.TB, TipoCamion.TC)));
+	}
+}
@@ -0,0 +1,82 @@
+package com.glp.glpDP1.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuntoControlTest {
+
+	@Test
+	void guardarYCargarConservanElEstado() throws IOException {
+		Path archivo = Files.createTempDirectory("puntoControl").resolve("corrida.bin");
+		PuntoControl.EstadoIsla[] islas = {
+				new PuntoControl.EstadoIsla(new int[][]{{0, 1, -1, 2}, {2, 2, 0, -1}}, new int[]{1, 0, 2, -1},
+						120, 0.125, 0.75, 7, 2, true),
+				new PuntoControl.EstadoIsla(new int[][]{{3, -1, 1, 0}}, new int[]{3, 3, 1, 0},
+						118, 0.05, 0.8, 0, 0, false)
+		};
+
+		new PuntoControl(0x1234_5678_9ABCL, -42L, 120, islas).guardar(archivo);
+		PuntoControl cargado = PuntoControl.cargar(archivo);
+
+		assertEquals(0x1234_5678_9ABCL, cargado.getHuella());
+		assertEquals(-42L, cargado.getSemilla());
+		assertEquals(120, cargado.getGeneracion());
+		assertEquals(2, cargado.getIslas().length);
+		for (int i = 0; i < islas.length; i++) {
+			PuntoControl.EstadoIsla esperada = islas[i];
+			PuntoControl.EstadoIsla isla = cargado.getIslas()[i];
+			assertEquals(esperada.getPoblacion().length, isla.getPoblacion().length);
+			for (int j = 0; j < esperada.getPoblacion().length; j++) {
+				assertArrayEquals(esperada.getPoblacion()[j], isla.getPoblacion()[j]);
+			}
+			assertArrayEquals(esperada.getMejor(), isla.getMejor());
+			assertEquals(esperada.getGeneraciones(), isla.getGeneraciones());
+			assertEquals(esperada.getTasaMutacion(), isla.getTasaMutacion());
+			assertEquals(esperada.getTasaCruce(), isla.getTasaCruce());
+			assertEquals(esperada.getGeneracionesSinMejora(), isla.getGeneracionesSinMejora());
+			assertEquals(esperada.getReinicios(), isla.getReinicios());
+			assertEquals(esperada.isConvergida(), isla.isConvergida());
+		}
+		// La escritura pasa por un temporal que no queda en disco
+		assertFalse(Files.exists(archivo.resolveSibling("corrida.bin.tmp")));
+	}
+
+	@Test
+	void archivoInexistenteNoTienePuntoControl() throws IOException {
+		Path archivo = Files.createTempDirectory("puntoControl").resolve("no-existe.bin");
+
+		assertNull(PuntoControl.cargar(archivo));
+	}
+
+	@Test
+	void archivoAjenoNoSeCarga() throws IOException {
+		Path archivo = Files.createTempFile("puntoControl", ".bin");
+		Files.writeString(archivo, "no es un punto de control");
+
+		assertThrows(IOException.class, () -> PuntoControl.cargar(archivo));
+	}
+
+	@Test
+	void guardarReemplazaElPuntoAnterior() throws IOException {
+		Path archivo = Files.createTempDirectory("puntoControl").resolve("corrida.bin");
+		PuntoControl.EstadoIsla[] islas = {
+				new PuntoControl.EstadoIsla(new int[][]{{0}}, new int[]{0}, 1, 0.1, 0.9, 0, 0, false)
+		};
+
+		new PuntoControl(1L, 1L, 10, islas).guardar(archivo);
+		new PuntoControl(1L, 1L, 20, islas).guardar(archivo);
+
+		assertEquals(20, PuntoControl.cargar(archivo).getGeneracion());
+		assertTrue(Files.exists(archivo));
+	}
+}
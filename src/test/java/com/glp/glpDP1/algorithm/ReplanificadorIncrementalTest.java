@@ -0,0 +1,215 @@
+package com.glp.glpDP1.algorithm;
+
+import com.glp.glpDP1.domain.Camion;
+import com.glp.glpDP1.domain.Mapa;
+import com.glp.glpDP1.domain.Pedido;
+import com.glp.glpDP1.domain.Ruta;
+import com.glp.glpDP1.domain.Ubicacion;
+import com.glp.glpDP1.domain.enums.TipoCamion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplanificadorIncrementalTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 8, 0);
+	private static final Ubicacion CENTRAL = new Ubicacion(12, 8);
+
+	private static Pedido pedido(String id, Ubicacion ubicacion, double glp, int horasLimite) {
+		return new Pedido(id, "cliente-" + id, ubicacion, glp, INICIO, horasLimite);
+	}
+
+	// Ruta sin iniciar (sin movimiento generado) con los pedidos en el orden dado
+	private static Ruta rutaPlanificada(Camion camion, Pedido... pedidos) {
+		Ruta ruta = new Ruta(camion.getCodigo(), camion.getUbicacionActual());
+		ruta.setDestino(CENTRAL);
+		List<Ubicacion> paradas = new ArrayList<>();
+		for (Pedido pedido : pedidos) {
+			ruta.agregarPedido(pedido, true);
+			paradas.add(pedido.getUbicacion());
+		}
+		ruta.fijarSecuencia(paradas);
+		return ruta;
+	}
+
+	private static Ruta rutaDe(List<Ruta> rutas, String codigoCamion) {
+		for (Ruta ruta : rutas) {
+			if (ruta.getCodigoCamion().equals(codigoCamion)) {
+				return ruta;
+			}
+		}
+		return null;
+	}
+
+	// Ruta con la secuencia dada, sus recargas y el movimiento generado desde INICIO
+	private static Ruta rutaIniciada(Mapa mapa, Camion camion, Pedido... pedidos) {
+		Ruta ruta = new Ruta(camion.getCodigo(), camion.getUbicacionActual());
+		ruta.setDestino(CENTRAL);
+		List<Ubicacion> paradas = new ArrayList<>();
+		for (Pedido pedido : pedidos) {
+			ruta.agregarPedido(pedido, true);
+			paradas.add(pedido.getUbicacion());
+		}
+		ruta.fijarSecuencia(paradas);
+		ruta.insertarRecargas(mapa, camion);
+		ruta.generarMovimientoDetallado(mapa, INICIO);
+		return ruta;
+	}
+
+	@Test
+	void rutaIniciadaConservaLasRecargasDeSuParteEditable() {
+		Mapa mapa = new Mapa();
+		Camion camion = new Camion("TA01", TipoCamion.TA, CENTRAL);
+		// Con 1 galón el camión vacío recorre 72 km: para llegar a (60, 40) debe recargar antes
+		camion.setNivelCombustibleActual(1.0);
+		Pedido a = pedido("A", new Ubicacion(14, 8), 2, 24);
+		Pedido b = pedido("B", new Ubicacion(16, 8), 2, 24);
+		Pedido c = pedido("C", new Ubicacion(60, 40), 2, 24);
+		Ruta ruta = rutaIniciada(mapa, camion, a, b, c);
+		assertEquals(List.of(a.getUbicacion(), b.getUbicacion(), CENTRAL, c.getUbicacion()), ruta.getSecuenciaParadas());
+
+		// A los 3 minutos el camión entrega en A: A y B (la parada hacia la que va) quedan congeladas
+		List<Ruta> rutas = new ArrayList<>(List.of(ruta));
+		Pedido d = pedido("D", new Ubicacion(62, 42), 2, 24);
+		new ReplanificadorIncremental(List.of(camion), mapa).replanificar(rutas, List.of(d), INICIO.plusMinutes(3));
+
+		List<Ubicacion> paradas = ruta.getSecuenciaParadas();
+		assertEquals(List.of(a.getUbicacion(), b.getUbicacion()), paradas.subList(0, 2));
+		assertEquals(CENTRAL, paradas.get(2));
+		assertTrue(paradas.containsAll(List.of(c.getUbicacion(), d.getUbicacion())));
+		assertEquals(INICIO, ruta.getHoraInicio());
+	}
+
+	@Test
+	void rutaIniciadaNoCambiaSuTramoCongelado() {
+		Mapa mapa = new Mapa();
+		Camion camion = new Camion("TA01", TipoCamion.TA, CENTRAL);
+		Pedido a = pedido("A", new Ubicacion(14, 8), 2, 24);
+		Pedido b = pedido("B", new Ubicacion(16, 8), 2, 24);
+		Pedido c = pedido("C", new Ubicacion(30, 8), 2, 24);
+		Ruta ruta = rutaIniciada(mapa, camion, a, b, c);
+		List<Ruta> rutas = new ArrayList<>(List.of(ruta));
+
+		// D queda de camino a A, pero A (entregando) y B (en curso) ya no se pueden cambiar
+		Pedido d = pedido("D", new Ubicacion(13, 8), 2, 24);
+		ReplanificadorIncremental.Resultado resultado = new ReplanificadorIncremental(List.of(camion), mapa)
+				.replanificar(rutas, List.of(d), INICIO.plusMinutes(3));
+
+		assertEquals(List.of("TA01"), resultado.getCamionesModificados());
+		List<Ubicacion> paradas = ruta.getSecuenciaParadas();
+		assertEquals(List.of(a.getUbicacion(), b.getUbicacion()), paradas.subList(0, 2));
+		assertTrue(paradas.subList(2, paradas.size()).containsAll(List.of(c.getUbicacion(), d.getUbicacion())));
+		assertTrue(ruta.getPedidosAsignados().containsAll(List.of(a, b, c, d)));
+		assertEquals("TA01", d.getCamionAsignado());
+		assertTrue(ruta.isMovimientoGenerado());
+		assertEquals(INICIO, ruta.getHoraInicio());
+	}
+
+	@Test
+	void insertaEnLaPosicionMasBarataEntreLosCamiones() {
+		Mapa mapa = new Mapa();
+		Camion cercano = new Camion("TA01", TipoCamion.TA, CENTRAL);
+		Camion lejano = new Camion("TA02", TipoCamion.TA, new Ubicacion(0, 0));
+		Pedido a = pedido("A", new Ubicacion(20, 8), 2, 24);
+		Pedido c = pedido("C", new Ubicacion(40, 8), 2, 24);
+		Ruta ruta = rutaPlanificada(cercano, a, c);
+		List<Ruta> rutas = new ArrayList<>(List.of(ruta));
+
+		// Entre A y C solo agrega 2 km; el camión sin ruta tendría que desviarse 38 km
+		Pedido b = pedido("B", new Ubicacion(30, 9), 2, 24);
+		ReplanificadorIncremental.Resultado resultado = new ReplanificadorIncremental(List.of(cercano, lejano), mapa)
+				.replanificar(rutas, List.of(b), INICIO);
+
+		assertEquals(List.of(a.getUbicacion(), b.getUbicacion(), c.getUbicacion()), ruta.getSecuenciaParadas());
+		assertEquals(List.of("TA01"), resultado.getCamionesModificados());
+		assertTrue(resultado.getPedidosNoAsignados().isEmpty());
+		assertNull(rutaDe(rutas, "TA02"));
+	}
+
+	@Test
+	void prefiereLaInsercionQueNoAgregaRetraso() {
+		Mapa mapa = new Mapa();
+		Camion camion = new Camion("TA01", TipoCamion.TA, new Ubicacion(0, 8));
+		// U vence a los 90 minutos y se alcanza a los 63
+		Pedido urgente = new Pedido("U", "cliente-U", new Ubicacion(40, 8), 2, INICIO.minusMinutes(30), 2);
+		Ruta ruta = rutaPlanificada(camion, urgente);
+		List<Ruta> rutas = new ArrayList<>(List.of(ruta));
+
+		// Visitar N antes de U cuesta 12 km más 2,4 minutos de retraso de U (unos 19 km en total);
+		// después de U cuesta 32 km, pero no retrasa ninguna entrega
+		Pedido nuevo = pedido("N", new Ubicacion(2, 14), 2, 24);
+		new ReplanificadorIncremental(List.of(camion), mapa).replanificar(rutas, List.of(nuevo), INICIO);
+
+		assertEquals(List.of(urgente.getUbicacion(), nuevo.getUbicacion()), ruta.getSecuenciaParadas());
+	}
+
+	@Test
+	void busquedaLocalRelocalizaPedidosEntreLosCamionesAfectados() {
+		List<Ruta> sinBusqueda = replanificarTresPedidos(0);
+		List<Ruta> conBusqueda = replanificarTresPedidos(1000);
+
+		// La inserción voraz deja P1 en TA02 porque al insertarlo TA01 ya tenía P0 en otra dirección
+		assertTrue(rutaDe(sinBusqueda, "TA02").getSecuenciaParadas().contains(new Ubicacion(2, 19)));
+		assertEquals(List.of(new Ubicacion(26, 16), new Ubicacion(2, 19)), rutaDe(conBusqueda, "TA01").getSecuenciaParadas());
+		assertEquals(List.of(new Ubicacion(65, 12)), rutaDe(conBusqueda, "TA02").getSecuenciaParadas());
+		assertTrue(distanciaTotal(conBusqueda) < distanciaTotal(sinBusqueda));
+	}
+
+	private static List<Ruta> replanificarTresPedidos(long tiempoBusquedaLocalMs) {
+		List<Camion> camiones = List.of(
+				new Camion("TA01", TipoCamion.TA, new Ubicacion(53, 35)),
+				new Camion("TA02", TipoCamion.TA, new Ubicacion(57, 46)));
+		List<Pedido> pedidos = List.of(
+				pedido("P0", new Ubicacion(26, 16), 2, 12),
+				pedido("P1", new Ubicacion(2, 19), 2, 12),
+				pedido("P2", new Ubicacion(65, 12), 2, 20));
+		ReplanificadorIncremental replanificador = new ReplanificadorIncremental(camiones, new Mapa());
+		replanificador.setTiempoBusquedaLocalMs(tiempoBusquedaLocalMs);
+		List<Ruta> rutas = new ArrayList<>();
+		ReplanificadorIncremental.Resultado resultado = replanificador.replanificar(rutas, pedidos, INICIO);
+		assertEquals(tiempoBusquedaLocalMs > 0, resultado.getMejorasBusquedaLocal() > 0);
+		return rutas;
+	}
+
+	// Kilómetros Manhattan desde el origen de cada ruta, por sus paradas, hasta el almacén central
+	private static int distanciaTotal(List<Ruta> rutas) {
+		int total = 0;
+		for (Ruta ruta : rutas) {
+			Ubicacion actual = ruta.getOrigen();
+			for (Ubicacion parada : ruta.getSecuenciaParadas()) {
+				total += actual.distanciaA(parada);
+				actual = parada;
+			}
+			total += actual.distanciaA(CENTRAL);
+		}
+		return total;
+	}
+
+	@Test
+	void camionQuePierdeTodosSusPedidosNoRecibeRutaVacia() {
+		// Escenario donde la búsqueda local lleva a TA02 el único pedido que se le había dado a TA01
+		List<Camion> camiones = List.of(
+				new Camion("TA01", TipoCamion.TA, new Ubicacion(17, 34)),
+				new Camion("TA02", TipoCamion.TA, new Ubicacion(11, 49)));
+		List<Pedido> pedidos = List.of(
+				pedido("P0", new Ubicacion(18, 15), 2, 8),
+				pedido("P1", new Ubicacion(68, 48), 2, 12),
+				pedido("P2", new Ubicacion(56, 50), 2, 12));
+		ReplanificadorIncremental replanificador = new ReplanificadorIncremental(camiones, new Mapa());
+		replanificador.setTiempoBusquedaLocalMs(1000);
+		List<Ruta> rutas = new ArrayList<>();
+
+		ReplanificadorIncremental.Resultado resultado = replanificador.replanificar(rutas, pedidos, INICIO);
+
+		assertTrue(resultado.getMejorasBusquedaLocal() > 0);
+		assertNull(rutaDe(rutas, "TA01"));
+		assertEquals(List.of("TA02"), resultado.getCamionesModificados());
+		assertEquals(3, rutaDe(rutas, "TA02").getPedidosAsignados().size());
+	}
+}
@@ -0,0 +1,93 @@
+package com.glp.glpDP1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloqueoTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private static Bloqueo bloqueo(Ubicacion... nodos) {
+		return new Bloqueo(INICIO, INICIO.plusHours(2), List.of(nodos));
+	}
+
+	@Test
+	void segmentoRectoSeDivideEnTramosDeUnKm() {
+		Bloqueo bloqueo = bloqueo(new Ubicacion(4, 2), new Ubicacion(1, 2));
+
+		assertEquals(3, bloqueo.getNumTramos());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(1 + i, bloqueo.getTramoX(i));
+			assertEquals(2, bloqueo.getTramoY(i));
+			assertFalse(bloqueo.isTramoVertical(i));
+		}
+		assertTrue(bloqueo.contieneTramo(2, 2, 3, 2));
+		assertTrue(bloqueo.contieneTramo(3, 2, 2, 2));
+		assertFalse(bloqueo.contieneTramo(4, 2, 5, 2));
+	}
+
+	@Test
+	void segmentoDiagonalRecorrePrimeroXyLuegoY() {
+		Bloqueo bloqueo = bloqueo(new Ubicacion(0, 0), new Ubicacion(2, 2));
+
+		assertEquals(4, bloqueo.getNumTramos());
+		assertTrue(bloqueo.contieneTramo(0, 0, 1, 0));
+		assertTrue(bloqueo.contieneTramo(1, 0, 2, 0));
+		assertTrue(bloqueo.contieneTramo(2, 0, 2, 1));
+		assertTrue(bloqueo.contieneTramo(2, 1, 2, 2));
+		assertFalse(bloqueo.contieneTramo(0, 0, 0, 1));
+	}
+
+	@Test
+	void tramosRepetidosSeGuardanUnaVez() {
+		// Ida y vuelta por el mismo segmento
+		Bloqueo bloqueo = bloqueo(new Ubicacion(0, 0), new Ubicacion(0, 3), new Ubicacion(0, 1));
+
+		assertEquals(3, bloqueo.getNumTramos());
+		for (int i = 0; i < 3; i++) {
+			assertTrue(bloqueo.isTramoVertical(i));
+			assertEquals(0, bloqueo.getTramoX(i));
+			assertEquals(i, bloqueo.getTramoY(i));
+		}
+	}
+
+	@Test
+	void cruzarLaPoligonalEstaPermitidoPeroRecorrerlaNo() {
+		Mapa mapa = new Mapa(10, 10);
+		mapa.setBloqueosFiltrados(List.of(bloqueo(new Ubicacion(0, 5), new Ubicacion(10, 5))));
+		LocalDateTime momento = INICIO.plusHours(1);
+
+		// Los nodos intermedios no son vértices: se puede cruzar la calle bloqueada
+		assertFalse(mapa.estaBloqueado(new Ubicacion(5, 5), momento));
+		assertFalse(mapa.tramoBloqueado(new Ubicacion(5, 4), new Ubicacion(5, 5), momento));
+		assertFalse(mapa.tramoBloqueado(new Ubicacion(5, 5), new Ubicacion(5, 6), momento));
+		assertTrue(mapa.tramoBloqueado(new Ubicacion(5, 5), new Ubicacion(6, 5), momento));
+		assertTrue(mapa.estaBloqueado(new Ubicacion(0, 5), momento));
+		assertFalse(mapa.tramoBloqueado(new Ubicacion(5, 5), new Ubicacion(6, 5), INICIO.plusHours(3)));
+
+		List<Ubicacion> ruta = mapa.encontrarRuta(new Ubicacion(5, 0), new Ubicacion(5, 10), momento);
+		assertEquals(10, ruta.size() - 1);
+	}
+
+	@Test
+	void tramoBloqueadoDelBloqueoIncluyeLosExtremos() {
+		Bloqueo bloqueo = bloqueo(new Ubicacion(1, 1), new Ubicacion(3, 1));
+		Ubicacion a = new Ubicacion(1, 1);
+		Ubicacion b = new Ubicacion(2, 1);
+
+		// A diferencia del índice del mapa, el bloqueo suelto usa un intervalo cerrado
+		assertTrue(bloqueo.tramoBloqueado(a, b, INICIO));
+		assertTrue(bloqueo.tramoBloqueado(a, b, INICIO.plusHours(2)));
+		assertFalse(bloqueo.tramoBloqueado(a, b, INICIO.plusHours(2).plusSeconds(1)));
+		// Un tramo que sale de un vértice también está bloqueado
+		assertTrue(bloqueo.tramoBloqueado(a, new Ubicacion(1, 0), INICIO.plusHours(1)));
+		assertFalse(bloqueo.tramoBloqueado(b, new Ubicacion(2, 0), INICIO.plusHours(1)));
+		assertFalse(bloqueo.tramoBloqueado(a, new Ubicacion(3, 1), INICIO.plusHours(1)));
+	}
+}
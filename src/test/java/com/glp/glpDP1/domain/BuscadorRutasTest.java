@@ -0,0 +1,142 @@
+package com.glp.glpDP1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuscadorRutasTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final int ANCHO = 20;
+	private static final int ALTO = 15;
+
+	// Bloqueos de poligonales aleatorias; la mitad activos en INICIO + 1h
+	private static Mapa mapaAleatorio(long semilla) {
+		Random random = new Random(semilla);
+		Mapa mapa = new Mapa(ANCHO, ALTO);
+		List<Bloqueo> bloqueos = new ArrayList<>();
+		for (int b = 0; b < 12; b++) {
+			List<Ubicacion> nodos = new ArrayList<>();
+			int vertices = 2 + random.nextInt(3);
+			for (int v = 0; v < vertices; v++) {
+				nodos.add(new Ubicacion(random.nextInt(ANCHO + 1), random.nextInt(ALTO + 1)));
+			}
+			LocalDateTime inicio = b % 2 == 0 ? INICIO : INICIO.plusHours(3);
+			bloqueos.add(new Bloqueo(inicio, inicio.plusHours(2), nodos));
+		}
+		mapa.setBloqueosFiltrados(bloqueos);
+		return mapa;
+	}
+
+	// Referencia: BFS con las consultas públicas del mapa (todos los tramos miden 1 km)
+	private static int distanciaReferencia(Mapa mapa, Ubicacion origen, Ubicacion destino, LocalDateTime momento) {
+		int columnas = ANCHO + 1;
+		int[] distancias = new int[columnas * (ALTO + 1)];
+		Arrays.fill(distancias, -1);
+		Deque<Ubicacion> cola = new ArrayDeque<>();
+		distancias[origen.getY() * columnas + origen.getX()] = 0;
+		cola.add(origen);
+		int[][] vecinos = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+		while (!cola.isEmpty()) {
+			Ubicacion actual = cola.poll();
+			int distancia = distancias[actual.getY() * columnas + actual.getX()];
+			if (actual.equals(destino)) {
+				return distancia;
+			}
+			for (int[] d : vecinos) {
+				Ubicacion vecino = new Ubicacion(actual.getX() + d[0], actual.getY() + d[1]);
+				if (!mapa.esUbicacionValida(vecino) || distancias[vecino.getY() * columnas + vecino.getX()] >= 0 ||
+						mapa.estaBloqueado(vecino, momento) || mapa.tramoBloqueado(actual, vecino, momento)) {
+					continue;
+				}
+				distancias[vecino.getY() * columnas + vecino.getX()] = distancia + 1;
+				cola.add(vecino);
+			}
+		}
+		return -1;
+	}
+
+	private static void verificarRuta(Mapa mapa, List<Ubicacion> ruta, Ubicacion origen, Ubicacion destino,
+									  LocalDateTime momento) {
+		assertEquals(origen, ruta.get(0));
+		assertEquals(destino, ruta.get(ruta.size() - 1));
+		for (int i = 1; i < ruta.size(); i++) {
+			assertEquals(1, ruta.get(i - 1).distanciaA(ruta.get(i)));
+			assertFalse(mapa.estaBloqueado(ruta.get(i), momento));
+			assertFalse(mapa.tramoBloqueado(ruta.get(i - 1), ruta.get(i), momento));
+		}
+	}
+
+	@Test
+	void rutasCoincidenConBusquedaDeReferencia() {
+		LocalDateTime momento = INICIO.plusHours(1);
+		for (long semilla = 1; semilla <= 20; semilla++) {
+			Mapa mapa = mapaAleatorio(semilla);
+			Random random = new Random(semilla * 31);
+			for (int consulta = 0; consulta < 25; consulta++) {
+				Ubicacion origen = new Ubicacion(random.nextInt(ANCHO + 1), random.nextInt(ALTO + 1));
+				Ubicacion destino = new Ubicacion(random.nextInt(ANCHO + 1), random.nextInt(ALTO + 1));
+				if (mapa.estaBloqueado(origen, momento) || mapa.estaBloqueado(destino, momento)) {
+					continue;
+				}
+
+				List<Ubicacion> ruta = mapa.encontrarRuta(origen, destino, momento);
+				int esperada = distanciaReferencia(mapa, origen, destino, momento);
+
+				if (esperada < 0) {
+					assertTrue(ruta.isEmpty());
+				} else {
+					assertEquals(esperada, ruta.size() - 1);
+					verificarRuta(mapa, ruta, origen, destino, momento);
+				}
+			}
+		}
+	}
+
+	@Test
+	void destinoEncerradoNoTieneRuta() {
+		Mapa mapa = new Mapa(ANCHO, ALTO);
+		// Todos los nodos alrededor de (10, 10): solo los vértices de la poligonal quedan bloqueados
+		Bloqueo cerco = new Bloqueo(INICIO, INICIO.plusHours(2), List.of(
+				new Ubicacion(9, 9), new Ubicacion(10, 9), new Ubicacion(11, 9), new Ubicacion(11, 10),
+				new Ubicacion(11, 11), new Ubicacion(10, 11), new Ubicacion(9, 11), new Ubicacion(9, 10),
+				new Ubicacion(9, 9)));
+		mapa.setBloqueosFiltrados(List.of(cerco));
+		Ubicacion origen = new Ubicacion(0, 0);
+		Ubicacion destino = new Ubicacion(10, 10);
+
+		assertTrue(mapa.encontrarRuta(origen, destino, INICIO.plusHours(1)).isEmpty());
+		assertEquals(20, mapa.encontrarRuta(origen, destino, INICIO.plusHours(3)).size() - 1);
+	}
+
+	@Test
+	void rutaConTiempoEsperaQueTermineElBloqueo() {
+		Mapa mapa = new Mapa(ANCHO, ALTO);
+		// Muro completo en x = 5 que termina a los 30 minutos
+		List<Ubicacion> nodos = new ArrayList<>();
+		for (int y = 0; y <= ALTO; y++) {
+			nodos.add(new Ubicacion(5, y));
+		}
+		mapa.setBloqueosFiltrados(List.of(new Bloqueo(INICIO, INICIO.plusMinutes(30), nodos)));
+		Ubicacion origen = new Ubicacion(0, 0);
+		Ubicacion destino = new Ubicacion(10, 0);
+
+		assertTrue(mapa.encontrarRuta(origen, destino, INICIO.plusMinutes(10)).isEmpty());
+
+		// A 10 km/h cada tramo dura 6 minutos: se llega al muro a los 30 minutos, cuando ya terminó
+		List<Ubicacion> ruta = mapa.encontrarRutaConTiempo(origen, destino, INICIO, 10.0);
+		assertEquals(10, ruta.size() - 1);
+		// A 60 km/h se llegaría al muro a los 5 minutos, mientras sigue activo
+		assertTrue(mapa.encontrarRutaConTiempo(origen, destino, INICIO, 60.0).isEmpty());
+	}
+}
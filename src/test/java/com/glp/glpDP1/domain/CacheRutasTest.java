@@ -0,0 +1,127 @@
+package com.glp.glpDP1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheRutasTest {
+
+	private static final List<Ubicacion> RUTA = List.of(new Ubicacion(0, 0), new Ubicacion(1, 0), new Ubicacion(1, 1));
+
+	@Test
+	void otroSelloCuentaComoFallo() {
+		CacheRutas cache = new CacheRutas(100);
+		cache.guardar(7L, 1L, RUTA);
+
+		assertEquals(RUTA, cache.buscar(7L, 1L));
+		assertNull(cache.buscar(7L, 2L));
+		assertNull(cache.buscar(8L, 1L));
+		assertEquals(1, cache.getAciertos());
+		assertEquals(2, cache.getFallos());
+	}
+
+	@Test
+	void buscarDevuelveUnaCopia() {
+		CacheRutas cache = new CacheRutas(100);
+		List<Ubicacion> original = new ArrayList<>(RUTA);
+		cache.guardar(7L, 1L, original);
+		original.clear();
+
+		List<Ubicacion> primera = cache.buscar(7L, 1L);
+		primera.add(new Ubicacion(5, 5));
+
+		assertEquals(RUTA, cache.buscar(7L, 1L));
+		assertNotSame(primera, cache.buscar(7L, 1L));
+	}
+
+	@Test
+	void limpiarDescartaLasRutasYConservaLosContadores() {
+		CacheRutas cache = new CacheRutas(100);
+		cache.guardar(7L, 1L, RUTA);
+		cache.buscar(7L, 1L);
+
+		cache.limpiar();
+
+		assertEquals(0, cache.getTamaño());
+		assertNull(cache.buscar(7L, 1L));
+		assertEquals(1, cache.getAciertos());
+		assertEquals(1, cache.getFallos());
+	}
+
+	@Test
+	void alLlenarseDesalojaYRespetaLaCapacidad() {
+		CacheRutas cache = new CacheRutas(32);
+		for (long clave = 0; clave < 1000; clave++) {
+			cache.guardar(clave, 1L, RUTA);
+		}
+
+		assertTrue(cache.getTamaño() <= 32);
+		assertEquals(1000 - cache.getTamaño(), cache.getDesalojos());
+		// La última ruta guardada sigue en el cache
+		assertEquals(RUTA, cache.buscar(999L, 1L));
+	}
+
+	@Test
+	void capacidadNoMultiploDeLosSegmentosSeRespeta() {
+		CacheRutas cache = new CacheRutas(20);
+		for (long clave = 0; clave < 1000; clave++) {
+			cache.guardar(clave, 1L, RUTA);
+		}
+
+		assertEquals(20, cache.getTamaño());
+		assertEquals(980, cache.getDesalojos());
+	}
+
+	@Test
+	void capacidadCeroDeshabilitaElCache() {
+		CacheRutas cache = new CacheRutas(0);
+		cache.guardar(7L, 1L, RUTA);
+
+		assertNull(cache.buscar(7L, 1L));
+		assertEquals(0, cache.getTamaño());
+		assertEquals(0, cache.getFallos());
+		assertEquals(0.0, cache.getTasaAciertos());
+	}
+
+	@Test
+	void nuevosBloqueosInvalidanLasRutasDelMapa() {
+		LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+		Mapa mapa = new Mapa(10, 10);
+		Ubicacion origen = new Ubicacion(0, 0);
+		Ubicacion destino = new Ubicacion(4, 0);
+		assertEquals(4, mapa.encontrarRutaConTiempo(origen, destino, inicio, 50.0).size() - 1);
+
+		// Calle y = 0 cortada en x = 1 y x = 3: la misma consulta debe rodearla por y = 1
+		mapa.setBloqueosFiltrados(List.of(new Bloqueo(inicio, inicio.plusHours(2),
+				List.of(new Ubicacion(1, 0), new Ubicacion(3, 0)))));
+
+		assertEquals(6, mapa.encontrarRutaConTiempo(origen, destino, inicio, 50.0).size() - 1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void estadisticasDelMapaSeparanLosDosCaches() {
+		LocalDateTime inicio = LocalDateTime.of(2025, 1, 1, 0, 0);
+		Mapa mapa = new Mapa(10, 10);
+		mapa.encontrarRutaConTiempo(new Ubicacion(0, 0), new Ubicacion(4, 0), inicio, 50.0);
+		mapa.encontrarRutaConTiempo(new Ubicacion(0, 0), new Ubicacion(4, 0), inicio, 50.0);
+
+		Map<String, Object> conTiempo = (Map<String, Object>) mapa.estadisticasCacheRutas().get("conTiempo");
+		Map<String, Object> sinTiempo = (Map<String, Object>) mapa.estadisticasCacheRutas().get("sinTiempo");
+
+		assertEquals(1L, conTiempo.get("aciertos"));
+		assertEquals(1L, conTiempo.get("fallos"));
+		assertEquals(1, conTiempo.get("tamaño"));
+		assertEquals(0.5, conTiempo.get("tasaAciertos"));
+		assertEquals(0L, sinTiempo.get("aciertos"));
+		assertEquals(0L, sinTiempo.get("fallos"));
+	}
+}
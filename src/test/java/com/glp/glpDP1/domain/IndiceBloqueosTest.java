@@ -0,0 +1,136 @@
+package com.glp.glpDP1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceBloqueosTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private static long nanos(int minutos) {
+		return Bloqueo.aEpochNanos(INICIO.plusMinutes(minutos));
+	}
+
+	private static Bloqueo bloqueo(int desdeMinuto, int hastaMinuto, Ubicacion... nodos) {
+		return new Bloqueo(INICIO.plusMinutes(desdeMinuto), INICIO.plusMinutes(hastaMinuto), List.of(nodos));
+	}
+
+	@Test
+	void intervalosSonAbiertos() {
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(bloqueo(60, 120, new Ubicacion(3, 3))), 10, 10, 1);
+
+		assertFalse(indice.bloqueado(3, 3, nanos(60)));
+		assertTrue(indice.bloqueado(3, 3, nanos(60) + 1));
+		assertTrue(indice.bloqueado(3, 3, nanos(119)));
+		assertFalse(indice.bloqueado(3, 3, nanos(120)));
+		assertFalse(indice.bloqueado(3, 4, nanos(90)));
+		// Fuera del mapa no hay bloqueos
+		assertFalse(indice.bloqueado(-1, 3, nanos(90)));
+	}
+
+	@Test
+	void intervalosQueSeSolapanSeFusionan() {
+		Ubicacion nodo = new Ubicacion(2, 2);
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(
+				bloqueo(100, 200, nodo), bloqueo(0, 50, nodo), bloqueo(40, 110, nodo)), 10, 10, 1);
+
+		for (int minuto = 1; minuto < 200; minuto++) {
+			assertTrue(indice.bloqueado(2, 2, nanos(minuto)), "minuto " + minuto);
+		}
+		assertFalse(indice.bloqueado(2, 2, nanos(0)));
+		assertFalse(indice.bloqueado(2, 2, nanos(200)));
+	}
+
+	@Test
+	void intervalosQueSoloSeTocanDejanLibreElInstanteComun() {
+		Ubicacion nodo = new Ubicacion(2, 2);
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(bloqueo(0, 60, nodo), bloqueo(60, 120, nodo)), 10, 10, 1);
+
+		assertTrue(indice.bloqueado(2, 2, nanos(60) - 1));
+		assertFalse(indice.bloqueado(2, 2, nanos(60)));
+		assertTrue(indice.bloqueado(2, 2, nanos(60) + 1));
+	}
+
+	@Test
+	void tramosDeLaPoligonalQuedanBloqueados() {
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(
+				bloqueo(0, 60, new Ubicacion(1, 1), new Ubicacion(4, 1))), 10, 10, 1);
+		long momento = nanos(30);
+
+		assertTrue(indice.tramoBloqueado(2, 1, 3, 1, momento));
+		assertTrue(indice.tramoBloqueado(3, 1, 2, 1, momento));
+		assertFalse(indice.tramoBloqueado(2, 1, 2, 2, momento));
+		// Nodos no adyacentes no forman un tramo
+		assertFalse(indice.tramoBloqueado(1, 1, 4, 1, momento));
+		assertFalse(indice.tramoBloqueado(2, 1, 3, 1, nanos(60)));
+	}
+
+	@Test
+	void bloqueoSinDuracionSeIgnora() {
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(bloqueo(60, 60, new Ubicacion(3, 3))), 10, 10, 1);
+
+		assertTrue(indice.estaVacio());
+		assertFalse(indice.bloqueado(3, 3, nanos(60)));
+	}
+
+	@Test
+	void sinBloqueosActivosElConjuntoEsCero() {
+		IndiceBloqueos vacio = IndiceBloqueos.construir(null, 10, 10, 1);
+		assertEquals(0, vacio.conjuntoActivo(nanos(30)));
+
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(bloqueo(60, 120, new Ubicacion(3, 3))), 10, 10, 1);
+		assertEquals(0, indice.conjuntoActivo(nanos(30)));
+		assertEquals(0, indice.conjuntoActivo(nanos(150)));
+		assertNotEquals(0, indice.conjuntoActivo(nanos(90)));
+	}
+
+	@Test
+	void mismoConjuntoActivoTieneElMismoNumero() {
+		// A: [0, 100]; B: [50, 150]; C: [200, 300] sobre el mismo nodo que A
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(
+				bloqueo(0, 100, new Ubicacion(1, 1)),
+				bloqueo(50, 150, new Ubicacion(2, 2)),
+				bloqueo(200, 300, new Ubicacion(1, 1))), 10, 10, 1);
+
+		int soloA = indice.conjuntoActivo(nanos(20));
+		int ayB = indice.conjuntoActivo(nanos(70));
+		int soloB = indice.conjuntoActivo(nanos(120));
+		int soloC = indice.conjuntoActivo(nanos(250));
+
+		assertEquals(soloA, indice.conjuntoActivo(nanos(49)));
+		assertEquals(ayB, indice.conjuntoActivo(nanos(99)));
+		assertEquals(0, indice.conjuntoActivo(nanos(170)));
+		// Todos distintos entre sí, aunque A y C bloqueen el mismo nodo
+		assertEquals(4, List.of(soloA, ayB, soloB, soloC).stream().distinct().count());
+		assertFalse(List.of(soloA, ayB, soloB, soloC).contains(0));
+	}
+
+	@Test
+	void enUnLimiteSoloCuentanLosBloqueosQueLoContienen() {
+		// A termina y B empieza en el minuto 60; C está activo en todo el intervalo
+		IndiceBloqueos indice = IndiceBloqueos.construir(List.of(
+				bloqueo(0, 60, new Ubicacion(1, 1)),
+				bloqueo(60, 120, new Ubicacion(2, 2)),
+				bloqueo(0, 120, new Ubicacion(3, 3))), 10, 10, 1);
+
+		int antes = indice.conjuntoActivo(nanos(30));
+		int limite = indice.conjuntoActivo(nanos(60));
+		int despues = indice.conjuntoActivo(nanos(90));
+
+		assertNotEquals(antes, limite);
+		assertNotEquals(despues, limite);
+		assertNotEquals(antes, despues);
+		assertEquals(0, indice.conjuntoActivo(nanos(0)));
+		assertEquals(0, indice.conjuntoActivo(nanos(120)));
+		// En el límite solo C está activo
+		assertFalse(indice.bloqueado(1, 1, nanos(60)) || indice.bloqueado(2, 2, nanos(60)));
+		assertTrue(indice.bloqueado(3, 3, nanos(60)));
+	}
+}
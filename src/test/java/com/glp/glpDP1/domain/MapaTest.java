@@ -0,0 +1,75 @@
+package com.glp.glpDP1.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MapaTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	// Muro con todos los nodos de x = 5 entre y = 0 e y = 9: para cruzarlo hay que subir hasta y = 10
+	private static Mapa mapaConMuro() {
+		Mapa mapa = new Mapa(10, 10);
+		List<Ubicacion> nodos = new ArrayList<>();
+		for (int y = 0; y <= 9; y++) {
+			nodos.add(new Ubicacion(5, y));
+		}
+		Bloqueo muro = new Bloqueo(INICIO.plusHours(2), INICIO.plusHours(4), nodos);
+		mapa.setBloqueosFiltrados(List.of(muro));
+		return mapa;
+	}
+
+	@Test
+	void distanciasRodeanLosBloqueosDeLaVentana() {
+		Mapa mapa = mapaConMuro();
+		Ubicacion origen = new Ubicacion(0, 0);
+
+		int[] distancias = mapa.distanciasDesde(origen, INICIO, INICIO.plusHours(24));
+
+		assertNotNull(distancias);
+		assertEquals(10 + 9 + 10, distancias[mapa.indiceCelda(new Ubicacion(9, 0))]);
+		assertEquals(4, distancias[mapa.indiceCelda(new Ubicacion(4, 0))]);
+		// Los nodos del muro se alcanzan pero no se atraviesan
+		assertEquals(5, distancias[mapa.indiceCelda(new Ubicacion(5, 0))]);
+	}
+
+	@Test
+	void ventanaQueTerminaAlIniciarElBloqueoNoLoConsidera() {
+		Mapa mapa = mapaConMuro();
+
+		// Intervalos abiertos, como en A*: el bloqueo no está activo en su instante de inicio
+		assertNull(mapa.distanciasDesde(new Ubicacion(0, 0), INICIO, INICIO.plusHours(2)));
+		assertNotNull(mapa.distanciasDesde(new Ubicacion(0, 0), INICIO, INICIO.plusHours(2).plusSeconds(1)));
+	}
+
+	@Test
+	void ventanasDistintasConservanSusCampos() {
+		Mapa mapa = mapaConMuro();
+		Ubicacion origen = new Ubicacion(0, 0);
+
+		int[] conMuro = mapa.distanciasDesde(origen, INICIO, INICIO.plusHours(24));
+		assertNull(mapa.distanciasDesde(origen, INICIO.plusHours(5), INICIO.plusHours(29)));
+
+		assertSame(conMuro, mapa.distanciasDesde(origen, INICIO, INICIO.plusHours(24)));
+	}
+
+	@Test
+	void cambiarLosBloqueosDescartaLosCampos() {
+		Mapa mapa = mapaConMuro();
+		Ubicacion origen = new Ubicacion(0, 0);
+		assertNotNull(mapa.distanciasDesde(origen, INICIO, INICIO.plusHours(24)));
+
+		mapa.setBloqueosFiltrados(Collections.emptyList());
+
+		assertNull(mapa.distanciasDesde(origen, INICIO, INICIO.plusHours(24)));
+	}
+}
@@ -0,0 +1,92 @@
+package com.glp.glpDP1.algorithm;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleo del fitness con la Vector API. El fitness se calcula como un producto punto entre
+ * los costos de todos los camiones y los pesos repetidos por camión, más el conteo de genes
+ * sin asignar por comparación de carriles. Solo debe instanciarse si el módulo
+ * {@code jdk.incubator.vector} está cargado (ver {@link NucleoFitness#crear}).
+ */
+class NucleoFitnessVectorial implements NucleoFitness {
+
+    private static final VectorSpecies<Double> ESPECIE_DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> ESPECIE_INT = IntVector.SPECIES_PREFERRED;
+
+    private final double[] pesos;   // Peso de cada posición del arreglo de costos
+
+    NucleoFitnessVectorial(int numCamiones) {
+        double[] porComponente = new double[ContextoProblema.NUM_COMPONENTES];
+        porComponente[ContextoProblema.COSTO_CONSUMO] = PESO_CONSUMO;
+        porComponente[ContextoProblema.COSTO_DISTANCIA] = PESO_DISTANCIA;
+        porComponente[ContextoProblema.COSTO_RETRASOS] = PESO_RETRASOS;
+        porComponente[ContextoProblema.COSTO_SOBRECARGA] = PESO_SOBRECARGA;
+        porComponente[ContextoProblema.COSTO_RIESGO] = PESO_RIESGO;
+
+        this.pesos = new double[numCamiones * ContextoProblema.NUM_COMPONENTES];
+        for (int i = 0; i < pesos.length; i++) {
+            pesos[i] = porComponente[i % ContextoProblema.NUM_COMPONENTES];
+        }
+    }
+
+    @Override
+    public double evaluar(int[] genes, double[] costosCamion) {
+        int largo = Math.min(costosCamion.length, pesos.length);
+        int limite = ESPECIE_DOUBLE.loopBound(largo);
+        DoubleVector suma = DoubleVector.zero(ESPECIE_DOUBLE);
+        int i = 0;
+        for (; i < limite; i += ESPECIE_DOUBLE.length()) {
+            DoubleVector costos = DoubleVector.fromArray(ESPECIE_DOUBLE, costosCamion, i);
+            suma = costos.fma(DoubleVector.fromArray(ESPECIE_DOUBLE, pesos, i), suma);
+        }
+        double fitness = suma.reduceLanes(VectorOperators.ADD);
+        for (; i < largo; i++) {
+            fitness += costosCamion[i] * pesos[i];
+        }
+        return fitness + PESO_NO_ASIGNADO * contarNoAsignados(genes);
+    }
+
+    @Override
+    public int contarNoAsignados(int[] genes) {
+        int limite = ESPECIE_INT.loopBound(genes.length);
+        int conteo = 0;
+        int i = 0;
+        for (; i < limite; i += ESPECIE_INT.length()) {
+            conteo += IntVector.fromArray(ESPECIE_INT, genes, i).compare(VectorOperators.EQ, -1).trueCount();
+        }
+        for (; i < genes.length; i++) {
+            if (genes[i] == -1) {
+                conteo++;
+            }
+        }
+        return conteo;
+    }
+
+    @Override
+    public void calcularManhattan(int[] x, int[] y, int[] distancias) {
+        int n = x.length;
+        int limite = ESPECIE_INT.loopBound(n);
+        for (int i = 0; i < n; i++) {
+            IntVector xi = IntVector.broadcast(ESPECIE_INT, x[i]);
+            IntVector yi = IntVector.broadcast(ESPECIE_INT, y[i]);
+            int fila = i * n;
+            int j = 0;
+            for (; j < limite; j += ESPECIE_INT.length()) {
+                IntVector dx = IntVector.fromArray(ESPECIE_INT, x, j).sub(xi).abs();
+                IntVector dy = IntVector.fromArray(ESPECIE_INT, y, j).sub(yi).abs();
+                dx.add(dy).intoArray(distancias, fila + j);
+            }
+            for (; j < n; j++) {
+                distancias[fila + j] = Math.abs(x[i] - x[j]) + Math.abs(y[i] - y[j]);
+            }
+        }
+    }
+
+    @Override
+    public boolean isVectorial() {
+        return true;
+    }
+}